@@ -0,0 +1,37 @@
+package com.visang.tutor.demo.config;
+
+import org.springframework.boot.task.ThreadPoolTaskSchedulerBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskScheduler;
+
+/**
+ * 백그라운드 작업(@Scheduled) 활성화
+ * - 롤업 적재 등 주기 작업은 각 컴포넌트의 설정값(log-analysis.*.enabled)으로 켜고 끔
+ * - 실시간 tail 폴링은 전용 스레드(logTailScheduler)에서 실행하여 오래 걸리는 적재 배치 뒤에서 기다리지 않음
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+
+    /**
+     * 기본 스케줄러 (spring.task.scheduling 설정 적용)
+     * - 다른 TaskScheduler 빈이 있으면 자동 구성되지 않으므로 직접 등록
+     */
+    @Bean
+    public ThreadPoolTaskScheduler taskScheduler(ThreadPoolTaskSchedulerBuilder builder) {
+        return builder.build();
+    }
+
+    /**
+     * 실시간 tail 폴링 전용 스케줄러
+     */
+    @Bean
+    public ThreadPoolTaskScheduler logTailScheduler() {
+        ThreadPoolTaskScheduler scheduler = new ThreadPoolTaskScheduler();
+        scheduler.setPoolSize(1);
+        scheduler.setThreadNamePrefix("log-tail-");
+        return scheduler;
+    }
+}
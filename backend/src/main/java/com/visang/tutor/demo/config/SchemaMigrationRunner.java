@@ -0,0 +1,218 @@
+package com.visang.tutor.demo.config;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.EncodedResource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 애플리케이션 시작 시 스키마 마이그레이션 적용
+ * - classpath:db/migration/V{버전}__{설명}.sql 파일을 버전 순서대로 한 번씩 실행
+ * - 적용 이력은 schema_migrations 테이블에 기록
+ * - 각 문장은 autocommit으로 하나씩 실행 (CREATE INDEX CONCURRENTLY는 트랜잭션 안에서 실행 불가)
+ * - 여러 인스턴스가 동시에 시작해도 advisory lock으로 한 곳에서만 적용
+ * - 기존 테이블 보호를 위해 ddl-auto는 none 유지
+ * - CONCURRENTLY 생성이 중단되어 INVALID로 남은 인덱스는 IF NOT EXISTS에 걸려 다시 만들어지지 않으므로,
+ *   스크립트가 만드는 인덱스 중 INVALID인 것을 먼저 삭제한 뒤 실행하고 실행 후에도 확인
+ * - DB에 연결할 수 없으면 로그만 남기고 계속 동작, 스크립트 적용에 실패하면 애플리케이션 시작을 중단
+ */
+@Slf4j
+@Component
+public class SchemaMigrationRunner implements ApplicationRunner {
+
+    private static final Pattern FILE_NAME = Pattern.compile("V(\\d+)__(.+)\\.sql");
+    private static final Pattern CREATE_INDEX = Pattern.compile(
+            "CREATE\\s+(?:UNIQUE\\s+)?INDEX\\s+(?:CONCURRENTLY\\s+)?(?:IF\\s+NOT\\s+EXISTS\\s+)?(\\w+)",
+            Pattern.CASE_INSENSITIVE);
+    private static final long ADVISORY_LOCK_KEY = 0x6c6f67616e616cL;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Value("${log-analysis.schema.migrate-on-startup:true}")
+    private boolean migrateOnStartup;
+
+    @Value("${log-analysis.schema.locations:classpath:db/migration/*.sql}")
+    private String locations;
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!migrateOnStartup) {
+            return;
+        }
+
+        try {
+            migrate();
+        } catch (MigrationFailedException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Schema migration skipped: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * 적용되지 않은 마이그레이션을 버전 순서대로 적용
+     */
+    public void migrate() throws Exception {
+        Resource[] scripts = new PathMatchingResourcePatternResolver().getResources(locations);
+        Arrays.sort(scripts, Comparator.comparingInt(SchemaMigrationRunner::version));
+
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(true);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("SELECT pg_advisory_lock(" + ADVISORY_LOCK_KEY + ")");
+            }
+            try {
+                createHistoryTable(connection);
+                Set<Integer> applied = appliedVersions(connection);
+
+                for (Resource script : scripts) {
+                    int version = version(script);
+                    if (applied.contains(version)) {
+                        continue;
+                    }
+
+                    long start = System.currentTimeMillis();
+                    log.info("Applying schema migration {}", script.getFilename());
+                    try {
+                        apply(connection, script);
+                    } catch (Exception e) {
+                        throw new MigrationFailedException(script.getFilename(), e);
+                    }
+                    recordVersion(connection, version, description(script));
+                    log.info("Applied schema migration {} ({} ms)", script.getFilename(), System.currentTimeMillis() - start);
+                }
+            } finally {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("SELECT pg_advisory_unlock(" + ADVISORY_LOCK_KEY + ")");
+                }
+            }
+        }
+    }
+
+    /**
+     * 스크립트가 만드는 인덱스 중 INVALID인 것을 삭제하고 스크립트 실행, 실행 후 INVALID 인덱스가 남으면 실패
+     */
+    private void apply(Connection connection, Resource script) throws Exception {
+        String sql = script.getContentAsString(StandardCharsets.UTF_8);
+        List<String> indexes = new ArrayList<>();
+        Matcher matcher = CREATE_INDEX.matcher(sql);
+        while (matcher.find()) {
+            indexes.add(matcher.group(1).toLowerCase());
+        }
+
+        for (String index : invalidIndexes(connection, indexes)) {
+            log.warn("Dropping invalid index {} before re-running {}", index, script.getFilename());
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("DROP INDEX CONCURRENTLY IF EXISTS " + index);
+            }
+        }
+
+        ScriptUtils.executeSqlScript(connection, new EncodedResource(script, StandardCharsets.UTF_8));
+
+        List<String> invalid = invalidIndexes(connection, indexes);
+        if (!invalid.isEmpty()) {
+            throw new IllegalStateException("Indexes left INVALID: " + invalid);
+        }
+    }
+
+    /**
+     * 이름이 일치하는 INVALID 인덱스 (search_path 밖이면 스키마를 포함한 이름)
+     */
+    private List<String> invalidIndexes(Connection connection, List<String> names) throws SQLException {
+        List<String> invalid = new ArrayList<>();
+        if (names.isEmpty()) {
+            return invalid;
+        }
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT i.indexrelid::regclass::text FROM pg_index i JOIN pg_class c ON c.oid = i.indexrelid"
+                        + " WHERE NOT i.indisvalid AND c.relname = ANY (?)")) {
+            statement.setArray(1, connection.createArrayOf("text", names.toArray()));
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    invalid.add(rs.getString(1));
+                }
+            }
+        }
+        return invalid;
+    }
+
+    private void createHistoryTable(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE IF NOT EXISTS schema_migrations ("
+                    + "version INTEGER PRIMARY KEY, "
+                    + "description VARCHAR(200) NOT NULL, "
+                    + "installed_at TIMESTAMPTZ NOT NULL DEFAULT now())");
+        }
+    }
+
+    private Set<Integer> appliedVersions(Connection connection) throws SQLException {
+        Set<Integer> versions = new HashSet<>();
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT version FROM schema_migrations")) {
+            while (rs.next()) {
+                versions.add(rs.getInt(1));
+            }
+        }
+        return versions;
+    }
+
+    private void recordVersion(Connection connection, int version, String description) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(
+                "INSERT INTO schema_migrations (version, description) VALUES (?, ?)")) {
+            statement.setInt(1, version);
+            statement.setString(2, description);
+            statement.executeUpdate();
+        }
+    }
+
+    private static int version(Resource script) {
+        return Integer.parseInt(matcher(script).group(1));
+    }
+
+    private static String description(Resource script) {
+        return matcher(script).group(2).replace('_', ' ');
+    }
+
+    private static Matcher matcher(Resource script) {
+        Matcher matcher = FILE_NAME.matcher(String.valueOf(script.getFilename()));
+        if (!matcher.matches()) {
+            throw new IllegalStateException("Invalid migration file name: " + script.getFilename());
+        }
+        return matcher;
+    }
+
+    /**
+     * 스크립트 적용 실패 (애플리케이션 시작 중단)
+     */
+    static class MigrationFailedException extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        MigrationFailedException(String script, Throwable cause) {
+            super("Schema migration " + script + " failed: " + cause.getMessage(), cause);
+        }
+    }
+}
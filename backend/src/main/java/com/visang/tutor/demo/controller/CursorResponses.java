@@ -0,0 +1,33 @@
+package com.visang.tutor.demo.controller;
+
+import com.visang.tutor.demo.dto.LogCursor;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 키셋 페이지네이션 목록 응답 생성
+ * - 기존 응답 본문(배열)은 그대로 두고 다음 페이지 커서는 X-Next-Cursor 헤더로 전달
+ */
+final class CursorResponses {
+
+    private CursorResponses() {
+    }
+
+    /**
+     * @param logs (created_at, id) 역순으로 조회된 로그
+     * @param limit 조회한 개수
+     * @param position 로그의 커서 위치
+     * @return 로그 목록 응답 (다음 페이지가 있을 수 있으면 X-Next-Cursor 헤더 포함)
+     */
+    static <T> ResponseEntity<List<T>> of(List<T> logs, int limit, Function<T, LogCursor> position) {
+        String nextCursor = LogCursor.nextToken(logs, limit, position);
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (nextCursor != null) {
+            response.header(LogCursor.NEXT_CURSOR_HEADER, nextCursor);
+        }
+        return response.body(logs);
+    }
+}
@@ -0,0 +1,120 @@
+package com.visang.tutor.demo.controller;
+
+import com.visang.tutor.demo.dto.ErrorLogDimension;
+import com.visang.tutor.demo.dto.ErrorLogFilter;
+import com.visang.tutor.demo.dto.ErrorLogStatsResponse;
+import com.visang.tutor.demo.dto.ErrorLogTimeSeriesResponse;
+import com.visang.tutor.demo.dto.TimeInterval;
+import com.visang.tutor.demo.service.ErrorLogStatsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+
+@RestController
+@RequestMapping("/api/error-logs/stats")
+@CrossOrigin(origins = {"http://localhost:3000", "http://localhost:3001"})
+public class ErrorLogStatsController {
+
+    /** 시간대별 집계에서 허용하는 최대 구간 수 (예: 분 단위 약 3.5일) */
+    private static final long MAX_TIME_BUCKETS = 5000;
+
+    /** 상위 개수 최대값 */
+    private static final int MAX_TOP = 100;
+
+    @Autowired
+    private ErrorLogStatsService errorLogStatsService;
+
+    /**
+     * 기준별 에러 개수 집계
+     *
+     * GET /api/error-logs/stats?dimension=errCd&minutes=60&profile=dev&appName=all&top=20
+     * GET /api/error-logs/stats?dimension=appName&startDate=...&endDate=...
+     *
+     * @param dimension 집계 기준 (errCd, appName, profile, exception, schlCd)
+     * @param minutes 최근 몇 분 (startDate가 없을 때 사용, 기본값: 60)
+     * @param startDate 시작 날짜/시간 (선택)
+     * @param endDate 종료 날짜/시간 (선택, 없으면 현재까지)
+     * @param profile 프로필 (all, dev, stg, access, r-engl, r-math)
+     * @param appName 앱 이름 (all, vlmsapi, launcher, socket, tool, VIEWER)
+     * @param top 상위 개수 (기본값: 20, 최대: 100)
+     * @return 집계 응답
+     */
+    @GetMapping
+    public ResponseEntity<ErrorLogStatsResponse> getStats(
+            @RequestParam String dimension,
+            @RequestParam(defaultValue = "60") int minutes,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime endDate,
+            @RequestParam(required = false, defaultValue = "all") String profile,
+            @RequestParam(required = false, defaultValue = "all") String appName,
+            @RequestParam(defaultValue = "20") int top) {
+
+        ErrorLogDimension errorLogDimension = ErrorLogDimension.from(dimension);
+        if (errorLogDimension == null || minutes <= 0 || top <= 0) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        ErrorLogFilter filter = buildFilter(minutes, startDate, endDate, profile, appName);
+        return ResponseEntity.ok(errorLogStatsService.getStats(filter, errorLogDimension, Math.min(top, MAX_TOP)));
+    }
+
+    /**
+     * 시간대별 에러 개수 집계
+     *
+     * GET /api/error-logs/stats/timeseries?interval=minute&minutes=60
+     * GET /api/error-logs/stats/timeseries?interval=hour&startDate=...&endDate=...&dimension=appName&top=5
+     *
+     * @param interval 집계 단위 (minute, hour, day)
+     * @param dimension 함께 나눌 집계 기준 (선택, errCd, appName, profile, exception, schlCd)
+     * @param minutes 최근 몇 분 (startDate가 없을 때 사용, 기본값: 60)
+     * @param startDate 시작 날짜/시간 (선택)
+     * @param endDate 종료 날짜/시간 (선택, 없으면 현재까지)
+     * @param profile 프로필 (all, dev, stg, access, r-engl, r-math)
+     * @param appName 앱 이름 (all, vlmsapi, launcher, socket, tool, VIEWER)
+     * @param top dimension이 있을 때 포함할 상위 값 개수 (기본값: 10, 최대: 100)
+     * @return 시간대별 집계 응답 (구간 수가 너무 많으면 400)
+     */
+    @GetMapping("/timeseries")
+    public ResponseEntity<ErrorLogTimeSeriesResponse> getTimeSeries(
+            @RequestParam(defaultValue = "minute") String interval,
+            @RequestParam(required = false) String dimension,
+            @RequestParam(defaultValue = "60") int minutes,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime endDate,
+            @RequestParam(required = false, defaultValue = "all") String profile,
+            @RequestParam(required = false, defaultValue = "all") String appName,
+            @RequestParam(defaultValue = "10") int top) {
+
+        TimeInterval timeInterval = TimeInterval.from(interval);
+        ErrorLogDimension errorLogDimension = dimension == null ? null : ErrorLogDimension.from(dimension);
+        if (timeInterval == null || (dimension != null && errorLogDimension == null) || minutes <= 0 || top <= 0) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        ErrorLogFilter filter = buildFilter(minutes, startDate, endDate, profile, appName);
+
+        // 구간 수 제한 (예: 30일을 분 단위로 요청하는 경우)
+        OffsetDateTime rangeEnd = filter.getEndDate() != null ? filter.getEndDate() : OffsetDateTime.now();
+        Duration range = Duration.between(filter.getStartDate(), rangeEnd);
+        if (range.isNegative() || range.dividedBy(timeInterval.getDuration()) > MAX_TIME_BUCKETS) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        return ResponseEntity.ok(errorLogStatsService.getTimeSeries(filter, timeInterval, errorLogDimension,
+                Math.min(top, MAX_TOP)));
+    }
+
+    private ErrorLogFilter buildFilter(int minutes, OffsetDateTime startDate, OffsetDateTime endDate,
+                                       String profile, String appName) {
+        return ErrorLogFilter.builder()
+                .startDate(startDate != null ? startDate : OffsetDateTime.now().minusMinutes(minutes))
+                .endDate(startDate != null ? endDate : null)
+                .profile(profile)
+                .appName(appName)
+                .build();
+    }
+}
@@ -0,0 +1,127 @@
+package com.visang.tutor.demo.controller;
+
+import com.visang.tutor.demo.dto.ExportFormat;
+import com.visang.tutor.demo.dto.ExportJobStatus;
+import com.visang.tutor.demo.dto.TraceLogFilter;
+import com.visang.tutor.demo.service.LogExportService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.nio.file.Path;
+import java.time.OffsetDateTime;
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/api/exports")
+@CrossOrigin(origins = {"http://localhost:3000", "http://localhost:3001"}, exposedHeaders = HttpHeaders.CONTENT_DISPOSITION)
+public class LogExportController {
+
+    @Autowired
+    private LogExportService logExportService;
+
+    /**
+     * Trace 로그 내보내기 작업 등록 (대량 조회용 - limit=100000 조회 대신 사용)
+     *
+     * POST /api/exports/trace-logs?startDate=2024-01-01T00:00:00Z&endDate=2024-01-31T23:59:59Z&format=csv&logType=event
+     *
+     * 작업은 비동기로 실행되며, GET /api/exports/{id}로 진행 상황(rows)을 확인하고
+     * 완료되면 GET /api/exports/{id}/download로 gzip 파일을 받음
+     *
+     * @param startDate 시작 날짜/시간 (ISO 8601 형식)
+     * @param endDate 종료 날짜/시간 (ISO 8601 형식)
+     * @param appName 필터링할 appName (선택 사항)
+     * @param logType 필터링할 logType (선택 사항)
+     * @param profile 필터링할 profile (선택 사항)
+     * @param uuid 사용자 UUID (선택 사항, 지정하면 사용자 로그(uuid 앞부분 일치)로 내보냄)
+     * @param format 파일 형식 (csv(기본값), ndjson)
+     * @return 등록된 작업 상태 (202), 대기 중인 작업이 많으면 503
+     */
+    @PostMapping("/trace-logs")
+    public ResponseEntity<ExportJobStatus> exportTraceLogs(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime endDate,
+            @RequestParam(required = false) String appName,
+            @RequestParam(required = false) String logType,
+            @RequestParam(required = false) String profile,
+            @RequestParam(required = false) String uuid,
+            @RequestParam(defaultValue = "csv") String format) {
+
+        ExportFormat exportFormat = ExportFormat.from(format);
+        if (exportFormat == null || startDate.isAfter(endDate)) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        TraceLogFilter filter = TraceLogFilter.builder()
+                .startDate(startDate)
+                .endDate(endDate)
+                .appName(appName)
+                .logType(logType)
+                .profile(profile)
+                .userLogs(uuid != null && !uuid.isEmpty())
+                .uuid(uuid)
+                .build();
+
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(logExportService.submit(filter, exportFormat));
+    }
+
+    /**
+     * 내보내기 작업 상태 조회
+     *
+     * GET /api/exports/{id}
+     *
+     * @param id 작업 ID
+     * @return 작업 상태 (없으면 404)
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<ExportJobStatus> getExport(@PathVariable String id) {
+        return ResponseEntity.of(logExportService.getStatus(id));
+    }
+
+    /**
+     * 완료된 내보내기 파일 다운로드
+     *
+     * GET /api/exports/{id}/download
+     *
+     * @param id 작업 ID
+     * @return gzip 파일 (작업이 없으면 404, 아직 완료되지 않았으면 409)
+     */
+    @GetMapping("/{id}/download")
+    public ResponseEntity<Resource> downloadExport(@PathVariable String id) {
+        Optional<ExportJobStatus> status = logExportService.getStatus(id);
+        if (status.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        Optional<Path> file = logExportService.getFile(id);
+        if (file.isEmpty()) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+
+        ExportFormat format = status.get().format();
+        String filename = "trace-logs-" + id + "." + format.getExtension() + ".gz";
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/gzip"))
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+                .body(new FileSystemResource(file.get()));
+    }
+
+    /**
+     * 내보내기 작업 취소 (완료된 작업은 파일 삭제)
+     *
+     * DELETE /api/exports/{id}
+     *
+     * @param id 작업 ID
+     * @return 204 (없으면 404)
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> cancelExport(@PathVariable String id) {
+        return logExportService.cancel(id) ? ResponseEntity.noContent().build() : ResponseEntity.notFound().build();
+    }
+}
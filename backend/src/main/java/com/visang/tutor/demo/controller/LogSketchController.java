@@ -0,0 +1,86 @@
+package com.visang.tutor.demo.controller;
+
+import com.visang.tutor.demo.dto.DistinctUsersResponse;
+import com.visang.tutor.demo.dto.HeavyHitterResponse;
+import com.visang.tutor.demo.dto.SketchCountResponse;
+import com.visang.tutor.demo.dto.SketchDimension;
+import com.visang.tutor.demo.service.LogSketchService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/sketches")
+@CrossOrigin(origins = {"http://localhost:3000", "http://localhost:3001"})
+public class LogSketchController {
+
+    /** 상위 개수 최대값 */
+    private static final int MAX_K = 1000;
+
+    @Autowired
+    private LogSketchService logSketchService;
+
+    /**
+     * 현재 구간(기본 하루)의 기준별 상위 K개 (스트리밍 스케치, DB 조회 없음)
+     *
+     * GET /api/sketches/top?dimension=schlCd&k=20
+     * GET /api/sketches/top?dimension=uuid&k=10
+     *
+     * @param dimension 기준 (schlCd, userId, url: 에러 로그 / uuid: trace_logs)
+     * @param k 상위 개수 (기본값: 20, 최대: 1000)
+     * @return 상위 K개 응답 (개수는 추정값, error는 최대 과대 추정량)
+     */
+    @GetMapping("/top")
+    public ResponseEntity<HeavyHitterResponse> getTop(
+            @RequestParam String dimension,
+            @RequestParam(defaultValue = "20") int k) {
+
+        SketchDimension sketchDimension = SketchDimension.from(dimension);
+        if (sketchDimension == null || k <= 0) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(logSketchService.getTop(sketchDimension, Math.min(k, MAX_K)));
+    }
+
+    /**
+     * 현재 구간의 값 하나의 개수 추정
+     *
+     * GET /api/sketches/count?dimension=schlCd&key=S1234
+     *
+     * @param dimension 기준 (schlCd, userId, url, uuid)
+     * @param key 값
+     * @return 개수 추정 응답 (실제 개수 이상)
+     */
+    @GetMapping("/count")
+    public ResponseEntity<SketchCountResponse> getCount(
+            @RequestParam String dimension,
+            @RequestParam String key) {
+
+        SketchDimension sketchDimension = SketchDimension.from(dimension);
+        if (sketchDimension == null) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(logSketchService.getCount(sketchDimension, key));
+    }
+
+    /**
+     * 현재 구간의 학교별 에러 발생 사용자(userId) 수 추정
+     *
+     * GET /api/sketches/distinct-users?k=20
+     * GET /api/sketches/distinct-users?schlCd=S1234
+     *
+     * @param schlCd 학교 코드 (선택, 없으면 에러가 많은 상위 k개 학교)
+     * @param k 학교 개수 (기본값: 20, 최대: 1000)
+     * @return 학교별 사용자 수 응답
+     */
+    @GetMapping("/distinct-users")
+    public ResponseEntity<DistinctUsersResponse> getDistinctUsers(
+            @RequestParam(required = false) String schlCd,
+            @RequestParam(defaultValue = "20") int k) {
+
+        if (k <= 0) {
+            return ResponseEntity.badRequest().build();
+        }
+        return ResponseEntity.ok(logSketchService.getDistinctUsers(schlCd, Math.min(k, MAX_K)));
+    }
+}
@@ -0,0 +1,60 @@
+package com.visang.tutor.demo.controller;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+/**
+ * NDJSON(한 줄에 JSON 하나) 스트리밍 응답 생성
+ * - 조회 결과를 List로 모으지 않고 한 건씩 바로 응답 스트림에 기록
+ * - 첫 건은 즉시 flush 하여 첫 바이트 도착 시간이 결과 크기와 무관하도록 함
+ */
+final class NdjsonResponses {
+
+    private NdjsonResponses() {
+    }
+
+    /**
+     * @param objectMapper 직렬화에 사용할 ObjectMapper
+     * @param producer 전달받은 consumer로 한 건씩 결과를 넘겨주는 조회 로직
+     * @return application/x-ndjson 스트리밍 응답
+     */
+    static <T> ResponseEntity<StreamingResponseBody> of(ObjectMapper objectMapper, Consumer<Consumer<T>> producer) {
+        StreamingResponseBody body = out -> {
+            JsonGenerator generator = objectMapper.createGenerator(out);
+            generator.setRootValueSeparator(null);
+            try {
+                producer.accept(new Consumer<>() {
+                    private boolean first = true;
+
+                    @Override
+                    public void accept(T item) {
+                        try {
+                            generator.writeObject(item);
+                            generator.writeRaw('\n');
+                            if (first) {
+                                generator.flush();
+                                first = false;
+                            }
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            generator.flush();
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+}
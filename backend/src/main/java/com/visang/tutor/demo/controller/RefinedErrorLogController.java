@@ -1,24 +1,55 @@
 package com.visang.tutor.demo.controller;
 
+import com.visang.tutor.demo.dto.CountMode;
+import com.visang.tutor.demo.dto.ErrorAnomalyResponse;
+import com.visang.tutor.demo.dto.ErrorLogFilter;
+import com.visang.tutor.demo.dto.ErrorLogGroupResponse;
 import com.visang.tutor.demo.dto.ErrorLogResponse;
+import com.visang.tutor.demo.dto.ErrorLogSummary;
+import com.visang.tutor.demo.dto.LogCursor;
+import com.visang.tutor.demo.dto.LogSearchResponse;
 import com.visang.tutor.demo.model.RefinedErrorLog;
+import com.visang.tutor.demo.service.ErrorAnomalyDetector;
+import com.visang.tutor.demo.service.LogTailService;
 import com.visang.tutor.demo.service.RefinedErrorLogService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.OffsetDateTime;
-import java.util.List;
 
 @RestController
 @RequestMapping("/api/error-logs")
 @CrossOrigin(origins = {"http://localhost:3000", "http://localhost:3001"})
 public class RefinedErrorLogController {
 
+    /** 묶음 조회에서 반환하는 시그니처 최대 개수 */
+    private static final int MAX_GROUPS = 100;
+
+    /** 시그니처별 최근 에러 ID 개수 */
+    private static final int GROUP_SAMPLES = 5;
+
+    /** 전문 검색 한 페이지 최대 개수 */
+    private static final int MAX_SEARCH_LIMIT = 200;
+
+    /** 전문 검색 최대 offset (관련도 정렬은 offset만큼 모두 계산하므로 깊은 페이지 제한) */
+    private static final int MAX_SEARCH_OFFSET = 1000;
+
+    /** 검색어 최대 길이 */
+    private static final int MAX_SEARCH_LENGTH = 200;
+
     @Autowired
     private RefinedErrorLogService refinedErrorLogService;
 
+    @Autowired
+    private LogTailService logTailService;
+
+    @Autowired
+    private ErrorAnomalyDetector errorAnomalyDetector;
+
     /**
      * 날짜 구간과 필터로 에러 로그 조회
      *
@@ -29,27 +60,41 @@ public class RefinedErrorLogController {
      * @param profile 프로필 (all, dev, stg, access, r-engl, r-math)
      * @param appName 앱 이름 (all, vlmsapi, launcher, socket, tool, VIEWER)
      * @param limit 조회할 개수 (기본값: 100, 최대: 1000)
+     * @param cursor 이전 응답의 nextCursor (선택, 다음 페이지 조회)
+     * @param count 전체 개수 계산 방식 (exact: 정확한 개수(기본값, 캐시 사용), estimate: 실행 계획 기반 근사값, none: 계산 안 함)
+     * @param includeTrace 원본 Trace 로그 포함 여부 (true면 traceLogs에 traceLogsId별 TraceLog 포함, 한 번의 쿼리로 조회)
      * @return RefinedErrorLog 리스트
      */
     @GetMapping("/range")
-    public ResponseEntity<ErrorLogResponse> getErrorLogsByDateRange(
+    public ResponseEntity<ErrorLogResponse<RefinedErrorLog>> getErrorLogsByDateRange(
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime startDate,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime endDate,
             @RequestParam(required = false, defaultValue = "all") String profile,
             @RequestParam(required = false, defaultValue = "all") String appName,
-            @RequestParam(defaultValue = "100") int limit) {
+            @RequestParam(defaultValue = "100") int limit,
+            @RequestParam(required = false) LogCursor cursor,
+            @RequestParam(defaultValue = "exact") String count,
+            @RequestParam(defaultValue = "false") boolean includeTrace) {
 
         if (limit > 1000) {
             limit = 1000;
         }
 
-        List<RefinedErrorLog> logs = refinedErrorLogService.getErrorLogsByDateRange(
-                startDate, endDate, profile, appName, limit
-        );
-        long total = refinedErrorLogService.countByFilters(startDate, endDate, profile, appName);
+        CountMode countMode = CountMode.from(count);
+        if (countMode == null) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        ErrorLogFilter filter = ErrorLogFilter.builder()
+                .startDate(startDate)
+                .endDate(endDate)
+                .profile(profile)
+                .appName(appName)
+                .cursor(cursor)
+                .limit(limit)
+                .build();
 
-        ErrorLogResponse response = new ErrorLogResponse(logs, total);
-        return ResponseEntity.ok(response);
+        return ResponseEntity.ok(refinedErrorLogService.getErrorLogPage(filter, countMode, includeTrace));
     }
 
     /**
@@ -61,31 +106,315 @@ public class RefinedErrorLogController {
      * @param profile 프로필 (all, dev, stg, access, r-engl, r-math)
      * @param appName 앱 이름 (all, vlmsapi, launcher, socket, tool, VIEWER)
      * @param limit 조회할 개수 (기본값: 100, 최대: 1000)
+     * @param cursor 이전 응답의 nextCursor (선택, 다음 페이지 조회)
+     * @param since 이미 받은 가장 최근 로그의 커서 (선택, 이 위치 이후에 추가된 로그만 조회)
+     * @param count 전체 개수 계산 방식 (exact: 정확한 개수(기본값, 캐시 사용), estimate: 실행 계획 기반 근사값, none: 계산 안 함)
+     * @param includeTrace 원본 Trace 로그 포함 여부 (true면 traceLogs에 traceLogsId별 TraceLog 포함, 한 번의 쿼리로 조회)
      * @return RefinedErrorLog 리스트
      */
     @GetMapping("/recent")
-    public ResponseEntity<ErrorLogResponse> getRecentErrorLogs(
+    public ResponseEntity<ErrorLogResponse<RefinedErrorLog>> getRecentErrorLogs(
             @RequestParam(defaultValue = "10") int minutes,
             @RequestParam(required = false, defaultValue = "all") String profile,
             @RequestParam(required = false, defaultValue = "all") String appName,
-            @RequestParam(defaultValue = "100") int limit) {
+            @RequestParam(defaultValue = "100") int limit,
+            @RequestParam(required = false) LogCursor cursor,
+            @RequestParam(required = false) LogCursor since,
+            @RequestParam(defaultValue = "exact") String count,
+            @RequestParam(defaultValue = "false") boolean includeTrace) {
 
         if (limit > 1000) {
             limit = 1000;
         }
 
+        CountMode countMode = CountMode.from(count);
+        if (countMode == null) {
+            return ResponseEntity.badRequest().build();
+        }
+
         // 추가된 시간 옵션 허용 (360, 720, 1440)
         if (minutes != 10 && minutes != 30 && minutes != 60 &&
             minutes != 360 && minutes != 720 && minutes != 1440) {
             return ResponseEntity.badRequest().build();
         }
 
-        List<RefinedErrorLog> logs = refinedErrorLogService.getRecentErrorLogs(
-                minutes, profile, appName, limit
-        );
-        long total = refinedErrorLogService.countRecentByFilters(minutes, profile, appName);
+        ErrorLogFilter filter = ErrorLogFilter.builder()
+                .startDate(OffsetDateTime.now().minusMinutes(minutes))
+                .relativeRange(true)
+                .profile(profile)
+                .appName(appName)
+                .cursor(cursor)
+                .since(since)
+                .limit(limit)
+                .build();
+
+        return ResponseEntity.ok(refinedErrorLogService.getErrorLogPage(filter, countMode, includeTrace));
+    }
+
+    /**
+     * 날짜 구간과 필터로 에러 로그 조회 - 목록용 요약 모드
+     *
+     * GET /api/error-logs/range?view=summary&startDate=...&endDate=...&profile=dev&appName=vlmsapi&limit=100
+     *
+     * 파라미터는 일반 조회와 동일하며, 목록에 표시하는 컬럼(errMsg는 앞 200자)만 반환
+     * (전체 내용은 GET /api/error-logs/{id} 로 조회)
+     */
+    @GetMapping(value = "/range", params = "view=summary")
+    public ResponseEntity<ErrorLogResponse<ErrorLogSummary>> getErrorLogSummariesByDateRange(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime endDate,
+            @RequestParam(required = false, defaultValue = "all") String profile,
+            @RequestParam(required = false, defaultValue = "all") String appName,
+            @RequestParam(defaultValue = "100") int limit,
+            @RequestParam(required = false) LogCursor cursor,
+            @RequestParam(defaultValue = "exact") String count) {
+
+        if (limit > 1000) {
+            limit = 1000;
+        }
+
+        CountMode countMode = CountMode.from(count);
+        if (countMode == null) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        ErrorLogFilter filter = ErrorLogFilter.builder()
+                .startDate(startDate)
+                .endDate(endDate)
+                .profile(profile)
+                .appName(appName)
+                .cursor(cursor)
+                .limit(limit)
+                .build();
+
+        return ResponseEntity.ok(refinedErrorLogService.getErrorLogSummaryPage(filter, countMode));
+    }
+
+    /**
+     * 최근 시간 기준으로 에러 로그 조회 - 목록용 요약 모드
+     *
+     * GET /api/error-logs/recent?view=summary&minutes=10&profile=dev&appName=vlmsapi&limit=100
+     *
+     * 파라미터는 일반 조회와 동일하며, 목록에 표시하는 컬럼(errMsg는 앞 200자)만 반환
+     */
+    @GetMapping(value = "/recent", params = "view=summary")
+    public ResponseEntity<ErrorLogResponse<ErrorLogSummary>> getRecentErrorLogSummaries(
+            @RequestParam(defaultValue = "10") int minutes,
+            @RequestParam(required = false, defaultValue = "all") String profile,
+            @RequestParam(required = false, defaultValue = "all") String appName,
+            @RequestParam(defaultValue = "100") int limit,
+            @RequestParam(required = false) LogCursor cursor,
+            @RequestParam(required = false) LogCursor since,
+            @RequestParam(defaultValue = "exact") String count) {
+
+        if (limit > 1000) {
+            limit = 1000;
+        }
+
+        CountMode countMode = CountMode.from(count);
+        if (countMode == null) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        // 추가된 시간 옵션 허용 (360, 720, 1440)
+        if (minutes != 10 && minutes != 30 && minutes != 60 &&
+            minutes != 360 && minutes != 720 && minutes != 1440) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        ErrorLogFilter filter = ErrorLogFilter.builder()
+                .startDate(OffsetDateTime.now().minusMinutes(minutes))
+                .relativeRange(true)
+                .profile(profile)
+                .appName(appName)
+                .cursor(cursor)
+                .since(since)
+                .limit(limit)
+                .build();
+
+        return ResponseEntity.ok(refinedErrorLogService.getErrorLogSummaryPage(filter, countMode));
+    }
+
+    /**
+     * 날짜 구간과 필터로 에러 로그 조회 - 시그니처별 묶음 모드
+     *
+     * GET /api/error-logs/range?view=groups&startDate=...&endDate=...&profile=dev&appName=vlmsapi&top=30
+     *
+     * hash(없으면 exception, errCd, 숫자를 치환한 errMsg, URL 템플릿)가 같은 에러를 한 행으로 묶어
+     * 개수, 처음/마지막 발생 시각, 최근 에러 ID와 함께 개수가 많은 순서로 반환
+     *
+     * @param top 시그니처 개수 (기본값: 30, 최대: 100)
+     */
+    @GetMapping(value = "/range", params = "view=groups")
+    public ResponseEntity<ErrorLogGroupResponse> getErrorLogGroupsByDateRange(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime endDate,
+            @RequestParam(required = false, defaultValue = "all") String profile,
+            @RequestParam(required = false, defaultValue = "all") String appName,
+            @RequestParam(defaultValue = "30") int top) {
+
+        if (top <= 0) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        ErrorLogFilter filter = ErrorLogFilter.builder()
+                .startDate(startDate)
+                .endDate(endDate)
+                .profile(profile)
+                .appName(appName)
+                .build();
+
+        return ResponseEntity.ok(refinedErrorLogService.getErrorLogGroups(filter, Math.min(top, MAX_GROUPS), GROUP_SAMPLES));
+    }
+
+    /**
+     * 최근 시간 기준으로 에러 로그 조회 - 시그니처별 묶음 모드
+     *
+     * GET /api/error-logs/recent?view=groups&minutes=60&profile=dev&appName=vlmsapi&top=30
+     *
+     * @param minutes 최근 몇 분 (10, 30, 60, 360, 720, 1440)
+     * @param top 시그니처 개수 (기본값: 30, 최대: 100)
+     */
+    @GetMapping(value = "/recent", params = "view=groups")
+    public ResponseEntity<ErrorLogGroupResponse> getRecentErrorLogGroups(
+            @RequestParam(defaultValue = "10") int minutes,
+            @RequestParam(required = false, defaultValue = "all") String profile,
+            @RequestParam(required = false, defaultValue = "all") String appName,
+            @RequestParam(defaultValue = "30") int top) {
+
+        if (top <= 0) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        if (minutes != 10 && minutes != 30 && minutes != 60 &&
+            minutes != 360 && minutes != 720 && minutes != 1440) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        ErrorLogFilter filter = ErrorLogFilter.builder()
+                .startDate(OffsetDateTime.now().minusMinutes(minutes))
+                .relativeRange(true)
+                .profile(profile)
+                .appName(appName)
+                .build();
+
+        return ResponseEntity.ok(refinedErrorLogService.getErrorLogGroups(filter, Math.min(top, MAX_GROUPS), GROUP_SAMPLES));
+    }
+
+    /**
+     * 에러 로그 전문 검색 (errMsg + message)
+     *
+     * GET /api/error-logs/search?q="connection reset" -timeout&minutes=60&profile=dev&appName=vlmsapi&limit=50&offset=0
+     *
+     * 검색어는 websearch 문법 (공백으로 나눈 단어는 모두 포함, "..."는 구문, OR는 둘 중 하나, -단어는 제외)
+     * 결과는 관련도 순서이며 errMsg는 앞 200자만 포함 (전체 내용은 GET /api/error-logs/{id} 로 조회)
+     *
+     * @param q 검색어 (최대 200자)
+     * @param minutes 최근 몇 분 (10, 30, 60(기본값), 360, 720, 1440, startDate/endDate가 있으면 무시)
+     * @param startDate 시작 날짜/시간 (선택)
+     * @param endDate 종료 날짜/시간 (선택)
+     * @param profile 프로필 (all, dev, stg, access, r-engl, r-math)
+     * @param appName 앱 이름 (all, vlmsapi, launcher, socket, tool, VIEWER)
+     * @param limit 조회할 개수 (기본값: 50, 최대: 200)
+     * @param offset 건너뛸 결과 수 (기본값: 0, 최대: 1000 - 다음 페이지는 offset + 이전 결과 수)
+     * @return 검색 응답
+     */
+    @GetMapping("/search")
+    public ResponseEntity<LogSearchResponse<ErrorLogSummary>> searchErrorLogs(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "60") int minutes,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime endDate,
+            @RequestParam(required = false, defaultValue = "all") String profile,
+            @RequestParam(required = false, defaultValue = "all") String appName,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(defaultValue = "0") int offset) {
 
-        ErrorLogResponse response = new ErrorLogResponse(logs, total);
-        return ResponseEntity.ok(response);
+        String search = q.trim();
+        if (search.isEmpty() || search.length() > MAX_SEARCH_LENGTH || limit <= 0
+                || offset < 0 || offset > MAX_SEARCH_OFFSET) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        boolean range = startDate != null && endDate != null;
+        if (!range && minutes != 10 && minutes != 30 && minutes != 60 &&
+            minutes != 360 && minutes != 720 && minutes != 1440) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        ErrorLogFilter filter = ErrorLogFilter.builder()
+                .startDate(range ? startDate : OffsetDateTime.now().minusMinutes(minutes))
+                .endDate(range ? endDate : null)
+                .relativeRange(!range)
+                .profile(profile)
+                .appName(appName)
+                .limit(Math.min(limit, MAX_SEARCH_LIMIT))
+                .build();
+
+        return ResponseEntity.ok(refinedErrorLogService.searchErrorLogs(filter, search, offset));
+    }
+
+    /**
+     * 조건에 맞는 새 에러 로그를 실시간으로 전달 (Server-Sent Events)
+     *
+     * GET /api/error-logs/tail?profile=dev&appName=vlmsapi&cursor=...
+     *
+     * 각 로그는 event: log, id: 커서 토큰, data: RefinedErrorLog(JSON)으로 전달
+     *
+     * @param profile 프로필 (all, dev, stg, access, r-engl, r-math)
+     * @param appName 앱 이름 (all, vlmsapi, launcher, socket, tool, VIEWER)
+     * @param cursor 이미 받은 가장 최근 로그의 커서 (선택, 이 위치까지의 로그는 전달하지 않음)
+     * @param lastEventId 재연결 시 브라우저가 보내는 마지막 이벤트 id (cursor보다 우선)
+     * @return SSE 스트림
+     */
+    @GetMapping(value = "/tail", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter tailErrorLogs(
+            @RequestParam(required = false, defaultValue = "all") String profile,
+            @RequestParam(required = false, defaultValue = "all") String appName,
+            @RequestParam(required = false) LogCursor cursor,
+            @RequestHeader(value = "Last-Event-ID", required = false) LogCursor lastEventId) {
+
+        ErrorLogFilter filter = ErrorLogFilter.builder()
+                .profile(profile)
+                .appName(appName)
+                .build();
+        return logTailService.subscribeErrorLogs(filter, lastEventId != null ? lastEventId : cursor);
+    }
+
+    /**
+     * 진행 중인 에러 급증(이상) 조회
+     *
+     * GET /api/error-logs/anomalies?profile=dev&appName=all
+     *
+     * 백그라운드 탐지 작업이 appName/profile/errCd 조합별 분당 에러 수를 EWMA 기준선과 비교한 결과
+     * (탐지 주기마다 갱신되며, 이 API는 DB를 조회하지 않음)
+     *
+     * @param profile 프로필 (all, dev, stg, access, r-engl, r-math)
+     * @param appName 앱 이름 (all, vlmsapi, launcher, socket, tool, VIEWER)
+     * @return 이상 탐지 응답
+     */
+    @GetMapping("/anomalies")
+    public ResponseEntity<ErrorAnomalyResponse> getAnomalies(
+            @RequestParam(required = false, defaultValue = "all") String profile,
+            @RequestParam(required = false, defaultValue = "all") String appName) {
+
+        ErrorLogFilter filter = ErrorLogFilter.builder()
+                .profile(profile)
+                .appName(appName)
+                .build();
+        return ResponseEntity.ok(errorAnomalyDetector.getAnomalies(filter));
+    }
+
+    /**
+     * ID로 에러 로그 한 건 조회 (상세 화면용)
+     *
+     * GET /api/error-logs/123
+     *
+     * @param id 에러 로그 ID
+     * @return RefinedErrorLog (없으면 404)
+     */
+    @GetMapping("/{id:\\d+}")
+    public ResponseEntity<RefinedErrorLog> getErrorLog(@PathVariable long id) {
+        return ResponseEntity.of(refinedErrorLogService.getErrorLog(id));
     }
 }
@@ -1,23 +1,48 @@
 package com.visang.tutor.demo.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.visang.tutor.demo.dto.LogCursor;
+import com.visang.tutor.demo.dto.LogSearchResponse;
+import com.visang.tutor.demo.dto.TraceLogFilter;
+import com.visang.tutor.demo.dto.TraceLogSource;
+import com.visang.tutor.demo.dto.TraceLogSummary;
 import com.visang.tutor.demo.model.TraceLog;
+import com.visang.tutor.demo.service.LogTailService;
 import com.visang.tutor.demo.service.TraceLogService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.OffsetDateTime;
 import java.util.List;
 
 @RestController
 @RequestMapping("/api/trace-logs-launcher")
-@CrossOrigin(origins = {"http://localhost:3000", "http://localhost:3001"})
+@CrossOrigin(origins = {"http://localhost:3000", "http://localhost:3001"}, exposedHeaders = LogCursor.NEXT_CURSOR_HEADER)
 public class TraceLogController {
 
+    /** 전문 검색 한 페이지 최대 개수 */
+    private static final int MAX_SEARCH_LIMIT = 200;
+
+    /** 전문 검색 최대 offset (관련도 정렬은 offset만큼 모두 계산하므로 깊은 페이지 제한) */
+    private static final int MAX_SEARCH_OFFSET = 1000;
+
+    /** 검색어 최대 길이 */
+    private static final int MAX_SEARCH_LENGTH = 200;
+
     @Autowired
     private TraceLogService traceLogService;
 
+    @Autowired
+    private LogTailService logTailService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     /**
      * 날짜와 시간 구간별로 일정한 수량 조회
      *
@@ -29,7 +54,8 @@ public class TraceLogController {
      * @param appName 필터링할 appName (선택 사항)
      * @param logType 필터링할 logType (선택 사항, 예: debug, ack, stats, error)
      * @param profile 필터링할 profile (선택 사항, 예: stg, dev, stg1, r-math, r-engl)
-     * @return TraceLog 리스트
+     * @param cursor 이전 응답의 X-Next-Cursor 헤더 값 (선택 사항, 다음 페이지 조회)
+     * @return TraceLog 리스트 (다음 페이지가 있으면 X-Next-Cursor 헤더 포함)
      */
     @GetMapping("/range")
     public ResponseEntity<List<TraceLog>> getLogsByDateRange(
@@ -38,33 +64,17 @@ public class TraceLogController {
             @RequestParam(defaultValue = "100") int limit,
             @RequestParam(required = false) String appName,
             @RequestParam(required = false) String logType,
-            @RequestParam(required = false) String profile) {
+            @RequestParam(required = false) String profile,
+            @RequestParam(required = false) LogCursor cursor) {
 
         // limit 값 검증
         if (!isValidLimit(limit)) {
             return ResponseEntity.badRequest().build();
         }
 
-        List<TraceLog> logs;
-        if ("event".equalsIgnoreCase(logType)) {
-            // evtCd 필드가 존재하고 길이가 3 이상인 로그 조회
-            logs = traceLogService.getLogsByDateRangeAndEvtCd(startDate, endDate, limit);
-        } else if (appName != null && !appName.isEmpty() && logType != null && !logType.isEmpty()) {
-            logs = traceLogService.getLogsByDateRangeAndAppNameAndLogType(startDate, endDate, limit, appName, logType);
-        } else if (appName != null && !appName.isEmpty()) {
-            logs = traceLogService.getLogsByDateRangeAndAppName(startDate, endDate, limit, appName);
-        } else if (logType != null && !logType.isEmpty()) {
-            logs = traceLogService.getLogsByDateRangeAndLogType(startDate, endDate, limit, logType);
-        } else {
-            logs = traceLogService.getLogsByDateRange(startDate, endDate, limit);
-        }
-
-        // profile 필터링 (메모리에서 필터링)
-        if (profile != null && !profile.isEmpty()) {
-            logs = traceLogService.filterByProfile(logs, profile);
-        }
-
-        return ResponseEntity.ok(logs);
+        TraceLogFilter filter = buildFilter(startDate, endDate, appName, logType, profile, cursor, null, limit);
+        List<TraceLog> logs = traceLogService.getLogs(filter);
+        return CursorResponses.of(logs, limit, log -> new LogCursor(log.getCreatedAt(), log.getId()));
     }
 
     /**
@@ -76,40 +86,255 @@ public class TraceLogController {
      * @param appName 필터링할 appName (선택 사항)
      * @param logType 필터링할 logType (선택 사항, 예: debug, ack, stats, error)
      * @param profile 필터링할 profile (선택 사항, 예: stg, dev, stg1, r-math, r-engl)
-     * @return TraceLog 리스트
+     * @param cursor 이전 응답의 X-Next-Cursor 헤더 값 (선택 사항, 다음 페이지 조회)
+     * @param since 이미 받은 가장 최근 로그의 커서 (선택, 이 위치 이후에 추가된 로그만 조회)
+     * @return TraceLog 리스트 (다음 페이지가 있으면 X-Next-Cursor 헤더 포함)
      */
     @GetMapping("/recent")
     public ResponseEntity<List<TraceLog>> getRecentLogs(
             @RequestParam(defaultValue = "100") int limit,
             @RequestParam(required = false) String appName,
             @RequestParam(required = false) String logType,
-            @RequestParam(required = false) String profile) {
+            @RequestParam(required = false) String profile,
+            @RequestParam(required = false) LogCursor cursor,
+            @RequestParam(required = false) LogCursor since) {
+
+        // limit 값 검증
+        if (!isValidLimit(limit)) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        TraceLogFilter filter = buildFilter(null, null, appName, logType, profile, cursor, since, limit);
+        List<TraceLog> logs = traceLogService.getLogs(filter);
+        return CursorResponses.of(logs, limit, log -> new LogCursor(log.getCreatedAt(), log.getId()));
+    }
+
+    /**
+     * 날짜와 시간 구간별 조회 - NDJSON 스트리밍 모드
+     *
+     * GET /api/trace-logs-launcher/range?format=ndjson&startDate=...&endDate=...&limit=100000&appName=vlmsapi
+     *
+     * 파라미터는 일반 조회와 동일하며, 결과를 한 줄에 하나씩 TraceLog JSON으로 스트리밍
+     * (대량 조회 시에도 메모리 사용량이 결과 크기와 무관하게 일정)
+     */
+    @GetMapping(value = "/range", params = "format=ndjson")
+    public ResponseEntity<StreamingResponseBody> streamLogsByDateRange(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime endDate,
+            @RequestParam(defaultValue = "100") int limit,
+            @RequestParam(required = false) String appName,
+            @RequestParam(required = false) String logType,
+            @RequestParam(required = false) String profile,
+            @RequestParam(required = false) LogCursor cursor) {
+
+        // limit 값 검증
+        if (!isValidLimit(limit)) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        TraceLogFilter filter = buildFilter(startDate, endDate, appName, logType, profile, cursor, null, limit);
+        return NdjsonResponses.<TraceLog>of(objectMapper, consumer -> traceLogService.streamLogs(filter, consumer));
+    }
+
+    /**
+     * 최근 시간 기준 조회 - NDJSON 스트리밍 모드
+     *
+     * GET /api/trace-logs-launcher/recent?format=ndjson&limit=100000&appName=vlmsapi
+     *
+     * 파라미터는 일반 조회와 동일하며, 결과를 한 줄에 하나씩 TraceLog JSON으로 스트리밍
+     */
+    @GetMapping(value = "/recent", params = "format=ndjson")
+    public ResponseEntity<StreamingResponseBody> streamRecentLogs(
+            @RequestParam(defaultValue = "100") int limit,
+            @RequestParam(required = false) String appName,
+            @RequestParam(required = false) String logType,
+            @RequestParam(required = false) String profile,
+            @RequestParam(required = false) LogCursor cursor) {
+
+        // limit 값 검증
+        if (!isValidLimit(limit)) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        TraceLogFilter filter = buildFilter(null, null, appName, logType, profile, cursor, null, limit);
+        return NdjsonResponses.<TraceLog>of(objectMapper, consumer -> traceLogService.streamLogs(filter, consumer));
+    }
+
+    /**
+     * NDJSON 스트리밍 모드와 요약 모드를 함께 지정한 요청 (어느 쪽으로 응답할지 정할 수 없으므로 400)
+     *
+     * GET /api/trace-logs-launcher/range?format=ndjson&view=summary&...
+     */
+    @GetMapping(value = {"/range", "/recent"}, params = {"format=ndjson", "view"})
+    public ResponseEntity<Void> rejectNdjsonView() {
+        return ResponseEntity.badRequest().build();
+    }
+
+    /**
+     * 날짜와 시간 구간별 조회 - 목록용 요약 모드
+     *
+     * GET /api/trace-logs-launcher/range?view=summary&startDate=...&endDate=...&limit=100&appName=vlmsapi
+     *
+     * 파라미터는 일반 조회와 동일하며, log_payload 전체 대신 목록에 표시하는 키(appName, profile, logType, evtCd,
+     * uuid, schlNum, uName, uType)만 반환 (전체 내용은 GET /api/trace-logs-launcher/{id}?source=... 로 조회)
+     */
+    @GetMapping(value = "/range", params = "view=summary")
+    public ResponseEntity<List<TraceLogSummary>> getLogSummariesByDateRange(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime startDate,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime endDate,
+            @RequestParam(defaultValue = "100") int limit,
+            @RequestParam(required = false) String appName,
+            @RequestParam(required = false) String logType,
+            @RequestParam(required = false) String profile,
+            @RequestParam(required = false) LogCursor cursor) {
 
         // limit 값 검증
         if (!isValidLimit(limit)) {
             return ResponseEntity.badRequest().build();
         }
 
-        List<TraceLog> logs;
-        if ("event".equalsIgnoreCase(logType)) {
-            // evtCd 필드가 존재하고 길이가 3 이상인 로그 조회
-            logs = traceLogService.getRecentLogsByEvtCd(limit);
-        } else if (appName != null && !appName.isEmpty() && logType != null && !logType.isEmpty()) {
-            logs = traceLogService.getRecentLogsByAppNameAndLogType(limit, appName, logType);
-        } else if (appName != null && !appName.isEmpty()) {
-            logs = traceLogService.getRecentLogsByAppName(limit, appName);
-        } else if (logType != null && !logType.isEmpty()) {
-            logs = traceLogService.getRecentLogsByLogType(limit, logType);
-        } else {
-            logs = traceLogService.getRecentLogs(limit);
+        TraceLogFilter filter = buildFilter(startDate, endDate, appName, logType, profile, cursor, null, limit);
+        List<TraceLogSummary> logs = traceLogService.getLogSummaries(filter);
+        return CursorResponses.of(logs, limit, log -> new LogCursor(log.createdAt(), log.id()));
+    }
+
+    /**
+     * 최근 시간 기준 조회 - 목록용 요약 모드
+     *
+     * GET /api/trace-logs-launcher/recent?view=summary&limit=100&appName=vlmsapi
+     *
+     * 파라미터는 일반 조회와 동일하며, 목록에 표시하는 키만 반환
+     */
+    @GetMapping(value = "/recent", params = "view=summary")
+    public ResponseEntity<List<TraceLogSummary>> getRecentLogSummaries(
+            @RequestParam(defaultValue = "100") int limit,
+            @RequestParam(required = false) String appName,
+            @RequestParam(required = false) String logType,
+            @RequestParam(required = false) String profile,
+            @RequestParam(required = false) LogCursor cursor,
+            @RequestParam(required = false) LogCursor since) {
+
+        // limit 값 검증
+        if (!isValidLimit(limit)) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        TraceLogFilter filter = buildFilter(null, null, appName, logType, profile, cursor, since, limit);
+        List<TraceLogSummary> logs = traceLogService.getLogSummaries(filter);
+        return CursorResponses.of(logs, limit, log -> new LogCursor(log.createdAt(), log.id()));
+    }
+
+    /**
+     * 조건에 맞는 새 로그를 실시간으로 전달 (Server-Sent Events)
+     *
+     * GET /api/trace-logs-launcher/tail?logType=event&profile=dev&cursor=...
+     *
+     * 각 로그는 event: log, id: 커서 토큰, data: TraceLog(JSON)으로 전달
+     *
+     * @param appName 필터링할 appName (선택 사항)
+     * @param logType 필터링할 logType (선택 사항, event: evtCd가 있는 로그)
+     * @param profile 필터링할 profile (선택 사항)
+     * @param cursor 이미 받은 가장 최근 로그의 커서 (선택 사항, 이 위치까지의 로그는 전달하지 않음)
+     * @param lastEventId 재연결 시 브라우저가 보내는 마지막 이벤트 id (cursor보다 우선)
+     * @return SSE 스트림
+     */
+    @GetMapping(value = "/tail", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter tailLogs(
+            @RequestParam(required = false) String appName,
+            @RequestParam(required = false) String logType,
+            @RequestParam(required = false) String profile,
+            @RequestParam(required = false) LogCursor cursor,
+            @RequestHeader(value = "Last-Event-ID", required = false) LogCursor lastEventId) {
+
+        TraceLogFilter filter = buildFilter(null, null, appName, logType, profile, null, null, 0);
+        return logTailService.subscribeTraceLogs(filter, lastEventId != null ? lastEventId : cursor);
+    }
+
+    /**
+     * ID로 로그 한 건 조회 (상세 화면용)
+     *
+     * GET /api/trace-logs-launcher/123?source=trace
+     *
+     * @param id 로그 ID
+     * @param source 요약 목록의 source 값 (launcher: trace_logs_launcher(기본값), trace: trace_logs)
+     * @return TraceLog (없으면 404)
+     */
+    @GetMapping("/{id:\\d+}")
+    public ResponseEntity<TraceLog> getLog(
+            @PathVariable long id,
+            @RequestParam(defaultValue = "launcher") String source) {
+
+        TraceLogSource traceLogSource = TraceLogSource.from(source);
+        if (traceLogSource == null) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        return ResponseEntity.of(traceLogService.getLog(traceLogSource, id));
+    }
+
+    /**
+     * Trace 로그 전문 검색 (log_payload의 문자열 값)
+     *
+     * GET /api/trace-logs-launcher/search?q=timeout&minutes=60&appName=vlmsapi&logType=error&profile=stg&limit=50&offset=0
+     *
+     * 검색어는 websearch 문법 (공백으로 나눈 단어는 모두 포함, "..."는 구문, OR는 둘 중 하나, -단어는 제외)
+     * 검색 인덱스가 있는 trace_logs를 조회하며, 결과는 관련도 순서의 목록용 요약
+     * (전체 내용은 GET /api/trace-logs-launcher/{id}?source=trace 로 조회)
+     *
+     * @param q 검색어 (최대 200자)
+     * @param minutes 최근 N분 (기본값: 60, startDate/endDate가 있으면 무시)
+     * @param startDate 시작 날짜/시간 (선택)
+     * @param endDate 종료 날짜/시간 (선택)
+     * @param appName 필터링할 appName (선택 사항)
+     * @param logType 필터링할 logType (선택 사항, 예: debug, ack, stats, error, event)
+     * @param profile 필터링할 profile (선택 사항, 예: stg, dev, stg1, r-math, r-engl)
+     * @param limit 조회할 개수 (기본값: 50, 최대: 200)
+     * @param offset 건너뛸 결과 수 (기본값: 0, 최대: 1000 - 다음 페이지는 offset + 이전 결과 수)
+     * @return 검색 응답
+     */
+    @GetMapping("/search")
+    public ResponseEntity<LogSearchResponse<TraceLogSummary>> searchLogs(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "60") int minutes,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime endDate,
+            @RequestParam(required = false) String appName,
+            @RequestParam(required = false) String logType,
+            @RequestParam(required = false) String profile,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestParam(defaultValue = "0") int offset) {
+
+        String search = q.trim();
+        if (search.isEmpty() || search.length() > MAX_SEARCH_LENGTH || minutes <= 0 || limit <= 0
+                || offset < 0 || offset > MAX_SEARCH_OFFSET) {
+            return ResponseEntity.badRequest().build();
         }
 
-        // profile 필터링 (메모리에서 필터링)
-        if (profile != null && !profile.isEmpty()) {
-            logs = traceLogService.filterByProfile(logs, profile);
+        OffsetDateTime from = startDate;
+        OffsetDateTime to = endDate;
+        if (startDate == null || endDate == null) {
+            to = OffsetDateTime.now();
+            from = to.minusMinutes(minutes);
         }
 
-        return ResponseEntity.ok(logs);
+        TraceLogFilter filter = buildFilter(from, to, appName, logType, profile, null, null,
+                Math.min(limit, MAX_SEARCH_LIMIT));
+        return ResponseEntity.ok(traceLogService.searchLogs(filter, search, offset));
+    }
+
+    private TraceLogFilter buildFilter(OffsetDateTime startDate, OffsetDateTime endDate, String appName,
+                                       String logType, String profile, LogCursor cursor, LogCursor since,
+                                       int limit) {
+        return TraceLogFilter.builder()
+                .startDate(startDate)
+                .endDate(endDate)
+                .appName(appName)
+                .logType(logType)
+                .profile(profile)
+                .cursor(cursor)
+                .since(since)
+                .limit(limit)
+                .build();
     }
 
     /**
@@ -1,23 +1,45 @@
 package com.visang.tutor.demo.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.visang.tutor.demo.dto.ActiveUsersResponse;
+import com.visang.tutor.demo.dto.LogCursor;
+import com.visang.tutor.demo.dto.TimeInterval;
+import com.visang.tutor.demo.dto.TraceLogFilter;
+import com.visang.tutor.demo.dto.TraceLogSummary;
+import com.visang.tutor.demo.dto.UserSessionResponse;
 import com.visang.tutor.demo.model.TraceLog;
+import com.visang.tutor.demo.service.ActiveUserService;
 import com.visang.tutor.demo.service.UserLogService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.time.Duration;
 import java.time.OffsetDateTime;
 import java.util.List;
 
 @RestController
 @RequestMapping("/api/user-logs")
-@CrossOrigin(origins = {"http://localhost:3000", "http://localhost:3001"})
+@CrossOrigin(origins = {"http://localhost:3000", "http://localhost:3001"}, exposedHeaders = LogCursor.NEXT_CURSOR_HEADER)
 public class UserLogController {
 
+    /** 활성 사용자 시계열의 최대 구간 수 */
+    private static final int MAX_ACTIVE_USER_BUCKETS = 1440;
+
+    /** 세션 조회 최대 구간 (한 사용자의 로그를 구간 전체에 걸쳐 읽으므로 제한) */
+    private static final Duration MAX_SESSION_RANGE = Duration.ofDays(7);
+
     @Autowired
     private UserLogService userLogService;
 
+    @Autowired
+    private ActiveUserService activeUserService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
     /**
      * 사용자 로그 조회 API
      * - 최근 시간 구간 (minutes 파라미터): 10분(기본), 20분, 30분, 1시간(60), 8시간(480), 12시간(720)
@@ -31,7 +53,9 @@ public class UserLogController {
      * @param uuid 사용자 UUID 검색어 (선택, 없으면 모든 uuid)
      * @param logType 로그 타입 필터 (선택, 없으면 모든 타입)
      * @param limit 조회 개수 (기본값: 100)
-     * @return TraceLog 리스트
+     * @param cursor 이전 응답의 X-Next-Cursor 헤더 값 (선택, 다음 페이지 조회)
+     * @param since 이미 받은 가장 최근 로그의 커서 (선택, 이 위치 이후에 추가된 로그만 조회)
+     * @return TraceLog 리스트 (다음 페이지가 있으면 X-Next-Cursor 헤더 포함)
      */
     @GetMapping
     public ResponseEntity<List<TraceLog>> getUserLogs(
@@ -40,48 +64,209 @@ public class UserLogController {
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime endDate,
             @RequestParam(required = false) String uuid,
             @RequestParam(required = false) String logType,
-            @RequestParam(defaultValue = "100") int limit
+            @RequestParam(defaultValue = "100") int limit,
+            @RequestParam(required = false) LogCursor cursor,
+            @RequestParam(required = false) LogCursor since
+    ) {
+        TraceLogFilter filter = buildFilter(minutes, startDate, endDate, uuid, logType, limit, cursor, since);
+        List<TraceLog> logs = userLogService.getUserLogs(filter);
+
+        return CursorResponses.of(logs, limit, log -> new LogCursor(log.getCreatedAt(), log.getId()));
+    }
+
+    /**
+     * 사용자 로그 조회 API - 목록용 요약 모드
+     *
+     * GET /api/user-logs?view=summary&minutes=60&uuid=abc&limit=100
+     *
+     * 파라미터는 일반 조회와 동일하며, log_payload 전체 대신 목록에 표시하는 키만 반환
+     * (전체 내용은 GET /api/user-logs/{id} 로 조회)
+     */
+    @GetMapping(params = "view=summary")
+    public ResponseEntity<List<TraceLogSummary>> getUserLogSummaries(
+            @RequestParam(required = false) Integer minutes,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime endDate,
+            @RequestParam(required = false) String uuid,
+            @RequestParam(required = false) String logType,
+            @RequestParam(defaultValue = "100") int limit,
+            @RequestParam(required = false) LogCursor cursor,
+            @RequestParam(required = false) LogCursor since
+    ) {
+        TraceLogFilter filter = buildFilter(minutes, startDate, endDate, uuid, logType, limit, cursor, since);
+        List<TraceLogSummary> logs = userLogService.getUserLogSummaries(filter);
+
+        return CursorResponses.of(logs, limit, log -> new LogCursor(log.createdAt(), log.id()));
+    }
+
+    /**
+     * ID로 사용자 로그 한 건 조회 (상세 화면용)
+     *
+     * GET /api/user-logs/123
+     *
+     * @param id 로그 ID
+     * @return TraceLog (없으면 404)
+     */
+    @GetMapping("/{id:\\d+}")
+    public ResponseEntity<TraceLog> getUserLog(@PathVariable long id) {
+        return ResponseEntity.of(userLogService.getUserLog(id));
+    }
+
+    /**
+     * 사용자 세션(이용 흐름) 조회 API
+     *
+     * GET /api/user-logs/sessions?uuid=abc&minutes=1440&gapMinutes=30
+     *
+     * 한 사용자의 로그를 비활동 시간(gapMinutes) 기준으로 세션으로 나누고,
+     * 세션마다 event(evtCd) 순서와 길이를 반환 (조회 구간은 최대 7일, 시작이 종료보다 늦으면 400)
+     *
+     * @param uuid 사용자 UUID (정확히 일치)
+     * @param minutes 최근 N분 이내의 로그 조회 (기본값: 1440)
+     * @param startDate 시작 날짜/시간 (ISO 8601 형식)
+     * @param endDate 종료 날짜/시간 (ISO 8601 형식)
+     * @param gapMinutes 세션을 나누는 비활동 시간(분, 1~1440, 기본값: 30)
+     * @return 세션 응답
+     */
+    @GetMapping("/sessions")
+    public ResponseEntity<UserSessionResponse> getUserSessions(
+            @RequestParam String uuid,
+            @RequestParam(required = false) Integer minutes,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime endDate,
+            @RequestParam(defaultValue = "30") int gapMinutes
+    ) {
+        if (uuid.isBlank() || gapMinutes < 1 || gapMinutes > 1440) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        OffsetDateTime from = startDate;
+        OffsetDateTime to = endDate;
+        boolean relativeRange = startDate == null || endDate == null;
+        if (relativeRange) {
+            to = OffsetDateTime.now();
+            from = to.minusMinutes(minutes != null ? minutes : 1440);
+        }
+        Duration range = Duration.between(from, to);
+        if (range.isNegative() || range.compareTo(MAX_SESSION_RANGE) > 0) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        return ResponseEntity.ok(userLogService.getUserSessions(uuid, from, to, gapMinutes, relativeRange));
+    }
+
+    /**
+     * 활성 사용자 수 조회 API (HyperLogLog 추정)
+     *
+     * GET /api/user-logs/active-users?minutes=10&interval=minute&appName=tutor&schlNum=1234
+     *
+     * 구간별로 활동한 서로 다른 uuid 수와 전체 구간의 서로 다른 uuid 수를 반환
+     * (적재 주기만큼 최근 로그는 아직 반영되지 않을 수 있음 - coveredUntil 참고)
+     *
+     * @param minutes 최근 N분 (기본값: 60)
+     * @param startDate 시작 날짜/시간 (ISO 8601 형식)
+     * @param endDate 종료 날짜/시간 (ISO 8601 형식)
+     * @param interval 집계 단위 (minute, hour, day, 기본값: minute)
+     * @param appName 앱 이름 (선택, all이면 전체)
+     * @param profile 프로파일 (선택, all이면 전체)
+     * @param schlNum 학교 번호 (선택)
+     * @return 활성 사용자 응답 (구간 수가 1440개를 넘으면 400)
+     */
+    @GetMapping("/active-users")
+    public ResponseEntity<ActiveUsersResponse> getActiveUsers(
+            @RequestParam(defaultValue = "60") int minutes,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime endDate,
+            @RequestParam(defaultValue = "minute") String interval,
+            @RequestParam(required = false) String appName,
+            @RequestParam(required = false) String profile,
+            @RequestParam(required = false) String schlNum
     ) {
-        List<TraceLog> logs;
-
-        // 날짜 범위 검색
-        if (startDate != null && endDate != null) {
-            if (uuid != null && !uuid.isEmpty() && logType != null && !logType.isEmpty()) {
-                // uuid + logType + 날짜 범위
-                logs = userLogService.getUserLogsByUuidAndDateRangeAndLogType(uuid, startDate, endDate, logType, limit);
-            } else if (uuid != null && !uuid.isEmpty()) {
-                // uuid + 날짜 범위
-                logs = userLogService.getUserLogsByUuidAndDateRange(uuid, startDate, endDate, limit);
-            } else if (logType != null && !logType.isEmpty()) {
-                // logType + 날짜 범위
-                logs = userLogService.getUserLogsByDateRangeAndLogType(startDate, endDate, logType, limit);
-            } else {
-                // 날짜 범위만
-                logs = userLogService.getUserLogsByDateRange(startDate, endDate, limit);
-            }
+        TimeInterval timeInterval = TimeInterval.from(interval);
+        if (timeInterval == null || minutes <= 0) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        OffsetDateTime from = startDate;
+        OffsetDateTime to = endDate;
+        if (startDate == null || endDate == null) {
+            to = OffsetDateTime.now();
+            from = to.minusMinutes(minutes);
+        }
+        Duration range = Duration.between(from, to);
+        if (range.isNegative() || range.dividedBy(timeInterval.getDuration()) > MAX_ACTIVE_USER_BUCKETS) {
+            return ResponseEntity.badRequest().build();
         }
+
+        return ResponseEntity.ok(activeUserService.getActiveUsers(from, to, timeInterval,
+                keyFilter(appName), keyFilter(profile), keyFilter(schlNum)));
+    }
+
+    /**
+     * 키 필터 값 (없거나 all이면 전체)
+     */
+    private static String keyFilter(String value) {
+        return value == null || value.isBlank() || "all".equalsIgnoreCase(value) ? null : value;
+    }
+
+    /**
+     * 사용자 로그 조회 API - NDJSON 스트리밍 모드
+     *
+     * GET /api/user-logs?format=ndjson&minutes=720&uuid=abc&limit=100000
+     *
+     * 파라미터는 일반 조회와 동일하며, 결과를 한 줄에 하나씩 TraceLog JSON으로 스트리밍
+     */
+    @GetMapping(params = "format=ndjson")
+    public ResponseEntity<StreamingResponseBody> streamUserLogs(
+            @RequestParam(required = false) Integer minutes,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime startDate,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) OffsetDateTime endDate,
+            @RequestParam(required = false) String uuid,
+            @RequestParam(required = false) String logType,
+            @RequestParam(defaultValue = "100") int limit,
+            @RequestParam(required = false) LogCursor cursor
+    ) {
+        TraceLogFilter filter = buildFilter(minutes, startDate, endDate, uuid, logType, limit, cursor, null);
+        return NdjsonResponses.<TraceLog>of(objectMapper, consumer -> userLogService.streamUserLogs(filter, consumer));
+    }
+
+    /**
+     * NDJSON 스트리밍 모드와 요약 모드를 함께 지정한 요청 (어느 쪽으로 응답할지 정할 수 없으므로 400)
+     *
+     * GET /api/user-logs?format=ndjson&view=summary&...
+     */
+    @GetMapping(params = {"format=ndjson", "view"})
+    public ResponseEntity<Void> rejectNdjsonView() {
+        return ResponseEntity.badRequest().build();
+    }
+
+    /**
+     * 사용자 로그 조회 조건 생성
+     * - 날짜 범위(startDate, endDate)가 없으면 최근 시간 구간 (minutes 기본값: 10분)
+     */
+    private TraceLogFilter buildFilter(Integer minutes, OffsetDateTime startDate, OffsetDateTime endDate,
+                                       String uuid, String logType, int limit, LogCursor cursor,
+                                       LogCursor since) {
+        OffsetDateTime from = startDate;
+        OffsetDateTime to = endDate;
+
         // 최근 시간 구간 검색
-        else {
-            // minutes 기본값: 10분
+        boolean relativeRange = startDate == null || endDate == null;
+        if (relativeRange) {
             int minutesToSearch = (minutes != null) ? minutes : 10;
-            OffsetDateTime now = OffsetDateTime.now();
-            OffsetDateTime from = now.minusMinutes(minutesToSearch);
-
-            if (uuid != null && !uuid.isEmpty() && logType != null && !logType.isEmpty()) {
-                // uuid + logType + 최근 시간
-                logs = userLogService.getUserLogsByUuidAndDateRangeAndLogType(uuid, from, now, logType, limit);
-            } else if (uuid != null && !uuid.isEmpty()) {
-                // uuid + 최근 시간
-                logs = userLogService.getUserLogsByUuidAndDateRange(uuid, from, now, limit);
-            } else if (logType != null && !logType.isEmpty()) {
-                // logType + 최근 시간
-                logs = userLogService.getUserLogsByDateRangeAndLogType(from, now, logType, limit);
-            } else {
-                // 최근 시간만
-                logs = userLogService.getUserLogsByDateRange(from, now, limit);
-            }
+            to = OffsetDateTime.now();
+            from = to.minusMinutes(minutesToSearch);
         }
 
-        return ResponseEntity.ok(logs);
+        return TraceLogFilter.builder()
+                .userLogs(true)
+                .startDate(from)
+                .endDate(to)
+                .uuid(uuid)
+                .logType(logType)
+                .cursor(cursor)
+                .since(since)
+                .limit(limit)
+                .relativeRange(relativeRange)
+                .build();
     }
 }
@@ -0,0 +1,45 @@
+package com.visang.tutor.demo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/**
+ * 활성 사용자(서로 다른 uuid) 수 시계열 응답 (HyperLogLog 추정값, 표준오차 약 2.3%)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ActiveUsersResponse {
+
+    /** 집계 단위 (minute, hour, day) */
+    private String interval;
+
+    /** 조회 구간 시작 (집계 단위로 내림) */
+    private OffsetDateTime start;
+
+    /** 조회 구간 끝 */
+    private OffsetDateTime end;
+
+    /** 이 시각 이전에 생성된 로그까지 반영됨 (아직 따라잡는 중이면 null) */
+    private OffsetDateTime coveredUntil;
+
+    /** 전체 구간에서 활동한 서로 다른 사용자 수 */
+    private long distinctUsers;
+
+    /** 구간별 사용자 수 중 최댓값 */
+    private long peakUsers;
+
+    /** 구간별 사용자 수 (사용자가 없는 구간은 0) */
+    private List<Point> points;
+
+    /**
+     * @param time 구간 시작
+     * @param users 구간에 활동한 서로 다른 사용자 수
+     */
+    public record Point(OffsetDateTime time, long users) {
+    }
+}
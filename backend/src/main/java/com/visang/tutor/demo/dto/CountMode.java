@@ -0,0 +1,38 @@
+package com.visang.tutor.demo.dto;
+
+/**
+ * 에러 로그 전체 개수(total) 계산 방식
+ */
+public enum CountMode {
+
+    /**
+     * 정확한 개수
+     * - 첫 페이지는 목록 조회에 COUNT(*) OVER()를 붙여 한 번의 조회로 계산
+     * - 계산된 값은 필터/시간 구간별로 잠시 캐시하여 다음 페이지나 새로고침에서 재사용
+     */
+    EXACT,
+
+    /**
+     * PostgreSQL 실행 계획의 예상 행 수 (근사값, 테이블을 스캔하지 않음)
+     */
+    ESTIMATE,
+
+    /**
+     * 개수를 계산하지 않음 (total = -1)
+     */
+    NONE;
+
+    /**
+     * 파라미터 문자열을 CountMode로 변환 (대소문자 구분 없음)
+     * @param value exact, estimate, none
+     * @return CountMode (알 수 없는 값이면 null)
+     */
+    public static CountMode from(String value) {
+        for (CountMode mode : values()) {
+            if (mode.name().equalsIgnoreCase(value)) {
+                return mode;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,31 @@
+package com.visang.tutor.demo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/**
+ * 학교별 에러 발생 사용자 수 응답 (HyperLogLog, 현재 구간 기준)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DistinctUsersResponse {
+
+    /** 집계 구간 시작 (스케치가 아직 없으면 null) */
+    private OffsetDateTime windowStart;
+
+    /** 학교별 결과 (schlCd를 지정하지 않으면 에러가 많은 학교 순서) */
+    private List<School> schools;
+
+    /**
+     * @param schlCd 학교 코드
+     * @param errors 에러 개수 추정 (Count-Min)
+     * @param distinctUsers 에러가 발생한 서로 다른 userId 수 추정 (HyperLogLog)
+     */
+    public record School(String schlCd, long errors, long distinctUsers) {
+    }
+}
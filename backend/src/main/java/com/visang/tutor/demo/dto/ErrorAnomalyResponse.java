@@ -0,0 +1,46 @@
+package com.visang.tutor.demo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/**
+ * 에러 급증(이상) 탐지 응답
+ * - appName/profile/errCd 조합별 분당 에러 수를 EWMA 기준선과 비교한 결과
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ErrorAnomalyResponse {
+
+    /** 마지막 탐지 시각 */
+    private OffsetDateTime evaluatedAt;
+
+    /** 기준선이 준비되었는지 여부 (시작 직후 warmup 동안은 false이고 이상을 보고하지 않음) */
+    private boolean ready;
+
+    /** 추적 중인 조합 수 */
+    private int series;
+
+    /** 진행 중인 이상 (zScore가 큰 순서) */
+    private List<Anomaly> anomalies;
+
+    /**
+     * @param appName 앱 이름
+     * @param profile 프로필
+     * @param errCd 에러 코드
+     * @param since 이상이 시작된 분
+     * @param minute 마지막으로 이상이 관측된 분
+     * @param count 그 분의 에러 수 (진행 중인 분이면 지금까지의 수)
+     * @param expected 기준선 (EWMA 평균)
+     * @param stddev 기준선 표준편차 (EWMA)
+     * @param zScore (count - expected) / stddev
+     * @param peakCount 이상 구간의 최대 분당 에러 수
+     */
+    public record Anomaly(String appName, String profile, String errCd, OffsetDateTime since, OffsetDateTime minute,
+                          long count, double expected, double stddev, double zScore, long peakCount) {
+    }
+}
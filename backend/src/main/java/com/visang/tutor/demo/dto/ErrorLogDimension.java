@@ -0,0 +1,44 @@
+package com.visang.tutor.demo.dto;
+
+/**
+ * 에러 로그 집계 기준 (GROUP BY 컬럼)
+ * - API 파라미터 이름과 refined_error_logs 컬럼을 고정된 목록으로만 매핑 (SQL에 그대로 사용)
+ */
+public enum ErrorLogDimension {
+
+    ERR_CD("errCd", "err_cd"),
+    APP_NAME("appName", "app_name"),
+    PROFILE("profile", "profile"),
+    EXCEPTION("exception", "exception"),
+    SCHL_CD("schlCd", "schl_cd");
+
+    private final String parameter;
+    private final String column;
+
+    ErrorLogDimension(String parameter, String column) {
+        this.parameter = parameter;
+        this.column = column;
+    }
+
+    public String getParameter() {
+        return parameter;
+    }
+
+    public String getColumn() {
+        return column;
+    }
+
+    /**
+     * 파라미터 문자열을 집계 기준으로 변환 (대소문자 구분 없음)
+     * @param value errCd, appName, profile, exception, schlCd
+     * @return 집계 기준 (알 수 없는 값이면 null)
+     */
+    public static ErrorLogDimension from(String value) {
+        for (ErrorLogDimension dimension : values()) {
+            if (dimension.parameter.equalsIgnoreCase(value)) {
+                return dimension;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,53 @@
+package com.visang.tutor.demo.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.OffsetDateTime;
+
+/**
+ * 에러 로그 조회 조건
+ * - null 조건은 적용하지 않음 (profile, appName의 "all"은 normalized()에서 null로 처리)
+ */
+@Getter
+@Builder(toBuilder = true)
+public class ErrorLogFilter {
+
+    /** 시작 날짜/시간 (이 시각 이후) */
+    private final OffsetDateTime startDate;
+
+    /** 종료 날짜/시간 (null인 경우 현재까지) */
+    private final OffsetDateTime endDate;
+
+    /** 프로필 */
+    private final String profile;
+
+    /** 앱 이름 */
+    private final String appName;
+
+    /** 이 위치 이후(더 오래된 로그)부터 조회 */
+    private final LogCursor cursor;
+
+    /** 이 위치 이후(더 최근 로그)만 조회 - 갱신 시 이미 받은 가장 최근 로그 이후의 변경분만 조회 */
+    private final LogCursor since;
+
+    /** 조회할 개수 */
+    private final int limit;
+
+    /** 최근 N분 조회 여부 (시작/종료 시각이 현재 시각 기준 - 캐시 키에서만 구간 단위로 내림) */
+    private final boolean relativeRange;
+
+    /**
+     * profile, appName이 all(또는 null)인 경우 조건 없음(null)으로 정규화
+     * @return 정규화된 조회 조건
+     */
+    public ErrorLogFilter normalized() {
+        String profileFilter = (profile == null || "all".equalsIgnoreCase(profile)) ? null : profile;
+        String appNameFilter = (appName == null || "all".equalsIgnoreCase(appName)) ? null : appName;
+
+        return toBuilder()
+                .profile(profileFilter)
+                .appName(appNameFilter)
+                .build();
+    }
+}
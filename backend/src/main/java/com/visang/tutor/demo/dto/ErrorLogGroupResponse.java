@@ -0,0 +1,46 @@
+package com.visang.tutor.demo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/**
+ * 에러 로그 시그니처별 묶음 응답 (view=groups)
+ * - 같은 에러가 대량으로 발생해도 시그니처당 한 행으로 반환
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ErrorLogGroupResponse {
+
+    /** 조건에 맞는 전체 에러 개수 */
+    private long total;
+
+    /** 전체 시그니처 개수 (groups는 상위 top개) */
+    private long groupCount;
+
+    /** 개수가 많은 순서의 시그니처 묶음 */
+    private List<Group> groups;
+
+    /**
+     * 시그니처 묶음 (대표 값은 가장 최근 에러 기준)
+     * @param signature 시그니처 (h:hash, 또는 m:exception/errCd/정규화된 errMsg/URL 템플릿의 md5)
+     * @param count 에러 개수
+     * @param firstSeen 처음 발생 시각
+     * @param lastSeen 마지막 발생 시각
+     * @param sampleIds 최근 에러 ID (상세는 GET /api/error-logs/{id})
+     * @param hash 해시
+     * @param exception 예외
+     * @param errCd 에러 코드
+     * @param appName 앱 이름
+     * @param errMsg 에러 메시지 앞부분 (최대 200자)
+     * @param urlTemplate 쿼리 문자열과 숫자 경로를 제거한 URL
+     */
+    public record Group(String signature, long count, OffsetDateTime firstSeen, OffsetDateTime lastSeen,
+                        List<Long> sampleIds, String hash, String exception, String errCd, String appName,
+                        String errMsg, String urlTemplate) {
+    }
+}
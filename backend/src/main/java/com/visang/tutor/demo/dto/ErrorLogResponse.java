@@ -1,16 +1,34 @@
 package com.visang.tutor.demo.dto;
 
-import com.visang.tutor.demo.model.RefinedErrorLog;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.visang.tutor.demo.model.TraceLog;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.util.List;
+import java.util.Map;
 
+/**
+ * 에러 로그 목록 응답
+ * @param <T> 목록 항목 (RefinedErrorLog 또는 요약 ErrorLogSummary)
+ */
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-public class ErrorLogResponse {
-    private List<RefinedErrorLog> logs;
+public class ErrorLogResponse<T> {
+    private List<T> logs;
+    /** 전체 개수 (count=none인 경우 -1) */
     private long total;
+    /** total이 실행 계획 기반 근사값인지 여부 (count=estimate) */
+    private boolean totalApproximate;
+    /** 다음 페이지 커서 (마지막 페이지인 경우 null) */
+    private String nextCursor;
+    /** 원본 Trace 로그 (traceLogsId → TraceLog, includeTrace=true인 경우만 포함) */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Map<Long, TraceLog> traceLogs;
+
+    public ErrorLogResponse(List<T> logs, long total, boolean totalApproximate, String nextCursor) {
+        this(logs, total, totalApproximate, nextCursor, null);
+    }
 }
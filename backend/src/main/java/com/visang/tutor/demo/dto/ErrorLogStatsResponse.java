@@ -0,0 +1,32 @@
+package com.visang.tutor.demo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 에러 로그 기준별 집계 응답 (GROUP BY 결과)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ErrorLogStatsResponse {
+
+    /** 집계 기준 (errCd, appName, profile, exception, schlCd) */
+    private String dimension;
+
+    /** 조건에 맞는 전체 에러 개수 */
+    private long total;
+
+    /** 개수가 많은 순서의 집계 결과 (상위 top개) */
+    private List<Bucket> buckets;
+
+    /**
+     * @param key 기준 값 (값이 없는 로그는 null)
+     * @param count 개수
+     */
+    public record Bucket(String key, long count) {
+    }
+}
@@ -0,0 +1,20 @@
+package com.visang.tutor.demo.dto;
+
+import java.time.OffsetDateTime;
+
+/**
+ * 에러 로그 목록용 요약 (view=summary)
+ * - err_msg는 앞부분만 포함하고 message, url 등 큰 컬럼은 제외 (전체 값은 상세 조회에서 제공)
+ * @param errMsg 에러 메시지 앞부분 (최대 200자)
+ */
+public record ErrorLogSummary(
+        long id,
+        OffsetDateTime createdAt,
+        String profile,
+        String appName,
+        String errCd,
+        String exception,
+        String userId,
+        String schlCd,
+        String errMsg) {
+}
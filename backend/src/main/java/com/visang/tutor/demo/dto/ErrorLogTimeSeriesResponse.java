@@ -0,0 +1,34 @@
+package com.visang.tutor.demo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/**
+ * 에러 로그 시간대별 집계 응답
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ErrorLogTimeSeriesResponse {
+
+    /** 집계 단위 (minute, hour, day) */
+    private String interval;
+
+    /** 함께 나눈 집계 기준 (없으면 null) */
+    private String dimension;
+
+    /** 시간 순서의 집계 결과 (개수가 0인 구간은 제외) */
+    private List<Point> points;
+
+    /**
+     * @param time 구간 시작 시각
+     * @param key 집계 기준 값 (dimension이 없으면 null)
+     * @param count 개수
+     */
+    public record Point(OffsetDateTime time, String key, long count) {
+    }
+}
@@ -0,0 +1,47 @@
+package com.visang.tutor.demo.dto;
+
+/**
+ * 로그 내보내기 파일 형식 (모두 gzip 압축)
+ */
+public enum ExportFormat {
+
+    /**
+     * CSV - 자주 쓰는 payload 키를 컬럼으로 펼치고 전체 payload는 마지막 컬럼에 JSON 그대로 포함
+     */
+    CSV("csv", "text/csv"),
+
+    /**
+     * NDJSON - 한 줄에 로그 한 건 (API 응답과 같은 형태)
+     */
+    NDJSON("ndjson", "application/x-ndjson");
+
+    private final String extension;
+    private final String contentType;
+
+    ExportFormat(String extension, String contentType) {
+        this.extension = extension;
+        this.contentType = contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    /**
+     * 파라미터 문자열을 파일 형식으로 변환 (대소문자 구분 없음)
+     * @param value csv, ndjson
+     * @return 파일 형식 (알 수 없는 값이면 null)
+     */
+    public static ExportFormat from(String value) {
+        for (ExportFormat format : values()) {
+            if (format.extension.equalsIgnoreCase(value)) {
+                return format;
+            }
+        }
+        return null;
+    }
+}
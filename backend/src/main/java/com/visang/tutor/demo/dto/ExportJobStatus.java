@@ -0,0 +1,25 @@
+package com.visang.tutor.demo.dto;
+
+import java.time.OffsetDateTime;
+
+/**
+ * 로그 내보내기 작업 상태
+ * @param id 작업 ID
+ * @param state 진행 상태
+ * @param format 파일 형식
+ * @param rows 지금까지 기록한 행 수
+ * @param maxRows 최대 행 수 (이 수에 도달하면 나머지는 내보내지 않음)
+ * @param truncated 조건에 맞는 행이 maxRows보다 많아 일부만 내보냈는지 여부
+ * @param bytes 완료된 파일 크기 (압축 후, 완료 전에는 0)
+ * @param createdAt 요청 시각
+ * @param finishedAt 종료 시각 (진행 중이면 null)
+ * @param error 실패 사유 (실패한 경우)
+ */
+public record ExportJobStatus(String id, State state, ExportFormat format, long rows, long maxRows,
+                              boolean truncated, long bytes, OffsetDateTime createdAt, OffsetDateTime finishedAt,
+                              String error) {
+
+    public enum State {
+        QUEUED, RUNNING, COMPLETED, FAILED, CANCELLED
+    }
+}
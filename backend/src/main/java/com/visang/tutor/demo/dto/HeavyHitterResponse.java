@@ -0,0 +1,37 @@
+package com.visang.tutor.demo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/**
+ * 스트리밍 스케치 상위 K개 응답 (Space-Saving, 현재 구간 기준)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HeavyHitterResponse {
+
+    /** 기준 (schlCd, userId, url, uuid) */
+    private String dimension;
+
+    /** 집계 구간 시작 (스케치가 아직 없으면 null) */
+    private OffsetDateTime windowStart;
+
+    /** 구간의 전체 개수 (값이 있는 행) */
+    private long total;
+
+    /** 개수가 많은 순서의 상위 K개 */
+    private List<Item> items;
+
+    /**
+     * @param key 값
+     * @param count 추정 개수 (실제 개수 이상)
+     * @param error 최대 과대 추정량 (count - error가 보장된 최소 개수)
+     */
+    public record Item(String key, long count, long error) {
+    }
+}
@@ -0,0 +1,59 @@
+package com.visang.tutor.demo.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 키셋(커서) 페이지네이션 위치
+ * - 정렬 기준인 (created_at, id) 값으로 다음 페이지의 시작 위치를 표현
+ * - API에서는 불투명한 토큰(base64url)으로 주고받음 (@RequestParam LogCursor 로 바로 변환 가능)
+ */
+public record LogCursor(OffsetDateTime createdAt, long id) {
+
+    /** 목록 응답에서 다음 페이지 커서를 전달하는 헤더 */
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    private static final String SEPARATOR = "|";
+
+    /**
+     * 커서를 토큰 문자열로 변환
+     * @return base64url 토큰
+     */
+    public String encode() {
+        String raw = createdAt + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 토큰 문자열을 커서로 변환 (Spring 파라미터 변환에서도 사용)
+     * @param token encode()로 만든 토큰
+     * @return 커서
+     * @throws IllegalArgumentException 토큰 형식이 올바르지 않은 경우
+     */
+    public static LogCursor valueOf(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int index = raw.lastIndexOf(SEPARATOR);
+            return new LogCursor(OffsetDateTime.parse(raw.substring(0, index)), Long.parseLong(raw.substring(index + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token, e);
+        }
+    }
+
+    /**
+     * 조회 결과로 다음 페이지 커서 토큰 생성
+     * @param items (created_at, id) 역순으로 정렬된 조회 결과
+     * @param limit 조회한 개수
+     * @param position 항목의 커서 위치
+     * @return 다음 페이지 토큰 (조회 결과가 limit보다 적어 마지막 페이지인 경우 null)
+     */
+    public static <T> String nextToken(List<T> items, int limit, Function<T, LogCursor> position) {
+        if (items.isEmpty() || items.size() < limit) {
+            return null;
+        }
+        return position.apply(items.get(items.size() - 1)).encode();
+    }
+}
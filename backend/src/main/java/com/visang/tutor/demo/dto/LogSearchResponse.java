@@ -0,0 +1,36 @@
+package com.visang.tutor.demo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * 전문 검색 응답 (관련도 순서, offset 페이지네이션)
+ * @param <T> 검색 결과 항목 (ErrorLogSummary 또는 TraceLogSummary)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LogSearchResponse<T> {
+
+    /** 검색어 */
+    private String query;
+
+    /** 이 응답의 첫 결과 위치 */
+    private int offset;
+
+    /** 다음 페이지가 있는지 여부 (다음 페이지는 offset + hits.size()부터) */
+    private boolean hasMore;
+
+    /** 검색 결과 (관련도 내림차순, 같은 관련도는 최신순) */
+    private List<Hit<T>> hits;
+
+    /**
+     * @param rank 관련도 (ts_rank_cd - 검색어가 가깝게, 많이 나올수록 큼)
+     * @param log 로그 요약 (전체 내용은 상세 조회 API로 조회)
+     */
+    public record Hit<T>(double rank, T log) {
+    }
+}
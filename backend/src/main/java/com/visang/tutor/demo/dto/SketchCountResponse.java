@@ -0,0 +1,13 @@
+package com.visang.tutor.demo.dto;
+
+import java.time.OffsetDateTime;
+
+/**
+ * 스트리밍 스케치 개수 추정 응답 (Count-Min, 현재 구간 기준)
+ * @param dimension 기준 (schlCd, userId, url, uuid)
+ * @param key 값
+ * @param windowStart 집계 구간 시작 (스케치가 아직 없으면 null)
+ * @param count 추정 개수 (실제 개수 이상)
+ */
+public record SketchCountResponse(String dimension, String key, OffsetDateTime windowStart, long count) {
+}
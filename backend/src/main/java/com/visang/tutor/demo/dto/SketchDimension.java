@@ -0,0 +1,61 @@
+package com.visang.tutor.demo.dto;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 스트리밍 스케치 상위 K개/개수 추정 기준
+ * - API 파라미터 이름과 원본 테이블, 값을 읽는 식(expression)을 고정된 목록으로만 매핑 (SQL에 그대로 사용)
+ */
+public enum SketchDimension {
+
+    SCHL_CD("schlCd", "refined_error_logs", "schl_cd"),
+    USER_ID("userId", "refined_error_logs", "user_id"),
+    /** 쿼리 문자열을 제외한 URL */
+    URL("url", "refined_error_logs", "split_part(url, '?', 1)"),
+    UUID("uuid", "trace_logs", "log_payload->>'uuid'");
+
+    private final String parameter;
+    private final String table;
+    private final String expression;
+
+    SketchDimension(String parameter, String table, String expression) {
+        this.parameter = parameter;
+        this.table = table;
+        this.expression = expression;
+    }
+
+    public String getParameter() {
+        return parameter;
+    }
+
+    public String getTable() {
+        return table;
+    }
+
+    public String getExpression() {
+        return expression;
+    }
+
+    /**
+     * 원본 테이블의 기준 목록 (선언 순서)
+     * @param table 원본 테이블
+     */
+    public static List<SketchDimension> of(String table) {
+        return Arrays.stream(values()).filter(dimension -> dimension.table.equals(table)).toList();
+    }
+
+    /**
+     * 파라미터 문자열을 기준으로 변환 (대소문자 구분 없음)
+     * @param value schlCd, userId, url, uuid
+     * @return 기준 (알 수 없는 값이면 null)
+     */
+    public static SketchDimension from(String value) {
+        for (SketchDimension dimension : values()) {
+            if (dimension.parameter.equalsIgnoreCase(value)) {
+                return dimension;
+            }
+        }
+        return null;
+    }
+}
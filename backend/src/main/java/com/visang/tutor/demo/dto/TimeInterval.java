@@ -0,0 +1,43 @@
+package com.visang.tutor.demo.dto;
+
+import java.time.Duration;
+
+/**
+ * 시간대별 집계 단위 (PostgreSQL date_trunc 단위)
+ */
+public enum TimeInterval {
+
+    MINUTE("minute", Duration.ofMinutes(1)),
+    HOUR("hour", Duration.ofHours(1)),
+    DAY("day", Duration.ofDays(1));
+
+    private final String unit;
+    private final Duration duration;
+
+    TimeInterval(String unit, Duration duration) {
+        this.unit = unit;
+        this.duration = duration;
+    }
+
+    public String getUnit() {
+        return unit;
+    }
+
+    public Duration getDuration() {
+        return duration;
+    }
+
+    /**
+     * 파라미터 문자열을 집계 단위로 변환 (대소문자 구분 없음)
+     * @param value minute, hour, day
+     * @return 집계 단위 (알 수 없는 값이면 null)
+     */
+    public static TimeInterval from(String value) {
+        for (TimeInterval interval : values()) {
+            if (interval.unit.equalsIgnoreCase(value)) {
+                return interval;
+            }
+        }
+        return null;
+    }
+}
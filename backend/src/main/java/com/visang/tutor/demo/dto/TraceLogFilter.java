@@ -0,0 +1,49 @@
+package com.visang.tutor.demo.dto;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Trace 로그 조회 조건
+ * - Trace 로그 / 사용자 로그 조회에서 공통으로 사용
+ * - null 또는 빈 값인 조건은 적용하지 않음
+ */
+@Getter
+@Builder(toBuilder = true)
+public class TraceLogFilter {
+
+    /** 시작 날짜/시간 (endDate와 함께 지정된 경우에만 적용) */
+    private final OffsetDateTime startDate;
+
+    /** 종료 날짜/시간 */
+    private final OffsetDateTime endDate;
+
+    /** 필터링할 appName */
+    private final String appName;
+
+    /** 필터링할 logType (event인 경우 evtCd 조건) */
+    private final String logType;
+
+    /** 필터링할 profile (대소문자 구분 없음) */
+    private final String profile;
+
+    /** 사용자 로그 조회 여부 (uuid가 있는 로그만 조회) */
+    private final boolean userLogs;
+
+    /** 검색할 uuid (앞부분 일치, userLogs인 경우에만 적용) */
+    private final String uuid;
+
+    /** 이 위치 이후(더 오래된 로그)부터 조회 */
+    private final LogCursor cursor;
+
+    /** 이 위치 이후(더 최근 로그)만 조회 - 갱신 시 이미 받은 가장 최근 로그 이후의 변경분만 조회 */
+    private final LogCursor since;
+
+    /** 조회할 개수 */
+    private final int limit;
+
+    /** 최근 N분 조회 여부 (시작/종료 시각이 현재 시각 기준 - 캐시 키에서만 구간 단위로 내림) */
+    private final boolean relativeRange;
+}
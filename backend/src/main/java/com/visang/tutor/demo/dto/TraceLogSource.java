@@ -0,0 +1,42 @@
+package com.visang.tutor.demo.dto;
+
+/**
+ * Trace 로그 조회 대상 테이블
+ * - 조건 없는 조회는 trace_logs_launcher, appName/logType/uuid 조건이 있는 조회는 trace_logs를 사용하므로
+ *   요약 목록에 출처를 함께 내려주고 상세 조회 시 그대로 전달받음
+ */
+public enum TraceLogSource {
+
+    LAUNCHER("launcher", "trace_logs_launcher"),
+    TRACE("trace", "trace_logs");
+
+    private final String parameter;
+    private final String table;
+
+    TraceLogSource(String parameter, String table) {
+        this.parameter = parameter;
+        this.table = table;
+    }
+
+    public String getParameter() {
+        return parameter;
+    }
+
+    public String getTable() {
+        return table;
+    }
+
+    /**
+     * 파라미터 문자열을 조회 대상으로 변환 (대소문자 구분 없음)
+     * @param value launcher, trace
+     * @return 조회 대상 (알 수 없는 값이면 null)
+     */
+    public static TraceLogSource from(String value) {
+        for (TraceLogSource source : values()) {
+            if (source.parameter.equalsIgnoreCase(value)) {
+                return source;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,24 @@
+package com.visang.tutor.demo.dto;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Trace 로그 / 사용자 로그 목록용 요약 (view=summary)
+ * - 목록 화면에 표시하는 log_payload 키만 SQL에서 추출 (전체 log_payload는 상세 조회에서 제공)
+ * @param id 로그 ID
+ * @param source 로그가 조회된 테이블 (상세 조회 시 source 파라미터로 전달)
+ * @param createdAt 생성 시간
+ */
+public record TraceLogSummary(
+        long id,
+        String source,
+        OffsetDateTime createdAt,
+        String appName,
+        String profile,
+        String logType,
+        String evtCd,
+        String uuid,
+        String schlNum,
+        String uName,
+        String uType) {
+}
@@ -0,0 +1,55 @@
+package com.visang.tutor.demo.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/**
+ * 사용자(uuid)별 세션(이용 흐름) 응답
+ * - 로그 사이 간격이 gapMinutes보다 길면 새 세션으로 나눔
+ * - 연속으로 같은 event(evtCd, appName)는 한 단계로 합치고(repeat), 세션당 단계 수는 제한 (stepsTruncated)
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserSessionResponse {
+
+    /** 사용자 UUID */
+    private String uuid;
+
+    /** 세션을 나누는 비활동 시간(분) */
+    private int gapMinutes;
+
+    /** 조회 구간의 전체 로그 수 */
+    private long logCount;
+
+    /** 시간 순서의 세션 목록 */
+    private List<Session> sessions;
+
+    /**
+     * @param start 첫 로그 시각
+     * @param end 마지막 로그 시각
+     * @param durationSeconds 세션 길이(초)
+     * @param logCount 세션의 전체 로그 수
+     * @param steps 세션의 event(evtCd) 순서
+     * @param stepsTruncated 단계가 많아 앞부분만 포함했는지 여부
+     */
+    public record Session(OffsetDateTime start, OffsetDateTime end, long durationSeconds, long logCount,
+                          List<Step> steps, boolean stepsTruncated) {
+    }
+
+    /**
+     * @param id 로그 ID (상세는 GET /api/user-logs/{id})
+     * @param time 로그 시각
+     * @param evtCd 이벤트 코드
+     * @param appName 앱 이름
+     * @param offsetSeconds 세션 시작부터 경과 시간(초)
+     * @param repeat 연속으로 같은 event가 나온 횟수 (id, time은 첫 번째 로그)
+     */
+    public record Step(long id, OffsetDateTime time, String evtCd, String appName, long offsetSeconds,
+                       int repeat) {
+    }
+}
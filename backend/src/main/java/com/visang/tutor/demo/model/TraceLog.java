@@ -24,7 +24,8 @@ public class TraceLog {
 
     @Column(name = "log_payload", columnDefinition = "jsonb")
     @JdbcTypeCode(SqlTypes.JSON)
-    private String logPayload;
+    @Convert(converter = TraceLogPayloadConverter.class)
+    private TraceLogPayload logPayload;
 
     @Column(name = "created_at")
     private OffsetDateTime createdAt;
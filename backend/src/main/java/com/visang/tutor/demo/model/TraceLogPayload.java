@@ -0,0 +1,136 @@
+package com.visang.tutor.demo.model;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonRawValue;
+import com.fasterxml.jackson.annotation.JsonValue;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Trace 로그 payload (log_payload jsonb)
+ * - 원본 JSON 문자열을 그대로 보관하고, API 응답에는 문자열로 escape하지 않고 JSON 객체로 그대로 출력 (@JsonRawValue)
+ * - 자주 쓰는 최상위 키(appName, logType, uuid, evtCd, profile, schlNum)는 처음 접근할 때 한 번만 읽어서 보관
+ *   (스트리밍 파서로 최상위 키만 읽고 중첩 객체/배열은 건너뜀, 트리를 만들지 않음)
+ */
+public final class TraceLogPayload {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private static final Set<String> FIELDS = Set.of("appName", "logType", "uuid", "evtCd", "profile", "schlNum");
+
+    private final String raw;
+
+    private volatile Map<String, String> fields;
+
+    private TraceLogPayload(String raw) {
+        this.raw = raw;
+    }
+
+    /**
+     * @param raw log_payload JSON 문자열
+     * @return payload (raw가 null이면 null)
+     */
+    public static TraceLogPayload of(String raw) {
+        return raw == null ? null : new TraceLogPayload(raw);
+    }
+
+    /**
+     * JSON 요청 본문 역직렬화 (객체 또는 JSON 문자열 모두 허용)
+     */
+    @JsonCreator
+    static TraceLogPayload fromJson(JsonNode node) {
+        if (node == null || node.isNull()) {
+            return null;
+        }
+        return of(node.isTextual() ? node.textValue() : node.toString());
+    }
+
+    /**
+     * 원본 JSON 문자열
+     */
+    @JsonValue
+    @JsonRawValue
+    public String raw() {
+        return raw;
+    }
+
+    public String appName() {
+        return field("appName");
+    }
+
+    public String logType() {
+        return field("logType");
+    }
+
+    public String uuid() {
+        return field("uuid");
+    }
+
+    public String evtCd() {
+        return field("evtCd");
+    }
+
+    public String profile() {
+        return field("profile");
+    }
+
+    public String schlNum() {
+        return field("schlNum");
+    }
+
+    private String field(String name) {
+        Map<String, String> decoded = fields;
+        if (decoded == null) {
+            decoded = decode(raw);
+            fields = decoded;
+        }
+        return decoded.get(name);
+    }
+
+    /**
+     * 최상위 키 중 FIELDS에 해당하는 스칼라 값만 읽음 (JSON 형식이 아니면 빈 값)
+     */
+    private static Map<String, String> decode(String raw) {
+        Map<String, String> result = new HashMap<>(FIELDS.size() * 2);
+        try (JsonParser parser = JSON_FACTORY.createParser(raw)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return result;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME && result.size() < FIELDS.size()) {
+                String name = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if (value.isStructStart()) {
+                    parser.skipChildren();
+                } else if (value.isScalarValue() && value != JsonToken.VALUE_NULL && FIELDS.contains(name)) {
+                    result.put(name, parser.getText());
+                }
+            }
+        } catch (IOException e) {
+            // 형식이 잘못된 payload는 원본만 그대로 전달
+        }
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof TraceLogPayload other && raw.equals(other.raw);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(raw);
+    }
+
+    @Override
+    public String toString() {
+        return raw;
+    }
+}
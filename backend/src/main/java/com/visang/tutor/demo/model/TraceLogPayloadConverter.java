@@ -0,0 +1,21 @@
+package com.visang.tutor.demo.model;
+
+import jakarta.persistence.AttributeConverter;
+import jakarta.persistence.Converter;
+
+/**
+ * TraceLogPayload <-> log_payload(jsonb) 문자열 변환
+ */
+@Converter
+public class TraceLogPayloadConverter implements AttributeConverter<TraceLogPayload, String> {
+
+    @Override
+    public String convertToDatabaseColumn(TraceLogPayload payload) {
+        return payload == null ? null : payload.raw();
+    }
+
+    @Override
+    public TraceLogPayload convertToEntityAttribute(String raw) {
+        return TraceLogPayload.of(raw);
+    }
+}
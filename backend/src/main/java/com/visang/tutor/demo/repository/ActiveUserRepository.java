@@ -0,0 +1,247 @@
+package com.visang.tutor.demo.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.BadSqlGrammarException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Types;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 활성 사용자 HyperLogLog 레지스터 적재/조회 (V4 마이그레이션)
+ * - trace_logs의 id 워터마크(log_rollup_watermarks, source = trace_logs_users) 이후 행만 읽음
+ * - 레지스터는 (bucket, appName, profile, schlNum)마다 한 행, 합치기는 서비스에서 처리
+ * - schlNum = ''인 행은 같은 (bucket, appName, profile)의 학교 전체 집계
+ * - 적재 메서드는 호출하는 쪽의 트랜잭션 안에서 lockWatermark부터 updateWatermark까지 실행
+ */
+@Repository
+public class ActiveUserRepository {
+
+    public static final String WATERMARK_SOURCE = "trace_logs_users";
+
+    /** 학교 전체 집계 행의 schlNum */
+    public static final String ALL_SCHOOLS = "";
+
+    /** findRegisters 한 번에 조회하는 키 수 (키당 바인드 파라미터 4개) */
+    private static final int KEY_CHUNK_SIZE = 1000;
+
+    /**
+     * 레지스터 테이블 (분/시간 단위)
+     */
+    public enum Granularity {
+        MINUTE("active_user_hll_minute"),
+        HOUR("active_user_hll_hour");
+
+        private final String table;
+
+        Granularity(String table) {
+            this.table = table;
+        }
+
+        public String getTable() {
+            return table;
+        }
+    }
+
+    /**
+     * 레지스터 키 (키 값이 없으면 빈 문자열)
+     */
+    public record Key(Instant bucket, String appName, String profile, String schlNum) {
+    }
+
+    /**
+     * trace_logs 한 행의 사용자 정보
+     */
+    public record UserRow(long id, OffsetDateTime createdAt, String uuid, String appName, String profile,
+                          String schlNum) {
+    }
+
+    /**
+     * 레지스터 한 행을 받는 콜백
+     */
+    @FunctionalInterface
+    public interface RegistersHandler {
+        void accept(Instant bucket, byte[] registers);
+    }
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * 워터마크 행 잠금 (다른 인스턴스가 적재 중이면 건너뜀)
+     * @return 마지막으로 반영한 id (잠그지 못했거나 테이블이 없으면 null)
+     */
+    public Long lockWatermark() {
+        try {
+            List<Long> watermark = jdbcTemplate.queryForList(
+                    "SELECT last_id FROM log_rollup_watermarks WHERE source = :source FOR UPDATE SKIP LOCKED",
+                    new MapSqlParameterSource("source", WATERMARK_SOURCE), Long.class);
+            return watermark.isEmpty() ? null : watermark.get(0);
+        } catch (BadSqlGrammarException e) {
+            // 마이그레이션(V4)이 적용되지 않은 경우
+            return null;
+        }
+    }
+
+    /**
+     * 워터마크 갱신
+     * @param lastId 마지막으로 반영한 id (null이면 그대로)
+     * @param coveredUntil 이 시각 이전에 생성된 로그는 모두 반영됨 (null이면 그대로)
+     */
+    public void updateWatermark(Long lastId, Instant coveredUntil) {
+        jdbcTemplate.update("UPDATE log_rollup_watermarks SET last_id = COALESCE(:lastId, last_id), "
+                        + "covered_until = COALESCE(:coveredUntil, covered_until), updated_at = now() "
+                        + "WHERE source = :source",
+                new MapSqlParameterSource("source", WATERMARK_SOURCE)
+                        .addValue("lastId", lastId, Types.BIGINT)
+                        .addValue("coveredUntil", coveredUntil != null ? coveredUntil.atOffset(ZoneOffset.UTC) : null,
+                                Types.TIMESTAMP_WITH_TIMEZONE));
+    }
+
+    /**
+     * 레지스터가 반영된 시각
+     * @return 반영 시각 (아직 따라잡는 중이거나 테이블이 없으면 null)
+     */
+    public Instant coveredUntil() {
+        try {
+            List<OffsetDateTime> result = jdbcTemplate.query(
+                    "SELECT covered_until FROM log_rollup_watermarks WHERE source = :source",
+                    new MapSqlParameterSource("source", WATERMARK_SOURCE),
+                    (rs, rowNum) -> rs.getObject("covered_until", OffsetDateTime.class));
+            return result.isEmpty() || result.get(0) == null ? null : result.get(0).toInstant();
+        } catch (BadSqlGrammarException e) {
+            return null;
+        }
+    }
+
+    /**
+     * afterId 이후 trace_logs 행의 사용자 정보를 id 순으로 조회 (log_payload 전체는 읽지 않음)
+     * @param afterId 이 ID 이후
+     * @param limit 조회할 개수
+     * @return UserRow 리스트 (id 오름차순)
+     */
+    public List<UserRow> findUserRowsAfterId(long afterId, int limit) {
+        return jdbcTemplate.query(
+                "SELECT id, created_at, log_payload->>'uuid' AS uuid,"
+                        + " COALESCE(log_payload->>'appName', '') AS app_name,"
+                        + " COALESCE(LOWER(log_payload->>'profile'), '') AS profile,"
+                        + " COALESCE(log_payload->>'schlNum', '') AS schl_num"
+                        + " FROM trace_logs WHERE id > :afterId ORDER BY id LIMIT :limit",
+                new MapSqlParameterSource("afterId", afterId).addValue("limit", limit),
+                (rs, rowNum) -> new UserRow(
+                        rs.getLong("id"),
+                        rs.getObject("created_at", OffsetDateTime.class),
+                        rs.getString("uuid"),
+                        rs.getString("app_name"),
+                        rs.getString("profile"),
+                        rs.getString("schl_num")));
+    }
+
+    /**
+     * 주어진 키의 기존 레지스터 조회 (적재 시 기존 값과 합치기 위함, 기본키로 조회)
+     * @param granularity 분/시간 단위
+     * @param keys 조회할 키
+     * @return 키별 레지스터 (없는 키는 포함하지 않음)
+     */
+    public Map<Key, byte[]> findRegisters(Granularity granularity, Collection<Key> keys) {
+        Map<Key, byte[]> result = new HashMap<>();
+        List<Key> list = new ArrayList<>(keys);
+        for (int start = 0; start < list.size(); start += KEY_CHUNK_SIZE) {
+            List<Object[]> tuples = list.subList(start, Math.min(start + KEY_CHUNK_SIZE, list.size())).stream()
+                    .map(key -> new Object[]{key.bucket().atOffset(ZoneOffset.UTC), key.appName(), key.profile(),
+                            key.schlNum()})
+                    .toList();
+            jdbcTemplate.query(
+                    "SELECT bucket, app_name, profile, schl_num, registers FROM " + granularity.getTable()
+                            + " WHERE (bucket, app_name, profile, schl_num) IN (:keys)",
+                    new MapSqlParameterSource("keys", tuples),
+                    rs -> {
+                        result.put(new Key(
+                                rs.getObject("bucket", OffsetDateTime.class).toInstant(),
+                                rs.getString("app_name"),
+                                rs.getString("profile"),
+                                rs.getString("schl_num")), rs.getBytes("registers"));
+                    });
+        }
+        return result;
+    }
+
+    /**
+     * 레지스터 저장 (덮어쓰기 - 기존 값과 합친 결과를 넘겨야 함)
+     * @param granularity 분/시간 단위
+     * @param registers 키별 레지스터
+     */
+    public void saveRegisters(Granularity granularity, Map<Key, byte[]> registers) {
+        SqlParameterSource[] batch = registers.entrySet().stream()
+                .map(entry -> new MapSqlParameterSource("bucket", entry.getKey().bucket().atOffset(ZoneOffset.UTC))
+                        .addValue("appName", entry.getKey().appName())
+                        .addValue("profile", entry.getKey().profile())
+                        .addValue("schlNum", entry.getKey().schlNum())
+                        .addValue("registers", entry.getValue()))
+                .toArray(SqlParameterSource[]::new);
+        jdbcTemplate.batchUpdate("INSERT INTO " + granularity.getTable()
+                + " (bucket, app_name, profile, schl_num, registers)"
+                + " VALUES (:bucket, :appName, :profile, :schlNum, :registers)"
+                + " ON CONFLICT (bucket, app_name, profile, schl_num) DO UPDATE SET registers = EXCLUDED.registers",
+                batch);
+    }
+
+    /**
+     * 보관 기간이 지난 레지스터 삭제
+     * @param granularity 분/시간 단위
+     * @param before 이 시각 이전 구간 삭제
+     * @return 삭제한 행 수
+     */
+    public int deleteBefore(Granularity granularity, Instant before) {
+        return jdbcTemplate.update("DELETE FROM " + granularity.getTable() + " WHERE bucket < :before",
+                new MapSqlParameterSource("before", before.atOffset(ZoneOffset.UTC)));
+    }
+
+    /**
+     * [from, to) 구간의 레지스터를 시간 순서로 전달 (조건에 맞는 키를 모두 포함)
+     * - schlNum이 없으면 학교 전체 집계 행만 읽음
+     * @param granularity 분/시간 단위
+     * @param from 시작 구간 (포함)
+     * @param to 종료 구간 (제외)
+     * @param appName 앱 이름 (null이면 전체)
+     * @param profile 프로파일 (소문자, null이면 전체)
+     * @param schlNum 학교 번호 (null이면 학교 전체 집계)
+     * @param handler 레지스터 콜백
+     */
+    public void streamRegisters(Granularity granularity, Instant from, Instant to, String appName, String profile,
+                                String schlNum, RegistersHandler handler) {
+        StringBuilder sql = new StringBuilder("SELECT bucket, registers FROM ").append(granularity.getTable())
+                .append(" WHERE bucket >= :from AND bucket < :to");
+        MapSqlParameterSource params = new MapSqlParameterSource("from", from.atOffset(ZoneOffset.UTC))
+                .addValue("to", to.atOffset(ZoneOffset.UTC));
+        if (appName != null) {
+            sql.append(" AND app_name = :appName");
+            params.addValue("appName", appName);
+        }
+        if (profile != null) {
+            sql.append(" AND profile = :profile");
+            params.addValue("profile", profile);
+        }
+        sql.append(" AND schl_num = :schlNum");
+        params.addValue("schlNum", schlNum != null ? schlNum : ALL_SCHOOLS);
+        sql.append(" ORDER BY bucket");
+
+        try {
+            jdbcTemplate.query(sql.toString(), params, rs -> {
+                handler.accept(rs.getObject("bucket", OffsetDateTime.class).toInstant(), rs.getBytes("registers"));
+            });
+        } catch (BadSqlGrammarException e) {
+            // 마이그레이션(V4)이 적용되지 않은 경우 - 빈 결과
+        }
+    }
+}
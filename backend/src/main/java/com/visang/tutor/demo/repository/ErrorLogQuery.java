@@ -0,0 +1,254 @@
+package com.visang.tutor.demo.repository;
+
+import com.visang.tutor.demo.dto.ErrorLogFilter;
+import com.visang.tutor.demo.dto.LogCursor;
+import com.visang.tutor.demo.model.RefinedErrorLog;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * 에러 로그 조회 조건 빌더
+ * - TraceLogQuery와 동일하게 필요한 조건만 고정된 순서로 조합 (같은 필터 조합은 같은 SQL)
+ */
+public class ErrorLogQuery {
+
+    static final String COLUMNS = "id, trace_logs_id, profile, app_name, err_cd, schl_cd, cla_id, user_id, url, hash, "
+            + "exception, err_msg, message, created_at, user_se_cd";
+
+    /** 요약 목록에 포함하는 err_msg 앞부분 길이 */
+    static final int SUMMARY_MESSAGE_LENGTH = 200;
+
+    static final String SUMMARY_COLUMNS = "id, created_at, profile, app_name, err_cd, exception, user_id, schl_cd, "
+            + "LEFT(err_msg, " + SUMMARY_MESSAGE_LENGTH + ") AS err_msg";
+
+    /**
+     * 에러 시그니처 - hash가 있으면 hash, 없으면 exception/errCd/errMsg/URL 템플릿의 md5
+     * (errMsg는 앞 500자에서 UUID와 숫자를 치환해 값만 다른 메시지를 같은 시그니처로 묶음)
+     */
+    static final String SIGNATURE = "CASE WHEN hash IS NOT NULL AND hash <> '' THEN 'h:' || hash"
+            + " ELSE 'm:' || md5(COALESCE(exception, '') || '|' || COALESCE(err_cd, '') || '|'"
+            + " || regexp_replace(regexp_replace(LEFT(COALESCE(err_msg, ''), 500),"
+            + " '[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}', '<uuid>', 'g'),"
+            + " '[0-9]+', '<n>', 'g') || '|' || " + urlTemplate("url") + ") END";
+
+    /** 전문 검색 문서 - err_msg + message (V5 GIN 인덱스와 같은 식이어야 인덱스 사용) */
+    static final String SEARCH_DOCUMENT = "to_tsvector('simple', COALESCE(err_msg, '') || ' ' || COALESCE(message, ''))";
+
+    private final List<String> conditions = new ArrayList<>();
+    private final MapSqlParameterSource params = new MapSqlParameterSource();
+
+    public static ErrorLogQuery create() {
+        return new ErrorLogQuery();
+    }
+
+    /**
+     * 조회 조건으로부터 쿼리 생성 (커서 조건 포함)
+     * @param filter 조회 조건
+     */
+    public static ErrorLogQuery from(ErrorLogFilter filter) {
+        return create()
+                .createdFrom(filter.getStartDate())
+                .createdTo(filter.getEndDate())
+                .profile(filter.getProfile())
+                .appName(filter.getAppName())
+                .before(filter.getCursor())
+                .after(filter.getSince());
+    }
+
+    /**
+     * from()과 같은 profile/appName 조건을 이미 조회한 에러 로그에 적용하는 판정 함수 (날짜/커서 조건은 제외)
+     * @param filter 정규화된 조회 조건
+     */
+    public static Predicate<RefinedErrorLog> matcher(ErrorLogFilter filter) {
+        return log -> (filter.getProfile() == null || filter.getProfile().equals(log.getProfile()))
+                && (filter.getAppName() == null || filter.getAppName().equals(log.getAppName()));
+    }
+
+    /**
+     * URL 템플릿 - 쿼리 문자열을 제거하고 숫자 경로를 {n}으로 치환
+     * @param column url 컬럼 (테이블 별칭 포함 가능)
+     */
+    static String urlTemplate(String column) {
+        return "regexp_replace(split_part(COALESCE(" + column + ", ''), '?', 1), '/[0-9]+', '/{n}', 'g')";
+    }
+
+    /**
+     * 시작 날짜/시간 조건 (이 시각 이후)
+     */
+    public ErrorLogQuery createdFrom(OffsetDateTime startDate) {
+        if (startDate != null) {
+            conditions.add("created_at >= :startDate");
+            params.addValue("startDate", startDate);
+        }
+        return this;
+    }
+
+    /**
+     * 종료 날짜/시간 조건 (이 시각 이전)
+     */
+    public ErrorLogQuery createdTo(OffsetDateTime endDate) {
+        if (endDate != null) {
+            conditions.add("created_at <= :endDate");
+            params.addValue("endDate", endDate);
+        }
+        return this;
+    }
+
+    /**
+     * 프로필 일치 조건
+     */
+    public ErrorLogQuery profile(String profile) {
+        if (profile != null) {
+            conditions.add("profile = :profile");
+            params.addValue("profile", profile);
+        }
+        return this;
+    }
+
+    /**
+     * 앱 이름 일치 조건
+     */
+    public ErrorLogQuery appName(String appName) {
+        if (appName != null) {
+            conditions.add("app_name = :appName");
+            params.addValue("appName", appName);
+        }
+        return this;
+    }
+
+    /**
+     * 전문 검색 조건 (websearch_to_tsquery 문법: 단어 AND, "구문", OR, -제외)
+     * @param search 검색어 (null이면 조건 없음)
+     */
+    public ErrorLogQuery search(String search) {
+        if (search != null) {
+            conditions.add(SEARCH_DOCUMENT + " @@ websearch_to_tsquery('simple', :search)");
+            params.addValue("search", search);
+        }
+        return this;
+    }
+
+    /**
+     * 키셋 페이지네이션 조건 - 커서 위치보다 오래된 로그
+     * @param cursor 이전 페이지의 마지막 로그 위치 (null이면 첫 페이지)
+     */
+    public ErrorLogQuery before(LogCursor cursor) {
+        if (cursor != null) {
+            conditions.add("(created_at, id) < (:cursorCreatedAt, :cursorId)");
+            params.addValue("cursorCreatedAt", cursor.createdAt());
+            params.addValue("cursorId", cursor.id());
+        }
+        return this;
+    }
+
+    /**
+     * 변경분 조회 조건 - 기준 위치보다 최근 로그 (정렬은 그대로 (created_at, id) 역순)
+     * @param since 이미 받은 가장 최근 로그 위치 (null이면 조건 없음)
+     */
+    public ErrorLogQuery after(LogCursor since) {
+        if (since != null) {
+            conditions.add("(created_at, id) > (:sinceCreatedAt, :sinceId)");
+            params.addValue("sinceCreatedAt", since.createdAt());
+            params.addValue("sinceId", since.id());
+        }
+        return this;
+    }
+
+    /**
+     * (created_at, id) 역순으로 limit 만큼 조회하는 SQL
+     */
+    String toSql(int limit) {
+        params.addValue("limit", limit);
+        return "SELECT " + COLUMNS + " FROM refined_error_logs" + where()
+                + " ORDER BY created_at DESC, id DESC LIMIT :limit";
+    }
+
+    /**
+     * 목록용 요약 컬럼만 (created_at, id) 역순으로 limit 만큼 조회하는 SQL
+     */
+    String toSummarySql(int limit) {
+        params.addValue("limit", limit);
+        return "SELECT " + SUMMARY_COLUMNS + " FROM refined_error_logs" + where()
+                + " ORDER BY created_at DESC, id DESC LIMIT :limit";
+    }
+
+    /**
+     * (created_at, id) 역순으로 limit 만큼 조회하면서 전체 개수(total_count)를 함께 계산하는 SQL
+     * - 윈도 함수는 LIMIT 전에 계산되므로 COUNT(*) OVER()는 조건에 맞는 전체 개수
+     */
+    String toSqlWithTotal(int limit) {
+        params.addValue("limit", limit);
+        return "SELECT " + COLUMNS + ", COUNT(*) OVER() AS total_count FROM refined_error_logs" + where()
+                + " ORDER BY created_at DESC, id DESC LIMIT :limit";
+    }
+
+    /**
+     * 목록용 요약 컬럼을 (created_at, id) 역순으로 limit 만큼 조회하면서 전체 개수(total_count)를 함께 계산하는 SQL
+     */
+    String toSummarySqlWithTotal(int limit) {
+        params.addValue("limit", limit);
+        return "SELECT " + SUMMARY_COLUMNS + ", COUNT(*) OVER() AS total_count FROM refined_error_logs" + where()
+                + " ORDER BY created_at DESC, id DESC LIMIT :limit";
+    }
+
+    /**
+     * 전문 검색 결과를 관련도(ts_rank_cd) 순서로 offset부터 limit 만큼 조회하는 SQL (search 조건 필요)
+     * - 같은 관련도는 (created_at, id) 역순
+     */
+    String toSearchSql(int limit, int offset) {
+        params.addValue("limit", limit);
+        params.addValue("offset", offset);
+        return "SELECT " + SUMMARY_COLUMNS + ", ts_rank_cd(" + SEARCH_DOCUMENT
+                + ", websearch_to_tsquery('simple', :search)) AS rank FROM refined_error_logs" + where()
+                + " ORDER BY rank DESC, created_at DESC, id DESC LIMIT :limit OFFSET :offset";
+    }
+
+    /**
+     * 시그니처별로 묶어 개수가 많은 순서로 top개 조회하는 SQL
+     * - 전체 개수(total)와 시그니처 개수(group_count)는 LIMIT 전에 윈도 함수로 계산
+     * - 대표 값(exception, errMsg 등)은 시그니처의 가장 최근 에러 한 건에서 조회
+     * @param top 시그니처 개수
+     * @param samples 시그니처별 최근 에러 ID 개수
+     */
+    String toGroupSql(int top, int samples) {
+        params.addValue("top", top);
+        params.addValue("samples", samples);
+        return "WITH ranked AS (SELECT id, created_at, signature,"
+                + " ROW_NUMBER() OVER (PARTITION BY signature ORDER BY created_at DESC, id DESC) AS rn"
+                + " FROM (SELECT id, created_at, " + SIGNATURE + " AS signature FROM refined_error_logs" + where() + ") s),"
+                + " grouped AS (SELECT signature, COUNT(*) AS cnt, MIN(created_at) AS first_seen, MAX(created_at) AS last_seen,"
+                + " array_agg(id ORDER BY rn) FILTER (WHERE rn <= :samples) AS sample_ids,"
+                + " SUM(COUNT(*)) OVER() AS total, COUNT(*) OVER() AS group_count"
+                + " FROM ranked GROUP BY signature ORDER BY cnt DESC, last_seen DESC LIMIT :top)"
+                + " SELECT g.*, r.hash, r.exception, r.err_cd, r.app_name,"
+                + " LEFT(r.err_msg, " + SUMMARY_MESSAGE_LENGTH + ") AS err_msg, " + urlTemplate("r.url") + " AS url_template"
+                + " FROM grouped g JOIN refined_error_logs r ON r.id = g.sample_ids[1]"
+                + " ORDER BY g.cnt DESC, g.last_seen DESC";
+    }
+
+    /**
+     * 조건에 맞는 행 수를 실행 계획으로 추정하는 SQL (실제 스캔 없음)
+     */
+    String toEstimateSql() {
+        return "EXPLAIN (FORMAT JSON) SELECT 1 FROM refined_error_logs" + where();
+    }
+
+    /**
+     * 조건에 맞는 전체 개수 SQL
+     */
+    String toCountSql() {
+        return "SELECT COUNT(*) FROM refined_error_logs" + where();
+    }
+
+    MapSqlParameterSource params() {
+        return params;
+    }
+
+    private String where() {
+        return conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions);
+    }
+}
@@ -0,0 +1,106 @@
+package com.visang.tutor.demo.repository;
+
+import com.visang.tutor.demo.dto.ErrorLogDimension;
+import com.visang.tutor.demo.dto.ErrorLogFilter;
+import com.visang.tutor.demo.dto.ErrorLogStatsResponse;
+import com.visang.tutor.demo.dto.ErrorLogTimeSeriesResponse;
+import com.visang.tutor.demo.dto.TimeInterval;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 에러 로그 집계 조회 (SQL GROUP BY)
+ * - errCd, appName, profile 기준 집계는 롤업이 반영된 구간을 롤업 테이블(error_log_counts_*)에서 조회 (RollupQuery)
+ * - 그 밖의 기준(exception, schlCd)은 원본 테이블에서 집계
+ * - 집계 기준 컬럼과 date_trunc 단위는 enum에 고정된 값만 SQL에 사용
+ */
+@Repository
+public class ErrorLogStatsRepository {
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private LogRollupRepository logRollupRepository;
+
+    /**
+     * 집계 결과
+     * @param total 조건에 맞는 전체 개수
+     * @param buckets 개수가 많은 순서의 상위 집계 결과
+     */
+    public record GroupCounts(long total, List<ErrorLogStatsResponse.Bucket> buckets) {
+    }
+
+    /**
+     * 기준별 개수 집계 (상위 top개, 전체 개수는 같은 조회에서 SUM(SUM(cnt)) OVER()로 계산)
+     * @param filter 조회 조건 (정규화된 값)
+     * @param dimension 집계 기준
+     * @param top 상위 개수
+     * @return 집계 결과
+     */
+    public GroupCounts countByDimension(ErrorLogFilter filter, ErrorLogDimension dimension, int top) {
+        RollupQuery query = query(filter).key(dimension.getColumn());
+        query.params().addValue("top", top);
+        String sql = "SELECT key AS bucket_key, SUM(cnt) AS cnt, SUM(SUM(cnt)) OVER() AS total"
+                + " FROM (" + query.toSourceSql() + ") s"
+                + " GROUP BY key ORDER BY cnt DESC, bucket_key LIMIT :top";
+
+        return jdbcTemplate.query(sql, query.params(), rs -> {
+            List<ErrorLogStatsResponse.Bucket> buckets = new ArrayList<>();
+            long total = 0;
+            while (rs.next()) {
+                buckets.add(new ErrorLogStatsResponse.Bucket(rs.getString("bucket_key"), rs.getLong("cnt")));
+                total = rs.getLong("total");
+            }
+            return new GroupCounts(total, buckets);
+        });
+    }
+
+    /**
+     * 시간대별 개수 집계
+     * - dimension이 있으면 전체 기간에서 개수가 많은 상위 top개 값만 시간대별로 나눔
+     * @param filter 조회 조건 (정규화된 값)
+     * @param interval 집계 단위
+     * @param dimension 함께 나눌 집계 기준 (null이면 시간대별 전체 개수)
+     * @param top dimension이 있을 때 포함할 상위 값 개수
+     * @return 시간 순서의 집계 결과
+     */
+    public List<ErrorLogTimeSeriesResponse.Point> countByTime(ErrorLogFilter filter, TimeInterval interval,
+                                                              ErrorLogDimension dimension, int top) {
+        RollupQuery query = query(filter).hourly(interval != TimeInterval.MINUTE);
+        String bucket = "date_trunc('" + interval.getUnit() + "', s.t)";
+        String sql;
+
+        if (dimension == null) {
+            sql = "SELECT " + bucket + " AS bucket_time, NULL AS bucket_key, SUM(s.cnt) AS cnt"
+                    + " FROM (" + query.toSourceSql() + ") s"
+                    + " GROUP BY 1 ORDER BY 1";
+        } else {
+            query.key(dimension.getColumn());
+            query.params().addValue("top", top);
+            sql = "WITH src AS (" + query.toSourceSql() + "),"
+                    + " top_keys AS (SELECT key FROM src GROUP BY key ORDER BY SUM(cnt) DESC LIMIT :top)"
+                    + " SELECT " + bucket + " AS bucket_time, s.key AS bucket_key, SUM(s.cnt) AS cnt"
+                    + " FROM src s JOIN top_keys k ON s.key IS NOT DISTINCT FROM k.key"
+                    + " GROUP BY 1, 2 ORDER BY 1, 2";
+        }
+
+        return jdbcTemplate.query(sql, query.params(), (rs, rowNum) -> new ErrorLogTimeSeriesResponse.Point(
+                rs.getObject("bucket_time", OffsetDateTime.class),
+                rs.getString("bucket_key"),
+                rs.getLong("cnt")));
+    }
+
+    private RollupQuery query(ErrorLogFilter filter) {
+        OffsetDateTime endDate = filter.getEndDate() != null ? filter.getEndDate() : OffsetDateTime.now();
+        return RollupQuery.create(RollupSource.ERROR_LOGS, filter.getStartDate(), endDate,
+                        logRollupRepository.coveredUntil(RollupSource.ERROR_LOGS))
+                .where("profile", filter.getProfile())
+                .where("app_name", filter.getAppName());
+    }
+}
@@ -0,0 +1,153 @@
+package com.visang.tutor.demo.repository;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.BadSqlGrammarException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Types;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * 분/시간 단위 개수 롤업 적재
+ * - 원본 테이블의 id 워터마크(log_rollup_watermarks.last_id) 이후 행만 읽어 롤업 테이블에 더함 (ON CONFLICT upsert)
+ * - 워터마크 행을 FOR UPDATE SKIP LOCKED로 잡으므로 여러 인스턴스가 동시에 실행해도 한 곳에서만 적재
+ */
+@Repository
+public class LogRollupRepository {
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * 한 번의 적재 결과
+     * @param rows 롤업에 반영한 행 수 (-1이면 다른 인스턴스가 적재 중이라 건너뜀)
+     * @param caughtUp 기준 시각 이전의 행을 모두 반영했는지 여부
+     */
+    public record FoldResult(long rows, boolean caughtUp) {
+    }
+
+    /**
+     * 에러 로그 분 단위 롤업 한 행 (키 값이 없으면 빈 문자열)
+     */
+    public record ErrorMinuteCount(OffsetDateTime bucket, String appName, String profile, String errCd, long count) {
+    }
+
+    private record Row(long id, OffsetDateTime createdAt) {
+    }
+
+    /**
+     * 롤업이 반영된 시각 (이 시각 이전에 생성된 로그는 모두 롤업에 반영됨)
+     * @param source 원본 테이블
+     * @return 반영 시각 (아직 따라잡는 중이거나 롤업 테이블이 없으면 null)
+     */
+    public Instant coveredUntil(RollupSource source) {
+        try {
+            List<OffsetDateTime> result = jdbcTemplate.query(
+                    "SELECT covered_until FROM log_rollup_watermarks WHERE source = :source",
+                    new MapSqlParameterSource("source", source.getTable()),
+                    (rs, rowNum) -> rs.getObject("covered_until", OffsetDateTime.class));
+            return result.isEmpty() || result.get(0) == null ? null : result.get(0).toInstant();
+        } catch (BadSqlGrammarException e) {
+            // 마이그레이션(V2)이 적용되지 않은 경우
+            return null;
+        }
+    }
+
+    /**
+     * 에러 로그 분 단위 롤업 조회 (시간 순서)
+     * @param from 시작 구간 (포함)
+     * @param to 종료 구간 (제외)
+     * @return 분 단위 개수 (롤업 테이블이 없으면 빈 리스트)
+     */
+    public List<ErrorMinuteCount> findErrorMinuteCounts(OffsetDateTime from, OffsetDateTime to) {
+        try {
+            return jdbcTemplate.query(
+                    "SELECT bucket, app_name, profile, err_cd, cnt FROM " + RollupSource.ERROR_LOGS.minuteTable()
+                            + " WHERE bucket >= :from AND bucket < :to ORDER BY bucket",
+                    new MapSqlParameterSource("from", from).addValue("to", to),
+                    (rs, rowNum) -> new ErrorMinuteCount(
+                            rs.getObject("bucket", OffsetDateTime.class),
+                            rs.getString("app_name"),
+                            rs.getString("profile"),
+                            rs.getString("err_cd"),
+                            rs.getLong("cnt")));
+        } catch (BadSqlGrammarException e) {
+            // 마이그레이션(V2)이 적용되지 않은 경우
+            return List.of();
+        }
+    }
+
+    /**
+     * 워터마크 이후 최대 batchSize개 행을 롤업에 반영
+     * - cutoff 이전에 생성된 마지막 행까지 반영 (아직 커밋되지 않은 앞 번호 id를 건너뛰지 않도록 여유를 둠)
+     * - 그 앞에 있는 cutoff 이후 시각의 행(미래 시각 등)도 함께 반영하여, 한 행 때문에 뒤의 id가 모두 막히지 않도록 함
+     *   (롤업은 covered_until 이전 구간만 읽으므로 이런 행은 covered_until을 지날 때까지 원본 테이블에서 집계됨)
+     * - 반영하지 않고 남긴 행은 모두 cutoff 이후에 생성되었으므로 covered_until을 cutoff로 올려도 누락되지 않음
+     * @param source 원본 테이블
+     * @param batchSize 한 번에 반영할 최대 행 수
+     * @param cutoff 이 시각 이전에 생성된 행만 반영
+     * @return 적재 결과
+     */
+    @Transactional
+    public FoldResult fold(RollupSource source, int batchSize, Instant cutoff) {
+        MapSqlParameterSource params = new MapSqlParameterSource("source", source.getTable());
+        List<Long> watermark = jdbcTemplate.queryForList(
+                "SELECT last_id FROM log_rollup_watermarks WHERE source = :source FOR UPDATE SKIP LOCKED",
+                params, Long.class);
+        if (watermark.isEmpty()) {
+            return new FoldResult(-1, false);
+        }
+
+        params.addValue("lastId", watermark.get(0));
+        params.addValue("batchSize", batchSize);
+        List<Row> rows = jdbcTemplate.query(
+                "SELECT id, created_at FROM " + source.getTable() + " WHERE id > :lastId ORDER BY id LIMIT :batchSize",
+                params, (rs, rowNum) -> new Row(rs.getLong("id"), rs.getObject("created_at", OffsetDateTime.class)));
+
+        int count = rows.size();
+        while (count > 0 && !rows.get(count - 1).createdAt().toInstant().isBefore(cutoff)) {
+            count--;
+        }
+        boolean caughtUp = count < rows.size() || rows.size() < batchSize;
+
+        params.addValue("maxId", count > 0 ? rows.get(count - 1).id() : null, Types.BIGINT);
+        if (count > 0) {
+            jdbcTemplate.update(upsertSql(source, source.minuteTable(), "date_trunc('minute', created_at)"), params);
+            jdbcTemplate.update(upsertSql(source, source.hourTable(),
+                    "date_trunc('hour', created_at AT TIME ZONE 'UTC') AT TIME ZONE 'UTC'"), params);
+        }
+
+        params.addValue("coveredUntil", caughtUp ? cutoff.atOffset(ZoneOffset.UTC) : null, Types.TIMESTAMP_WITH_TIMEZONE);
+        jdbcTemplate.update("UPDATE log_rollup_watermarks SET last_id = COALESCE(:maxId, last_id), "
+                + "covered_until = COALESCE(:coveredUntil, covered_until), updated_at = now() "
+                + "WHERE source = :source", params);
+        return new FoldResult(count, caughtUp);
+    }
+
+    /**
+     * (lastId, maxId] 구간 행을 bucket과 키별로 세어 롤업 테이블에 더하는 SQL
+     */
+    private static String upsertSql(RollupSource source, String table, String bucket) {
+        String columns = String.join(", ", source.keys().keySet());
+        String expressions = source.keys().values().stream()
+                .map(expression -> "COALESCE(" + expression + ", '')")
+                .collect(Collectors.joining(", "));
+        String groupBy = IntStream.rangeClosed(1, source.keys().size() + 1)
+                .mapToObj(String::valueOf)
+                .collect(Collectors.joining(", "));
+
+        return "INSERT INTO " + table + " (bucket, " + columns + ", cnt)"
+                + " SELECT " + bucket + ", " + expressions + ", COUNT(*)"
+                + " FROM " + source.getTable() + " WHERE id > :lastId AND id <= :maxId"
+                + " GROUP BY " + groupBy
+                + " ON CONFLICT (bucket, " + columns + ") DO UPDATE SET cnt = " + table + ".cnt + EXCLUDED.cnt";
+    }
+}
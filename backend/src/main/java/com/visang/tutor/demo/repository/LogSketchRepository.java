@@ -0,0 +1,114 @@
+package com.visang.tutor.demo.repository;
+
+import com.visang.tutor.demo.dto.SketchDimension;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.BadSqlGrammarException;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * 스트리밍 스케치 입력 조회와 스냅샷 저장
+ * - 스케치는 id 워터마크 이후의 새 행에서 기준 값만 읽어 갱신 (GROUP BY 전체 스캔 없음)
+ * - 스냅샷은 log_sketch_snapshots (V3 마이그레이션)
+ */
+@Repository
+public class LogSketchRepository {
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    /**
+     * 스케치 입력 한 행
+     * @param createdAt 생성 시각
+     * @param values 기준 값 (dimensions 순서)
+     */
+    public record SketchRow(long id, OffsetDateTime createdAt, String[] values) {
+    }
+
+    /**
+     * 저장된 스냅샷
+     */
+    public record Snapshot(OffsetDateTime windowStart, long lastId, byte[] data) {
+    }
+
+    /**
+     * afterId 이후 행의 기준 값을 id 순으로 조회
+     * @param table 원본 테이블
+     * @param dimensions 기준 목록 (모두 같은 테이블)
+     * @param afterId 이 ID 이후
+     * @param limit 조회할 개수
+     * @return SketchRow 리스트 (id 오름차순)
+     */
+    public List<SketchRow> findAfterId(String table, List<SketchDimension> dimensions, long afterId, int limit) {
+        String columns = dimensions.stream()
+                .map(SketchDimension::getExpression)
+                .collect(Collectors.joining(", "));
+        return jdbcTemplate.query(
+                "SELECT id, created_at, " + columns + " FROM " + table
+                        + " WHERE id > :afterId ORDER BY id LIMIT :limit",
+                new MapSqlParameterSource("afterId", afterId).addValue("limit", limit),
+                (rs, rowNum) -> {
+                    String[] values = new String[dimensions.size()];
+                    for (int i = 0; i < values.length; i++) {
+                        values[i] = rs.getString(i + 3);
+                    }
+                    return new SketchRow(rs.getLong(1), rs.getObject(2, OffsetDateTime.class), values);
+                });
+    }
+
+    /**
+     * 구간 시작 직전의 마지막 id (스냅샷이 없을 때 구간 시작부터 따라잡기 위한 워터마크)
+     * @param table 원본 테이블
+     * @param windowStart 구간 시작
+     * @return 구간 시작 이후 첫 행((created_at, id) 인덱스 순서)의 id - 1 (구간에 행이 없으면 마지막 id)
+     */
+    public long findIdBefore(String table, OffsetDateTime windowStart) {
+        Long id = jdbcTemplate.queryForObject(
+                "SELECT COALESCE((SELECT id - 1 FROM " + table + " WHERE created_at >= :windowStart"
+                        + " ORDER BY created_at, id LIMIT 1), (SELECT MAX(id) FROM " + table + "), 0)",
+                new MapSqlParameterSource("windowStart", windowStart), Long.class);
+        return id != null ? id : 0L;
+    }
+
+    /**
+     * 스냅샷 조회
+     * @param source 원본 테이블
+     * @return 스냅샷 (없거나 스냅샷 테이블이 없으면 empty)
+     */
+    public Optional<Snapshot> loadSnapshot(String source) {
+        try {
+            return jdbcTemplate.query(
+                    "SELECT window_start, last_id, data FROM log_sketch_snapshots WHERE source = :source",
+                    new MapSqlParameterSource("source", source),
+                    (rs, rowNum) -> new Snapshot(
+                            rs.getObject("window_start", OffsetDateTime.class),
+                            rs.getLong("last_id"),
+                            rs.getBytes("data"))).stream().findFirst();
+        } catch (BadSqlGrammarException e) {
+            // 마이그레이션(V3)이 적용되지 않은 경우
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * 스냅샷 저장 (덮어쓰기)
+     * @param source 원본 테이블
+     * @param snapshot 스냅샷
+     */
+    public void saveSnapshot(String source, Snapshot snapshot) {
+        jdbcTemplate.update("INSERT INTO log_sketch_snapshots (source, window_start, last_id, data, updated_at)"
+                        + " VALUES (:source, :windowStart, :lastId, :data, now())"
+                        + " ON CONFLICT (source) DO UPDATE SET window_start = EXCLUDED.window_start,"
+                        + " last_id = EXCLUDED.last_id, data = EXCLUDED.data, updated_at = EXCLUDED.updated_at",
+                new MapSqlParameterSource("source", source)
+                        .addValue("windowStart", snapshot.windowStart())
+                        .addValue("lastId", snapshot.lastId())
+                        .addValue("data", snapshot.data()));
+    }
+}
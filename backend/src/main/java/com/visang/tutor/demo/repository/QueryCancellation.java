@@ -0,0 +1,49 @@
+package com.visang.tutor.demo.repository;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 실행 중인 조회 취소 핸들
+ * - 조회를 시작하기 전에 취소하면 조회 직후 바로 취소되고, 실행 중에 취소하면 JDBC Statement.cancel()로 DB 조회를 중단
+ * - 취소된 조회는 DataAccessException으로 끝나므로 호출 측에서 isCancelled()로 구분
+ */
+public class QueryCancellation {
+
+    private final AtomicReference<Statement> statement = new AtomicReference<>();
+    private volatile boolean cancelled;
+
+    /**
+     * 조회 취소 (이미 끝난 조회는 영향 없음)
+     */
+    public void cancel() {
+        cancelled = true;
+        cancel(statement.get());
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /**
+     * 실행할 Statement 등록 (이미 취소된 경우 바로 취소)
+     */
+    void attach(Statement created) {
+        statement.set(created);
+        if (cancelled) {
+            cancel(created);
+        }
+    }
+
+    private static void cancel(Statement target) {
+        if (target == null) {
+            return;
+        }
+        try {
+            target.cancel();
+        } catch (SQLException ignored) {
+            // 이미 닫힌 Statement
+        }
+    }
+}
@@ -0,0 +1,259 @@
+package com.visang.tutor.demo.repository;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.visang.tutor.demo.dto.ErrorLogFilter;
+import com.visang.tutor.demo.dto.ErrorLogGroupResponse;
+import com.visang.tutor.demo.dto.ErrorLogSummary;
+import com.visang.tutor.demo.dto.LogSearchResponse;
+import com.visang.tutor.demo.model.RefinedErrorLog;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * 에러 로그 조회 엔진
+ * - ErrorLogFilter 하나로 날짜/profile/appName 조합을 처리
+ * - (created_at, id) 키셋 페이지네이션 지원 (OFFSET 없이 커서 이후만 조회)
+ * - RowMapper로 바로 객체를 만들므로 JPA 영속성 컨텍스트(1차 캐시, dirty checking 스냅샷)에 올라가지 않음
+ */
+@Repository
+public class RefinedErrorLogQueryRepository {
+
+    static final RowMapper<RefinedErrorLog> ROW_MAPPER = (rs, rowNum) -> {
+        RefinedErrorLog log = new RefinedErrorLog();
+        log.setId(rs.getLong("id"));
+        log.setTraceLogsId(rs.getObject("trace_logs_id", Long.class));
+        log.setProfile(rs.getString("profile"));
+        log.setAppName(rs.getString("app_name"));
+        log.setErrCd(rs.getString("err_cd"));
+        log.setSchlCd(rs.getString("schl_cd"));
+        log.setClaId(rs.getString("cla_id"));
+        log.setUserId(rs.getString("user_id"));
+        log.setUrl(rs.getString("url"));
+        log.setHash(rs.getString("hash"));
+        log.setException(rs.getString("exception"));
+        log.setErrMsg(rs.getString("err_msg"));
+        log.setMessage(rs.getString("message"));
+        log.setCreatedAt(rs.getObject("created_at", OffsetDateTime.class));
+        log.setUserSeCd(rs.getString("user_se_cd"));
+        return log;
+    };
+
+    static final RowMapper<ErrorLogSummary> SUMMARY_ROW_MAPPER = (rs, rowNum) -> new ErrorLogSummary(
+            rs.getLong("id"),
+            rs.getObject("created_at", OffsetDateTime.class),
+            rs.getString("profile"),
+            rs.getString("app_name"),
+            rs.getString("err_cd"),
+            rs.getString("exception"),
+            rs.getString("user_id"),
+            rs.getString("schl_cd"),
+            rs.getString("err_msg"));
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * 목록과 전체 개수
+     * @param logs 조회된 에러 로그 (RefinedErrorLog 또는 요약 ErrorLogSummary)
+     * @param total 조건에 맞는 전체 개수
+     */
+    public record LogsWithTotal<T>(List<T> logs, long total) {
+    }
+
+    /**
+     * 에러 로그 한 건의 집계 기준 컬럼
+     */
+    public record ErrorKeyRow(long id, OffsetDateTime createdAt, String appName, String profile, String errCd) {
+    }
+
+    /**
+     * 조건에 맞는 에러 로그를 (created_at, id) 역순으로 조회
+     * @param filter 조회 조건 (limit 포함)
+     * @return RefinedErrorLog 리스트
+     */
+    public List<RefinedErrorLog> find(ErrorLogFilter filter) {
+        ErrorLogQuery query = ErrorLogQuery.from(filter);
+        return jdbcTemplate.query(query.toSql(filter.getLimit()), query.params(), ROW_MAPPER);
+    }
+
+    /**
+     * 조건에 맞는 에러 로그의 목록용 요약을 (created_at, id) 역순으로 조회
+     * @param filter 조회 조건 (limit 포함)
+     * @return ErrorLogSummary 리스트
+     */
+    public List<ErrorLogSummary> findSummaries(ErrorLogFilter filter) {
+        ErrorLogQuery query = ErrorLogQuery.from(filter);
+        return jdbcTemplate.query(query.toSummarySql(filter.getLimit()), query.params(), SUMMARY_ROW_MAPPER);
+    }
+
+    /**
+     * ID로 에러 로그 한 건 조회
+     * @param id 에러 로그 ID
+     * @return RefinedErrorLog (없으면 empty)
+     */
+    public Optional<RefinedErrorLog> findById(long id) {
+        List<RefinedErrorLog> logs = jdbcTemplate.query(
+                "SELECT " + ErrorLogQuery.COLUMNS + " FROM refined_error_logs WHERE id = :id",
+                new MapSqlParameterSource("id", id), ROW_MAPPER);
+        return logs.stream().findFirst();
+    }
+
+    /**
+     * 마지막 에러 로그 ID
+     * @return 마지막 ID (로그가 없으면 0)
+     */
+    public long findMaxId() {
+        Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM refined_error_logs",
+                new MapSqlParameterSource(), Long.class);
+        return maxId != null ? maxId : 0L;
+    }
+
+    /**
+     * afterId 이후에 추가된 에러 로그를 id 순으로 조회 (실시간 tail 폴링용)
+     * @param afterId 이 ID 이후
+     * @param limit 조회할 개수
+     * @return RefinedErrorLog 리스트 (id 오름차순)
+     */
+    public List<RefinedErrorLog> findAfterId(long afterId, int limit) {
+        return jdbcTemplate.query(
+                "SELECT " + ErrorLogQuery.COLUMNS + " FROM refined_error_logs WHERE id > :afterId ORDER BY id LIMIT :limit",
+                new MapSqlParameterSource("afterId", afterId).addValue("limit", limit), ROW_MAPPER);
+    }
+
+    /**
+     * afterId 이후에 추가된 에러 로그의 집계 기준 컬럼만 id 순으로 조회 (이상 탐지용)
+     * @param afterId 이 ID 이후
+     * @param limit 조회할 개수
+     * @return ErrorKeyRow 리스트 (id 오름차순)
+     */
+    public List<ErrorKeyRow> findKeysAfterId(long afterId, int limit) {
+        return jdbcTemplate.query(
+                "SELECT id, created_at, app_name, profile, err_cd FROM refined_error_logs"
+                        + " WHERE id > :afterId ORDER BY id LIMIT :limit",
+                new MapSqlParameterSource("afterId", afterId).addValue("limit", limit),
+                (rs, rowNum) -> new ErrorKeyRow(
+                        rs.getLong("id"),
+                        rs.getObject("created_at", OffsetDateTime.class),
+                        rs.getString("app_name"),
+                        rs.getString("profile"),
+                        rs.getString("err_cd")));
+    }
+
+    /**
+     * 조건에 맞는 에러 로그 전체 개수 조회 (커서/since 조건은 제외)
+     * @param filter 조회 조건
+     * @return 전체 개수
+     */
+    public long count(ErrorLogFilter filter) {
+        ErrorLogQuery query = ErrorLogQuery.from(filter.toBuilder().cursor(null).since(null).build());
+        Long count = jdbcTemplate.queryForObject(query.toCountSql(), query.params(), Long.class);
+        return count != null ? count : 0L;
+    }
+
+    /**
+     * 조건에 맞는 에러 로그를 전문 검색 (err_msg + message, 커서/since 조건은 제외)
+     * @param filter 조회 조건 (limit 포함)
+     * @param search 검색어 (websearch_to_tsquery 문법)
+     * @param offset 건너뛸 결과 수
+     * @return 관련도 순서의 검색 결과 (최대 limit개)
+     */
+    public List<LogSearchResponse.Hit<ErrorLogSummary>> search(ErrorLogFilter filter, String search, int offset) {
+        ErrorLogQuery query = ErrorLogQuery.from(filter.toBuilder().cursor(null).since(null).build()).search(search);
+        return jdbcTemplate.query(query.toSearchSql(filter.getLimit(), offset), query.params(),
+                (rs, rowNum) -> new LogSearchResponse.Hit<>(rs.getDouble("rank"), SUMMARY_ROW_MAPPER.mapRow(rs, rowNum)));
+    }
+
+    /**
+     * 조건에 맞는 에러 로그를 시그니처별로 묶어 조회 (GROUP BY, 커서/since 조건은 제외)
+     * @param filter 조회 조건
+     * @param top 시그니처 개수
+     * @param samples 시그니처별 최근 에러 ID 개수
+     * @return 시그니처 묶음 응답
+     */
+    public ErrorLogGroupResponse findGroups(ErrorLogFilter filter, int top, int samples) {
+        ErrorLogQuery query = ErrorLogQuery.from(filter.toBuilder().cursor(null).since(null).build());
+        return jdbcTemplate.query(query.toGroupSql(top, samples), query.params(), rs -> {
+            List<ErrorLogGroupResponse.Group> groups = new ArrayList<>();
+            long total = 0;
+            long groupCount = 0;
+            while (rs.next()) {
+                groups.add(new ErrorLogGroupResponse.Group(
+                        rs.getString("signature"),
+                        rs.getLong("cnt"),
+                        rs.getObject("first_seen", OffsetDateTime.class),
+                        rs.getObject("last_seen", OffsetDateTime.class),
+                        Arrays.asList((Long[]) rs.getArray("sample_ids").getArray()),
+                        rs.getString("hash"),
+                        rs.getString("exception"),
+                        rs.getString("err_cd"),
+                        rs.getString("app_name"),
+                        rs.getString("err_msg"),
+                        rs.getString("url_template")));
+                total = rs.getLong("total");
+                groupCount = rs.getLong("group_count");
+            }
+            return new ErrorLogGroupResponse(total, groupCount, groups);
+        });
+    }
+
+    /**
+     * 조건에 맞는 에러 로그 조회와 전체 개수 계산을 한 번의 조회로 처리 (COUNT(*) OVER())
+     * - 조회 결과가 없으면 전체 개수는 0 (커서 조건이 있으면 커서 이후의 개수)
+     * @param filter 조회 조건 (limit 포함)
+     * @return 목록과 전체 개수
+     */
+    public LogsWithTotal<RefinedErrorLog> findWithTotal(ErrorLogFilter filter) {
+        ErrorLogQuery query = ErrorLogQuery.from(filter);
+        return queryWithTotal(query.toSqlWithTotal(filter.getLimit()), query, ROW_MAPPER);
+    }
+
+    /**
+     * 조건에 맞는 에러 로그의 목록용 요약 조회와 전체 개수 계산을 한 번의 조회로 처리 (COUNT(*) OVER())
+     * @param filter 조회 조건 (limit 포함)
+     * @return 요약 목록과 전체 개수
+     */
+    public LogsWithTotal<ErrorLogSummary> findSummariesWithTotal(ErrorLogFilter filter) {
+        ErrorLogQuery query = ErrorLogQuery.from(filter);
+        return queryWithTotal(query.toSummarySqlWithTotal(filter.getLimit()), query, SUMMARY_ROW_MAPPER);
+    }
+
+    private <T> LogsWithTotal<T> queryWithTotal(String sql, ErrorLogQuery query, RowMapper<T> rowMapper) {
+        return jdbcTemplate.query(sql, query.params(), rs -> {
+            List<T> logs = new ArrayList<>();
+            long total = 0;
+            while (rs.next()) {
+                logs.add(rowMapper.mapRow(rs, logs.size()));
+                total = rs.getLong("total_count");
+            }
+            return new LogsWithTotal<>(logs, total);
+        });
+    }
+
+    /**
+     * 조건에 맞는 에러 로그 개수를 실행 계획의 예상 행 수로 추정 (커서 조건은 제외)
+     * @param filter 조회 조건
+     * @return 예상 개수
+     */
+    public long estimateCount(ErrorLogFilter filter) {
+        ErrorLogQuery query = ErrorLogQuery.from(filter.toBuilder().cursor(null).since(null).build());
+        String plan = jdbcTemplate.queryForObject(query.toEstimateSql(), query.params(), String.class);
+        try {
+            return objectMapper.readTree(plan).path(0).path("Plan").path("Plan Rows").asLong();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unexpected EXPLAIN output", e);
+        }
+    }
+}
@@ -1,84 +1,17 @@
 package com.visang.tutor.demo.repository;
 
 import com.visang.tutor.demo.model.RefinedErrorLog;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Query;
-import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.time.OffsetDateTime;
-import java.util.List;
-
+/**
+ * RefinedErrorLog 엔티티 저장소
+ * - 이 애플리케이션은 로그를 쓰지 않으므로 모든 메서드를 읽기 전용 트랜잭션으로 실행
+ *   (Hibernate 세션이 read-only/flush 없음으로 동작하여 dirty checking 스냅샷을 만들지 않음)
+ * - 필터 조건 조회는 RefinedErrorLogQueryRepository(ErrorLogFilter 기반 조회 엔진)에서 처리
+ */
 @Repository
+@Transactional(readOnly = true)
 public interface RefinedErrorLogRepository extends JpaRepository<RefinedErrorLog, Long> {
-
-    /**
-     * 필터 조건에 따른 에러 로그 조회
-     * @param startDate 시작 날짜/시간
-     * @param endDate 종료 날짜/시간
-     * @param profile 프로필 (null인 경우 전체)
-     * @param appName 앱 이름 (null인 경우 전체)
-     * @param pageable 페이징 정보
-     * @return RefinedErrorLog 리스트
-     */
-    @Query("SELECT r FROM RefinedErrorLog r WHERE " +
-           "r.createdAt >= :startDate AND r.createdAt <= :endDate " +
-           "AND (:profile IS NULL OR r.profile = :profile) " +
-           "AND (:appName IS NULL OR r.appName = :appName) " +
-           "ORDER BY r.createdAt DESC")
-    List<RefinedErrorLog> findByFilters(
-            @Param("startDate") OffsetDateTime startDate,
-            @Param("endDate") OffsetDateTime endDate,
-            @Param("profile") String profile,
-            @Param("appName") String appName,
-            Pageable pageable
-    );
-
-    /**
-     * 최근 시간 기준으로 에러 로그 조회
-     * @param minutes 최근 n분
-     * @param profile 프로필 (null인 경우 전체)
-     * @param appName 앱 이름 (null인 경우 전체)
-     * @param pageable 페이징 정보
-     * @return RefinedErrorLog 리스트
-     */
-    @Query("SELECT r FROM RefinedErrorLog r WHERE " +
-           "r.createdAt >= :startTime " +
-           "AND (:profile IS NULL OR r.profile = :profile) " +
-           "AND (:appName IS NULL OR r.appName = :appName) " +
-           "ORDER BY r.createdAt DESC")
-    List<RefinedErrorLog> findRecentByFilters(
-            @Param("startTime") OffsetDateTime startTime,
-            @Param("profile") String profile,
-            @Param("appName") String appName,
-            Pageable pageable
-    );
-
-    /**
-     * 필터 조건에 따른 에러 로그 전체 개수 조회
-     */
-    @Query("SELECT COUNT(r) FROM RefinedErrorLog r WHERE " +
-           "r.createdAt >= :startDate AND r.createdAt <= :endDate " +
-           "AND (:profile IS NULL OR r.profile = :profile) " +
-           "AND (:appName IS NULL OR r.appName = :appName)")
-    long countByFilters(
-            @Param("startDate") OffsetDateTime startDate,
-            @Param("endDate") OffsetDateTime endDate,
-            @Param("profile") String profile,
-            @Param("appName") String appName
-    );
-
-    /**
-     * 최근 시간 기준으로 에러 로그 전체 개수 조회
-     */
-    @Query("SELECT COUNT(r) FROM RefinedErrorLog r WHERE " +
-           "r.createdAt >= :startTime " +
-           "AND (:profile IS NULL OR r.profile = :profile) " +
-           "AND (:appName IS NULL OR r.appName = :appName)")
-    long countRecentByFilters(
-            @Param("startTime") OffsetDateTime startTime,
-            @Param("profile") String profile,
-            @Param("appName") String appName
-    );
 }
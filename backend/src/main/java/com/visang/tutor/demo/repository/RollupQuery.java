@@ -0,0 +1,181 @@
+package com.visang.tutor.demo.repository;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 롤업 테이블과 원본 테이블을 함께 사용하는 개수 집계 조건 빌더
+ * - 조회 구간 [startDate, endDate]를 아래와 같이 나누어 UNION ALL로 합침
+ *   - 롤업이 반영된 구간(covered_until 이전)의 온전한 시간(hour) -> *_hour
+ *   - 롤업이 반영된 구간의 나머지 온전한 분(minute) -> *_minute
+ *   - 앞뒤의 분 단위로 떨어지지 않는 부분과 롤업이 아직 반영되지 않은 최근 구간 -> 원본 테이블
+ * - 각 부분은 (t, key, cnt) 행을 만들고 호출 측에서 SUM(cnt)로 집계하므로 결과는 원본 테이블 COUNT와 같음
+ * - 집계 기준이나 조건 중 롤업 키가 아닌 컬럼이 있으면 전체 구간을 원본 테이블에서 조회
+ */
+public class RollupQuery {
+
+    private final RollupSource source;
+    private final OffsetDateTime startDate;
+    private final OffsetDateTime endDate;
+    private final Instant coveredUntil;
+    private final Map<String, String> filters = new LinkedHashMap<>();
+    private final MapSqlParameterSource params = new MapSqlParameterSource();
+    private String keyColumn;
+    private boolean hourly = true;
+
+    private RollupQuery(RollupSource source, OffsetDateTime startDate, OffsetDateTime endDate, Instant coveredUntil) {
+        this.source = source;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.coveredUntil = coveredUntil;
+    }
+
+    /**
+     * @param source 원본 테이블
+     * @param startDate 시작 날짜/시간 (포함)
+     * @param endDate 종료 날짜/시간 (포함)
+     * @param coveredUntil 롤업이 반영된 시각 (null이면 원본 테이블만 사용)
+     */
+    public static RollupQuery create(RollupSource source, OffsetDateTime startDate, OffsetDateTime endDate,
+                                     Instant coveredUntil) {
+        return new RollupQuery(source, startDate, endDate, coveredUntil);
+    }
+
+    /**
+     * 집계 기준 컬럼 (호출하지 않으면 key는 NULL)
+     * @param column 롤업 키 컬럼 또는 원본 테이블 컬럼
+     */
+    public RollupQuery key(String column) {
+        this.keyColumn = column;
+        return this;
+    }
+
+    /**
+     * 컬럼 일치 조건 (null 값은 무시)
+     * @param column 롤업 키 컬럼 또는 원본 테이블 컬럼
+     * @param value 비교할 값
+     */
+    public RollupQuery where(String column, String value) {
+        if (value != null) {
+            filters.put(column, value);
+            params.addValue("f_" + column, value);
+        }
+        return this;
+    }
+
+    /**
+     * 시간(hour) 롤업 사용 여부 (분 단위 시계열은 시간 롤업으로 나눌 수 없으므로 false)
+     */
+    public RollupQuery hourly(boolean hourly) {
+        this.hourly = hourly;
+        return this;
+    }
+
+    /**
+     * (t, key, cnt) 행을 만드는 UNION ALL SQL
+     */
+    String toSourceSql() {
+        List<String> parts = new ArrayList<>();
+        Instant start = startDate.toInstant();
+        Instant end = endDate.toInstant();
+
+        Instant minuteStart = ceil(start, ChronoUnit.MINUTES);
+        Instant minuteEnd = usesRollup()
+                ? floor(end.isBefore(coveredUntil) ? end : coveredUntil, ChronoUnit.MINUTES)
+                : minuteStart;
+
+        if (!minuteStart.isBefore(minuteEnd)) {
+            parts.add(raw(parts.size(), start, end));
+            return String.join(" UNION ALL ", parts);
+        }
+
+        if (start.isBefore(minuteStart)) {
+            parts.add(raw(parts.size(), start, minuteStart));
+        }
+
+        Instant hourStart = ceil(minuteStart, ChronoUnit.HOURS);
+        Instant hourEnd = floor(minuteEnd, ChronoUnit.HOURS);
+        if (hourly && hourStart.isBefore(hourEnd)) {
+            if (minuteStart.isBefore(hourStart)) {
+                parts.add(rollup(parts.size(), source.minuteTable(), minuteStart, hourStart));
+            }
+            parts.add(rollup(parts.size(), source.hourTable(), hourStart, hourEnd));
+            if (hourEnd.isBefore(minuteEnd)) {
+                parts.add(rollup(parts.size(), source.minuteTable(), hourEnd, minuteEnd));
+            }
+        } else {
+            parts.add(rollup(parts.size(), source.minuteTable(), minuteStart, minuteEnd));
+        }
+
+        parts.add(raw(parts.size(), minuteEnd, end));
+        return String.join(" UNION ALL ", parts);
+    }
+
+    MapSqlParameterSource params() {
+        return params;
+    }
+
+    private boolean usesRollup() {
+        if (coveredUntil == null || (keyColumn != null && !source.isKey(keyColumn))) {
+            return false;
+        }
+        return filters.keySet().stream().allMatch(source::isKey);
+    }
+
+    /**
+     * 원본 테이블 부분 (마지막 부분만 종료 시각 포함)
+     */
+    private String raw(int index, Instant from, Instant to) {
+        boolean last = to.equals(endDate.toInstant());
+        StringBuilder sql = new StringBuilder("SELECT created_at AS t, ")
+                .append(keyColumn == null ? "NULL::text" : rawExpression(keyColumn))
+                .append(" AS key, 1::bigint AS cnt FROM ").append(source.getTable())
+                .append(" WHERE created_at >= :from").append(index)
+                .append(" AND created_at ").append(last ? "<=" : "<").append(" :to").append(index);
+        filters.keySet().forEach(column -> sql.append(" AND ").append(rawExpression(column))
+                .append(" = :f_").append(column));
+        bindRange(index, from, to);
+        return sql.toString();
+    }
+
+    /**
+     * 롤업 테이블 부분 [from, to)
+     */
+    private String rollup(int index, String table, Instant from, Instant to) {
+        StringBuilder sql = new StringBuilder("SELECT bucket AS t, ")
+                .append(keyColumn == null ? "NULL::text" : "NULLIF(" + keyColumn + ", '')")
+                .append(" AS key, cnt FROM ").append(table)
+                .append(" WHERE bucket >= :from").append(index)
+                .append(" AND bucket < :to").append(index);
+        filters.keySet().forEach(column -> sql.append(" AND ").append(column)
+                .append(" = :f_").append(column));
+        bindRange(index, from, to);
+        return sql.toString();
+    }
+
+    private String rawExpression(String column) {
+        return source.isKey(column) ? source.keys().get(column) : column;
+    }
+
+    private void bindRange(int index, Instant from, Instant to) {
+        params.addValue("from" + index, from.atOffset(ZoneOffset.UTC));
+        params.addValue("to" + index, to.atOffset(ZoneOffset.UTC));
+    }
+
+    private static Instant floor(Instant instant, ChronoUnit unit) {
+        return instant.truncatedTo(unit);
+    }
+
+    private static Instant ceil(Instant instant, ChronoUnit unit) {
+        Instant floor = instant.truncatedTo(unit);
+        return floor.equals(instant) ? floor : floor.plus(1, unit);
+    }
+}
@@ -0,0 +1,51 @@
+package com.visang.tutor.demo.repository;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 개수 롤업 대상 원본 테이블
+ * - 롤업 키 컬럼과 원본 테이블에서 그 값을 읽는 식(expression)을 고정된 목록으로 매핑 (SQL에 그대로 사용)
+ * - 롤업 테이블은 {rollupTable}_minute, {rollupTable}_hour (V2 마이그레이션)
+ */
+public enum RollupSource {
+
+    ERROR_LOGS("refined_error_logs", "error_log_counts", Map.of(
+            "profile", "profile",
+            "app_name", "app_name",
+            "err_cd", "err_cd"));
+
+    private final String table;
+    private final String rollupTable;
+    private final Map<String, String> keys;
+
+    RollupSource(String table, String rollupTable, Map<String, String> keys) {
+        this.table = table;
+        this.rollupTable = rollupTable;
+        // 컬럼 순서를 고정하여 같은 SQL 문자열이 되도록 정렬
+        this.keys = new LinkedHashMap<>();
+        keys.keySet().stream().sorted().forEach(column -> this.keys.put(column, keys.get(column)));
+    }
+
+    /** 원본 테이블 (log_rollup_watermarks.source 값) */
+    public String getTable() {
+        return table;
+    }
+
+    String minuteTable() {
+        return rollupTable + "_minute";
+    }
+
+    String hourTable() {
+        return rollupTable + "_hour";
+    }
+
+    /** 롤업 키 컬럼 -> 원본 테이블 식 */
+    Map<String, String> keys() {
+        return keys;
+    }
+
+    boolean isKey(String column) {
+        return keys.containsKey(column);
+    }
+}
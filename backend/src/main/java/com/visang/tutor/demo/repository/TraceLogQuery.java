@@ -0,0 +1,282 @@
+package com.visang.tutor.demo.repository;
+
+import com.visang.tutor.demo.dto.LogCursor;
+import com.visang.tutor.demo.dto.TraceLogFilter;
+import com.visang.tutor.demo.dto.TraceLogSource;
+import com.visang.tutor.demo.model.TraceLog;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Trace 로그 조회 조건 빌더
+ * - 필요한 조건만 조합하여 WHERE 절을 만들고 TraceLogQueryRepository에서 실행
+ * - null 또는 빈 값으로 전달된 조건은 무시
+ * - 조건은 항상 같은 순서로 추가되고 값은 모두 바인딩 파라미터(limit 포함)이므로,
+ *   같은 필터 조합은 항상 같은 SQL 문자열이 되어 JDBC 드라이버의 prepared statement 캐시를 재사용
+ */
+public class TraceLogQuery {
+
+    static final String SUMMARY_COLUMNS = "id, created_at, "
+            + "log_payload->>'appName' AS app_name, log_payload->>'profile' AS profile, "
+            + "log_payload->>'logType' AS log_type, log_payload->>'evtCd' AS evt_cd, "
+            + "log_payload->>'uuid' AS uuid, log_payload->>'schlNum' AS schl_num, "
+            + "log_payload->>'uName' AS u_name, log_payload->>'uType' AS u_type";
+
+    /** 전문 검색 문서 - log_payload의 문자열 값 (V5 GIN 인덱스와 같은 식이어야 인덱스 사용) */
+    static final String SEARCH_DOCUMENT = "jsonb_to_tsvector('simple', log_payload, '[\"string\"]')";
+
+    private final List<String> conditions = new ArrayList<>();
+    private final MapSqlParameterSource params = new MapSqlParameterSource();
+    private boolean payloadFiltered;
+
+    public static TraceLogQuery create() {
+        return new TraceLogQuery();
+    }
+
+    /**
+     * 조회 조건으로부터 쿼리 생성
+     * - Trace 로그의 event 조회는 기존과 동일하게 appName 조건 없이 evtCd 조건만 적용
+     * - 사용자 로그는 기존과 동일하게 logType 값을 그대로 비교 (event 특수 처리 없음)
+     * @param filter 조회 조건
+     */
+    public static TraceLogQuery from(TraceLogFilter filter) {
+        TraceLogQuery query = create().createdBetween(filter.getStartDate(), filter.getEndDate());
+        if (filter.isUserLogs()) {
+            query.uuid(filter.getUuid())
+                    .appName(filter.getAppName())
+                    .logType(filter.getLogType());
+        } else if ("event".equalsIgnoreCase(filter.getLogType())) {
+            query.events();
+        } else {
+            query.appName(filter.getAppName())
+                    .logType(filter.getLogType());
+        }
+        return query.profile(filter.getProfile())
+                .before(filter.getCursor())
+                .after(filter.getSince());
+    }
+
+    /**
+     * from()과 같은 appName/logType/event/profile 조건을 이미 조회한 로그에 적용하는 판정 함수
+     * - 실시간 tail에서 공유 폴러가 읽은 로그를 구독자별 조건으로 거를 때 사용 (날짜/커서/uuid 조건은 제외)
+     * @param filter 조회 조건 (사용자 로그가 아닌 Trace 로그 조건)
+     */
+    public static Predicate<TraceLog> matcher(TraceLogFilter filter) {
+        Predicate<TraceLog> matcher = log -> log.getLogPayload() != null;
+        if ("event".equalsIgnoreCase(filter.getLogType())) {
+            matcher = matcher.and(log -> {
+                String evtCd = log.getLogPayload().evtCd();
+                return evtCd != null && evtCd.length() >= 3;
+            });
+        } else {
+            matcher = matcher.and(equalTo(filter.getAppName(), log -> log.getLogPayload().appName()))
+                    .and(equalTo(filter.getLogType(), log -> log.getLogPayload().logType()));
+        }
+        if (hasText(filter.getProfile())) {
+            matcher = matcher.and(log -> filter.getProfile().equalsIgnoreCase(log.getLogPayload().profile()));
+        }
+        return matcher;
+    }
+
+    private static Predicate<TraceLog> equalTo(String value, Function<TraceLog, String> field) {
+        return hasText(value) ? log -> value.equals(field.apply(log)) : log -> true;
+    }
+
+    /**
+     * 날짜/시간 구간 조건
+     * @param startDate 시작 날짜/시간
+     * @param endDate 종료 날짜/시간
+     */
+    public TraceLogQuery createdBetween(OffsetDateTime startDate, OffsetDateTime endDate) {
+        if (startDate != null && endDate != null) {
+            conditions.add("created_at >= :startDate AND created_at <= :endDate");
+            params.addValue("startDate", startDate);
+            params.addValue("endDate", endDate);
+        }
+        return this;
+    }
+
+    /**
+     * appName 일치 조건
+     */
+    public TraceLogQuery appName(String appName) {
+        if (hasText(appName)) {
+            conditions.add("log_payload->>'appName' = :appName");
+            params.addValue("appName", appName);
+            payloadFiltered = true;
+        }
+        return this;
+    }
+
+    /**
+     * logType 일치 조건
+     */
+    public TraceLogQuery logType(String logType) {
+        if (hasText(logType)) {
+            conditions.add("log_payload->>'logType' = :logType");
+            params.addValue("logType", logType);
+            payloadFiltered = true;
+        }
+        return this;
+    }
+
+    /**
+     * event 조건 (evtCd가 존재하고 길이가 3 이상인 로그)
+     */
+    public TraceLogQuery events() {
+        conditions.add("log_payload->>'evtCd' IS NOT NULL AND LENGTH(log_payload->>'evtCd') >= 3");
+        payloadFiltered = true;
+        return this;
+    }
+
+    /**
+     * profile 일치 조건 (대소문자 구분 없음)
+     */
+    public TraceLogQuery profile(String profile) {
+        if (hasText(profile)) {
+            conditions.add("LOWER(log_payload->>'profile') = LOWER(:profile)");
+            params.addValue("profile", profile);
+        }
+        return this;
+    }
+
+    /**
+     * uuid 조건 (값이 있으면 앞부분 일치 검색, 없으면 uuid가 있는 모든 로그)
+     * - 앞부분 일치는 LIKE 대신 text_pattern_ops 범위 조건(~>=~, ~<~)으로 처리하여
+     *   바인딩 파라미터를 쓰는 generic plan에서도 idx_trace_logs_uuid_pattern 인덱스 범위 스캔 가능
+     */
+    public TraceLogQuery uuid(String uuid) {
+        if (hasText(uuid)) {
+            String upperBound = prefixUpperBound(uuid);
+            conditions.add(upperBound != null
+                    ? "log_payload->>'uuid' ~>=~ :uuid AND log_payload->>'uuid' ~<~ :uuidUpperBound"
+                    : "log_payload->>'uuid' ~>=~ :uuid");
+            params.addValue("uuid", uuid);
+            params.addValue("uuidUpperBound", upperBound);
+        } else {
+            conditions.add("log_payload->>'uuid' IS NOT NULL");
+        }
+        payloadFiltered = true;
+        return this;
+    }
+
+    /**
+     * 키셋 페이지네이션 조건 - 커서 위치보다 오래된 로그
+     * @param cursor 이전 페이지의 마지막 로그 위치 (null이면 첫 페이지)
+     */
+    public TraceLogQuery before(LogCursor cursor) {
+        if (cursor != null) {
+            conditions.add("(created_at, id) < (:cursorCreatedAt, :cursorId)");
+            params.addValue("cursorCreatedAt", cursor.createdAt());
+            params.addValue("cursorId", cursor.id());
+        }
+        return this;
+    }
+
+    /**
+     * 변경분 조회 조건 - 기준 위치보다 최근 로그 (정렬은 그대로 (created_at, id) 역순)
+     * @param since 이미 받은 가장 최근 로그 위치 (null이면 조건 없음)
+     */
+    public TraceLogQuery after(LogCursor since) {
+        if (since != null) {
+            conditions.add("(created_at, id) > (:sinceCreatedAt, :sinceId)");
+            params.addValue("sinceCreatedAt", since.createdAt());
+            params.addValue("sinceId", since.id());
+        }
+        return this;
+    }
+
+    /**
+     * 전문 검색 조건 (websearch_to_tsquery 문법: 단어 AND, "구문", OR, -제외)
+     * - 검색 인덱스는 trace_logs에만 있으므로 조회 대상은 trace_logs
+     * @param search 검색어
+     */
+    public TraceLogQuery search(String search) {
+        if (hasText(search)) {
+            conditions.add(SEARCH_DOCUMENT + " @@ websearch_to_tsquery('simple', :search)");
+            params.addValue("search", search);
+            payloadFiltered = true;
+        }
+        return this;
+    }
+
+    /**
+     * 조회 대상 테이블
+     * - appName/logType/uuid 조건이 없는 조회는 기존 JPQL 조회와 동일하게 엔티티 테이블(trace_logs_launcher)을 사용
+     */
+    TraceLogSource source() {
+        return payloadFiltered ? TraceLogSource.TRACE : TraceLogSource.LAUNCHER;
+    }
+
+    /**
+     * (created_at, id) 역순으로 limit 만큼 조회하는 SQL
+     */
+    String toSql(int limit) {
+        return toSql("id, log_payload, created_at", limit);
+    }
+
+    /**
+     * 목록용 요약 컬럼(log_payload의 일부 키)만 (created_at, id) 역순으로 limit 만큼 조회하는 SQL
+     */
+    String toSummarySql(int limit) {
+        return toSql(SUMMARY_COLUMNS, limit);
+    }
+
+    /**
+     * 전문 검색 결과의 목록용 요약을 관련도(ts_rank_cd) 순서로 offset부터 limit 만큼 조회하는 SQL (search 조건 필요)
+     * - 같은 관련도는 (created_at, id) 역순
+     */
+    String toSearchSql(int limit, int offset) {
+        params.addValue("limit", limit);
+        params.addValue("offset", offset);
+        return "SELECT " + SUMMARY_COLUMNS + ", ts_rank_cd(" + SEARCH_DOCUMENT
+                + ", websearch_to_tsquery('simple', :search)) AS rank FROM " + source().getTable()
+                + " WHERE " + String.join(" AND ", conditions)
+                + " ORDER BY rank DESC, created_at DESC, id DESC LIMIT :limit OFFSET :offset";
+    }
+
+    private String toSql(String columns, int limit) {
+        params.addValue("limit", limit);
+
+        StringBuilder sql = new StringBuilder("SELECT ").append(columns).append(" FROM ").append(source().getTable());
+        if (!conditions.isEmpty()) {
+            sql.append(" WHERE ").append(String.join(" AND ", conditions));
+        }
+        return sql.append(" ORDER BY created_at DESC, id DESC LIMIT :limit").toString();
+    }
+
+    MapSqlParameterSource params() {
+        return params;
+    }
+
+    /**
+     * 앞부분 일치 검색의 상한값 (마지막 문자를 다음 코드 포인트로 바꾼 문자열)
+     * - prefix로 시작하는 모든 문자열 s에 대해 prefix <= s < 상한값 (바이트 순서 비교 기준)
+     * - 서로게이트 구간(U+D800~U+DFFF)은 건너뛰고, 마지막 문자가 U+10FFFF이면 그 앞 문자를 올림
+     * @return 상한값 (모든 문자가 U+10FFFF이면 null - 상한 조건 없음)
+     */
+    static String prefixUpperBound(String prefix) {
+        int end = prefix.length();
+        while (end > 0) {
+            int last = prefix.codePointBefore(end);
+            end -= Character.charCount(last);
+            if (last < Character.MAX_CODE_POINT) {
+                int next = last + 1;
+                if (next >= Character.MIN_SURROGATE && next <= Character.MAX_SURROGATE) {
+                    next = Character.MAX_SURROGATE + 1;
+                }
+                return prefix.substring(0, end) + new String(Character.toChars(next));
+            }
+        }
+        return null;
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isEmpty();
+    }
+}
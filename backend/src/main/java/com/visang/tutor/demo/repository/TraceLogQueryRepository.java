@@ -0,0 +1,247 @@
+package com.visang.tutor.demo.repository;
+
+import com.visang.tutor.demo.dto.LogSearchResponse;
+import com.visang.tutor.demo.dto.TraceLogFilter;
+import com.visang.tutor.demo.dto.TraceLogSource;
+import com.visang.tutor.demo.dto.TraceLogSummary;
+import com.visang.tutor.demo.model.TraceLog;
+import com.visang.tutor.demo.model.TraceLogPayload;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.PreparedStatementCreatorFactory;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.RowMapperResultSetExtractor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterUtils;
+import org.springframework.jdbc.core.namedparam.ParsedSql;
+import org.springframework.stereotype.Repository;
+
+import javax.sql.DataSource;
+import java.sql.PreparedStatement;
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Trace 로그 / 사용자 로그 조회 엔진
+ * - TraceLogFilter 하나로 모든 필터 조합을 처리 (필터 조합별 Repository 메서드를 두지 않음)
+ * - 모든 필터(appName, logType, uuid, profile)를 SQL 조건으로 처리하므로 limit이 그대로 지켜짐
+ * - (created_at, id) 키셋 페이지네이션 지원 (OFFSET 없이 커서 이후만 조회)
+ * - 스트리밍 조회는 List로 모으지 않고 JDBC fetch size 단위로 읽어 한 건씩 전달
+ *   (PostgreSQL은 트랜잭션(autocommit off) 안에서만 커서 fetch가 동작하므로 호출 측에서 트랜잭션을 열어야 함)
+ * - RowMapper로 바로 객체를 만들므로 JPA 영속성 컨텍스트(1차 캐시, dirty checking 스냅샷)에 올라가지 않음
+ */
+@Repository
+public class TraceLogQueryRepository {
+
+    private static final RowMapper<TraceLog> ROW_MAPPER = (rs, rowNum) -> TraceLog.builder()
+            .id(rs.getLong("id"))
+            .logPayload(TraceLogPayload.of(rs.getString("log_payload")))
+            .createdAt(rs.getObject("created_at", OffsetDateTime.class))
+            .build();
+
+    private static RowMapper<TraceLogSummary> summaryMapper(TraceLogSource source) {
+        return (rs, rowNum) -> new TraceLogSummary(
+                rs.getLong("id"),
+                source.getParameter(),
+                rs.getObject("created_at", OffsetDateTime.class),
+                rs.getString("app_name"),
+                rs.getString("profile"),
+                rs.getString("log_type"),
+                rs.getString("evt_cd"),
+                rs.getString("uuid"),
+                rs.getString("schl_num"),
+                rs.getString("u_name"),
+                rs.getString("u_type"));
+    }
+
+    /**
+     * 세션 구성용 사용자 로그 한 건 (log_payload 중 필요한 키만)
+     * @param evtCd 이벤트 코드 (event가 아니면 null)
+     */
+    public record UserEvent(long id, OffsetDateTime createdAt, String evtCd, String appName) {
+    }
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Value("${log-analysis.stream.fetch-size:1000}")
+    private int fetchSize;
+
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    void init() {
+        JdbcTemplate template = new JdbcTemplate(dataSource);
+        template.setFetchSize(fetchSize);
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(template);
+    }
+
+    /**
+     * 조건에 맞는 로그를 (created_at, id) 역순으로 조회
+     * @param filter 조회 조건 (limit 포함)
+     * @return TraceLog 리스트
+     */
+    public List<TraceLog> find(TraceLogFilter filter) {
+        TraceLogQuery query = TraceLogQuery.from(filter);
+        return jdbcTemplate.query(query.toSql(filter.getLimit()), query.params(), ROW_MAPPER);
+    }
+
+    /**
+     * 조건에 맞는 로그의 목록용 요약을 (created_at, id) 역순으로 조회
+     * @param filter 조회 조건 (limit 포함)
+     * @return TraceLogSummary 리스트
+     */
+    public List<TraceLogSummary> findSummaries(TraceLogFilter filter) {
+        TraceLogQuery query = TraceLogQuery.from(filter);
+        return jdbcTemplate.query(query.toSummarySql(filter.getLimit()), query.params(), summaryMapper(query.source()));
+    }
+
+    /**
+     * 조건에 맞는 로그를 전문 검색하여 목록용 요약으로 조회 (log_payload 문자열 값, trace_logs 대상, 커서/since 조건은 제외)
+     * @param filter 조회 조건 (limit 포함)
+     * @param search 검색어 (websearch_to_tsquery 문법)
+     * @param offset 건너뛸 결과 수
+     * @return 관련도 순서의 검색 결과 (최대 limit개)
+     */
+    public List<LogSearchResponse.Hit<TraceLogSummary>> search(TraceLogFilter filter, String search, int offset) {
+        TraceLogQuery query = TraceLogQuery.from(filter.toBuilder().cursor(null).since(null).build()).search(search);
+        RowMapper<TraceLogSummary> mapper = summaryMapper(query.source());
+        return jdbcTemplate.query(query.toSearchSql(filter.getLimit(), offset), query.params(),
+                (rs, rowNum) -> new LogSearchResponse.Hit<>(rs.getDouble("rank"), mapper.mapRow(rs, rowNum)));
+    }
+
+    /**
+     * ID로 로그 한 건 조회
+     * @param source 조회 대상 테이블
+     * @param id 로그 ID
+     * @return TraceLog (없으면 empty)
+     */
+    public Optional<TraceLog> findById(TraceLogSource source, long id) {
+        List<TraceLog> logs = jdbcTemplate.query(
+                "SELECT id, log_payload, created_at FROM " + source.getTable() + " WHERE id = :id",
+                new MapSqlParameterSource("id", id), ROW_MAPPER);
+        return logs.stream().findFirst();
+    }
+
+    /**
+     * ID 목록으로 로그를 한 번에 조회 (WHERE id = ANY(?), 목록 한 페이지의 연관 로그를 쿼리 한 번으로 조회)
+     * @param source 조회 대상 테이블
+     * @param ids 로그 ID 목록 (중복 가능)
+     * @return TraceLog 리스트 (순서 보장 없음, 없는 ID는 제외)
+     */
+    public List<TraceLog> findByIds(TraceLogSource source, Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Long[] distinctIds = ids.stream().distinct().toArray(Long[]::new);
+        return jdbcTemplate.getJdbcTemplate().query(con -> {
+            PreparedStatement ps = con.prepareStatement(
+                    "SELECT id, log_payload, created_at FROM " + source.getTable() + " WHERE id = ANY(?)");
+            ps.setArray(1, con.createArrayOf("bigint", distinctIds));
+            return ps;
+        }, ROW_MAPPER);
+    }
+
+    /**
+     * 조회 조건이 사용하는 테이블
+     * @param filter 조회 조건
+     * @return 조회 대상 테이블
+     */
+    public TraceLogSource sourceOf(TraceLogFilter filter) {
+        return TraceLogQuery.from(filter).source();
+    }
+
+    /**
+     * 테이블의 마지막 로그 ID
+     * @param source 조회 대상 테이블
+     * @return 마지막 ID (로그가 없으면 0)
+     */
+    public long findMaxId(TraceLogSource source) {
+        Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + source.getTable(),
+                new MapSqlParameterSource(), Long.class);
+        return maxId != null ? maxId : 0L;
+    }
+
+    /**
+     * afterId 이후에 추가된 로그를 id 순으로 조회 (실시간 tail 폴링용)
+     * @param source 조회 대상 테이블
+     * @param afterId 이 ID 이후
+     * @param limit 조회할 개수
+     * @return TraceLog 리스트 (id 오름차순)
+     */
+    public List<TraceLog> findAfterId(TraceLogSource source, long afterId, int limit) {
+        return jdbcTemplate.query(
+                "SELECT id, log_payload, created_at FROM " + source.getTable()
+                        + " WHERE id > :afterId ORDER BY id LIMIT :limit",
+                new MapSqlParameterSource("afterId", afterId).addValue("limit", limit), ROW_MAPPER);
+    }
+
+    /**
+     * 조건에 맞는 로그를 (created_at, id) 역순으로 스트리밍 조회 (다른 스레드에서 취소 가능)
+     * - 트랜잭션 안에서 호출하면 fetch size 단위로 나누어 읽으므로, consumer가 예외로 중단하면 남은 행은 읽지 않음
+     * @param filter 조회 조건 (limit 포함)
+     * @param cancellation 취소 핸들
+     * @param consumer 한 건씩 전달받을 consumer
+     */
+    public void stream(TraceLogFilter filter, QueryCancellation cancellation, Consumer<TraceLog> consumer) {
+        TraceLogQuery query = TraceLogQuery.from(filter);
+        String sql = query.toSql(filter.getLimit());
+
+        ParsedSql parsedSql = NamedParameterUtils.parseSqlStatement(sql);
+        PreparedStatementCreatorFactory factory = new PreparedStatementCreatorFactory(
+                NamedParameterUtils.substituteNamedParameters(parsedSql, query.params()),
+                NamedParameterUtils.buildSqlParameterList(parsedSql, query.params()));
+        PreparedStatementCreator creator = factory.newPreparedStatementCreator(
+                NamedParameterUtils.buildValueArray(parsedSql, query.params(), null));
+
+        jdbcTemplate.getJdbcTemplate().query(connection -> {
+            PreparedStatement statement = creator.createPreparedStatement(connection);
+            cancellation.attach(statement);
+            return statement;
+        }, (RowCallbackHandler) rs -> consumer.accept(ROW_MAPPER.mapRow(rs, 0)));
+    }
+
+    /**
+     * 한 사용자(uuid 일치)의 로그를 created_at 순서로 스트리밍 조회
+     * - idx_trace_logs_uuid_pattern (uuid, created_at) 인덱스 순서 그대로 읽으므로 정렬 없이 한 번에 처리
+     * - evtCd는 event 조건(길이 3 이상)을 만족하는 경우에만 전달
+     * @param uuid 사용자 UUID (정확히 일치)
+     * @param startDate 시작 날짜/시간
+     * @param endDate 종료 날짜/시간
+     * @param consumer 한 건씩 전달받을 consumer
+     */
+    public void streamUserEvents(String uuid, OffsetDateTime startDate, OffsetDateTime endDate,
+                                 Consumer<UserEvent> consumer) {
+        MapSqlParameterSource params = new MapSqlParameterSource("uuid", uuid)
+                .addValue("startDate", startDate)
+                .addValue("endDate", endDate);
+        jdbcTemplate.query("SELECT id, created_at, "
+                        + "CASE WHEN LENGTH(log_payload->>'evtCd') >= 3 THEN log_payload->>'evtCd' END AS evt_cd, "
+                        + "log_payload->>'appName' AS app_name FROM " + TraceLogSource.TRACE.getTable()
+                        + " WHERE log_payload->>'uuid' = :uuid AND created_at >= :startDate AND created_at <= :endDate"
+                        + " ORDER BY created_at",
+                params,
+                (RowCallbackHandler) rs -> consumer.accept(new UserEvent(
+                        rs.getLong("id"),
+                        rs.getObject("created_at", OffsetDateTime.class),
+                        rs.getString("evt_cd"),
+                        rs.getString("app_name"))));
+    }
+
+    /**
+     * 조건에 맞는 로그를 (created_at, id) 역순으로 스트리밍 조회
+     * @param filter 조회 조건 (limit 포함)
+     * @param consumer 한 건씩 전달받을 consumer
+     */
+    public void stream(TraceLogFilter filter, Consumer<TraceLog> consumer) {
+        stream(filter, new QueryCancellation(), consumer);
+    }
+}
@@ -0,0 +1,161 @@
+package com.visang.tutor.demo.service;
+
+import com.visang.tutor.demo.repository.ActiveUserRepository;
+import com.visang.tutor.demo.repository.ActiveUserRepository.Granularity;
+import com.visang.tutor.demo.repository.ActiveUserRepository.Key;
+import com.visang.tutor.demo.repository.ActiveUserRepository.UserRow;
+import com.visang.tutor.demo.repository.LogRollupRepository.FoldResult;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 활성 사용자 HyperLogLog 레지스터 적재 작업
+ * - fixed-delay 간격으로 trace_logs의 새 행을 읽어 (분/시간, appName, profile, schlNum)별 레지스터에 uuid를 더함
+ * - 같은 uuid를 학교 전체 집계(schlNum = '') 레지스터에도 더함 (학교 조건 없는 조회가 학교별 행을 모두 읽지 않도록)
+ * - 레지스터는 합칠 수 있으므로 기존 행을 읽어 합친 뒤 덮어씀 (워터마크 행 잠금으로 한 인스턴스에서만 적재)
+ * - 한 배치는 한 트랜잭션, 실패 시 로그만 남기고 다음 주기에 워터마크부터 다시 시도
+ * - 분 단위 레지스터는 minute-retention이 지나면 삭제 (시간 단위는 유지)
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "log-analysis.active-users.enabled", havingValue = "true", matchIfMissing = true)
+public class ActiveUserRollupJob {
+
+    @Autowired
+    private ActiveUserRepository activeUserRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${log-analysis.active-users.batch-size:50000}")
+    private int batchSize;
+
+    @Value("${log-analysis.active-users.max-batches:20}")
+    private int maxBatches;
+
+    @Value("${log-analysis.active-users.lag-seconds:10}")
+    private long lagSeconds;
+
+    @Value("${log-analysis.active-users.minute-retention:P7D}")
+    private Duration minuteRetention;
+
+    private TransactionTemplate transaction;
+
+    @PostConstruct
+    void init() {
+        transaction = new TransactionTemplate(transactionManager);
+    }
+
+    @Scheduled(initialDelayString = "${log-analysis.active-users.initial-delay-ms:15000}",
+            fixedDelayString = "${log-analysis.active-users.fixed-delay-ms:30000}")
+    public void run() {
+        try {
+            Instant cutoff = Instant.now().minusSeconds(lagSeconds);
+            long total = 0;
+            for (int batch = 0; batch < maxBatches; batch++) {
+                FoldResult result = transaction.execute(status -> fold(cutoff));
+                if (result == null || result.rows() < 0) {
+                    return;
+                }
+                total += result.rows();
+                if (result.caughtUp()) {
+                    break;
+                }
+            }
+            activeUserRepository.deleteBefore(Granularity.MINUTE,
+                    Instant.now().minus(minuteRetention).truncatedTo(ChronoUnit.MINUTES));
+
+            if (total > 0) {
+                log.debug("Folded {} trace logs into active user registers", total);
+            }
+        } catch (Exception e) {
+            log.error("Active user rollup failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 워터마크 이후 최대 batchSize개 행을 레지스터에 반영
+     * - cutoff 이전에 생성된 마지막 행까지 반영 (LogRollupRepository.fold와 같은 기준)
+     * @return 적재 결과
+     */
+    private FoldResult fold(Instant cutoff) {
+        Long lastId = activeUserRepository.lockWatermark();
+        if (lastId == null) {
+            return new FoldResult(-1, false);
+        }
+
+        List<UserRow> rows = activeUserRepository.findUserRowsAfterId(lastId, batchSize);
+        int count = rows.size();
+        while (count > 0 && !rows.get(count - 1).createdAt().toInstant().isBefore(cutoff)) {
+            count--;
+        }
+        boolean caughtUp = count < rows.size() || rows.size() < batchSize;
+
+        if (count > 0) {
+            Map<Key, HyperLogLog> minutes = new HashMap<>();
+            Map<Key, HyperLogLog> hours = new HashMap<>();
+            for (UserRow row : rows.subList(0, count)) {
+                if (row.uuid() == null || row.uuid().isEmpty()) {
+                    continue;
+                }
+                Instant createdAt = row.createdAt().toInstant();
+                add(minutes, createdAt.truncatedTo(ChronoUnit.MINUTES), row);
+                add(hours, createdAt.truncatedTo(ChronoUnit.HOURS), row);
+            }
+            save(Granularity.MINUTE, minutes);
+            save(Granularity.HOUR, hours);
+        }
+
+        activeUserRepository.updateWatermark(count > 0 ? rows.get(count - 1).id() : null, caughtUp ? cutoff : null);
+        return new FoldResult(count, caughtUp);
+    }
+
+    private static void add(Map<Key, HyperLogLog> registers, Instant bucket, UserRow row) {
+        add(registers, new Key(bucket, row.appName(), row.profile(), row.schlNum()), row.uuid());
+        if (!ActiveUserRepository.ALL_SCHOOLS.equals(row.schlNum())) {
+            add(registers, new Key(bucket, row.appName(), row.profile(), ActiveUserRepository.ALL_SCHOOLS),
+                    row.uuid());
+        }
+    }
+
+    private static void add(Map<Key, HyperLogLog> registers, Key key, String uuid) {
+        registers.computeIfAbsent(key, k -> new HyperLogLog(ActiveUserService.PRECISION)).add(uuid);
+    }
+
+    /**
+     * 같은 키의 기존 레지스터와 합쳐서 저장 (이번 배치에서 쓰는 키만 조회)
+     */
+    private void save(Granularity granularity, Map<Key, HyperLogLog> registers) {
+        if (registers.isEmpty()) {
+            return;
+        }
+        Map<Key, byte[]> existing = activeUserRepository.findRegisters(granularity, registers.keySet());
+
+        Map<Key, byte[]> merged = new HashMap<>();
+        registers.forEach((key, sketch) -> {
+            byte[] previous = existing.get(key);
+            if (previous != null) {
+                HyperLogLog stored = HyperLogLog.fromBytes(previous);
+                if (stored.precision() == sketch.precision()) {
+                    sketch.merge(stored);
+                }
+            }
+            merged.put(key, sketch.toBytes());
+        });
+        activeUserRepository.saveRegisters(granularity, merged);
+    }
+}
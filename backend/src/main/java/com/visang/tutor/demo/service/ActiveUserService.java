@@ -0,0 +1,95 @@
+package com.visang.tutor.demo.service;
+
+import com.visang.tutor.demo.dto.ActiveUsersResponse;
+import com.visang.tutor.demo.dto.TimeInterval;
+import com.visang.tutor.demo.repository.ActiveUserRepository;
+import com.visang.tutor.demo.repository.ActiveUserRepository.Granularity;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * 활성 사용자 수 조회 (ActiveUserRollupJob이 적재한 HyperLogLog 레지스터를 합쳐서 추정)
+ * - COUNT(DISTINCT uuid) 대신 구간/키별 레지스터를 읽어 합치므로 원본 trace_logs를 스캔하지 않음
+ * - minute 단위는 분 레지스터(보관 기간 내), hour/day 단위는 시간 레지스터를 사용
+ * - 시간 레지스터는 구간 끝이 걸친 시간 전체를 포함
+ * - schlNum 조건이 없으면 학교 전체 집계 레지스터만 읽음 (구간당 appName/profile 조합 수만큼)
+ */
+@Service
+public class ActiveUserService {
+
+    /** 레지스터 precision (저장된 레지스터와 같아야 합칠 수 있으므로 설정으로 바꾸지 않음) */
+    static final int PRECISION = 11;
+
+    @Autowired
+    private ActiveUserRepository activeUserRepository;
+
+    @Autowired
+    private QueryBulkhead queryBulkhead;
+
+    /**
+     * 구간별 활성 사용자 수
+     * @param startDate 시작 날짜/시간
+     * @param endDate 종료 날짜/시간
+     * @param interval 집계 단위
+     * @param appName 앱 이름 (null이면 전체)
+     * @param profile 프로파일 (null이면 전체)
+     * @param schlNum 학교 번호 (null이면 전체)
+     * @return 활성 사용자 응답
+     */
+    public ActiveUsersResponse getActiveUsers(OffsetDateTime startDate, OffsetDateTime endDate, TimeInterval interval,
+                                              String appName, String profile, String schlNum) {
+        Instant from = truncate(startDate.toInstant(), interval);
+        Instant to = endDate.toInstant();
+        Granularity granularity = interval == TimeInterval.MINUTE ? Granularity.MINUTE : Granularity.HOUR;
+        String profileKey = profile != null ? profile.toLowerCase() : null;
+
+        return queryBulkhead.call(queryBulkhead.classify(0, startDate, endDate), () -> {
+            HyperLogLog total = new HyperLogLog(PRECISION);
+            Map<Instant, HyperLogLog> buckets = new TreeMap<>();
+            activeUserRepository.streamRegisters(granularity, from, to, appName, profileKey, schlNum,
+                    (bucket, registers) -> {
+                        HyperLogLog sketch = HyperLogLog.fromBytes(registers);
+                        if (sketch.precision() != PRECISION) {
+                            return;
+                        }
+                        total.merge(sketch);
+                        buckets.computeIfAbsent(truncate(bucket, interval), key -> new HyperLogLog(PRECISION))
+                                .merge(sketch);
+                    });
+
+            List<ActiveUsersResponse.Point> points = new ArrayList<>();
+            long peak = 0;
+            for (Instant time = from; time.isBefore(to); time = time.plus(interval.getDuration())) {
+                HyperLogLog sketch = buckets.get(time);
+                long users = sketch != null ? sketch.estimate() : 0;
+                peak = Math.max(peak, users);
+                points.add(new ActiveUsersResponse.Point(time.atOffset(ZoneOffset.UTC), users));
+            }
+
+            Instant coveredUntil = activeUserRepository.coveredUntil();
+            return new ActiveUsersResponse(interval.getUnit(), from.atOffset(ZoneOffset.UTC), endDate,
+                    coveredUntil != null ? coveredUntil.atOffset(ZoneOffset.UTC) : null,
+                    total.estimate(), peak, points);
+        });
+    }
+
+    /**
+     * UTC 기준으로 집계 단위 내림
+     */
+    private static Instant truncate(Instant time, TimeInterval interval) {
+        return switch (interval) {
+            case MINUTE -> time.truncatedTo(ChronoUnit.MINUTES);
+            case HOUR -> time.truncatedTo(ChronoUnit.HOURS);
+            case DAY -> time.truncatedTo(ChronoUnit.DAYS);
+        };
+    }
+}
@@ -0,0 +1,80 @@
+package com.visang.tutor.demo.service;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Count-Min 스케치 - 키별 개수의 근사값 (고정 메모리 depth x width)
+ * - 추정값은 실제 개수 이상이며, 전체 개수 N에 대해 확률 1 - (1/2)^depth로 오차가 2N/width 이하
+ * - 행마다 다른 위치는 64비트 해시 하나를 나눈 두 값으로 계산 (h1 + i * h2)
+ * - h2는 홀수로 맞춰 h2가 0(또는 width의 배수)일 때 모든 행이 같은 위치를 쓰지 않도록 함 (width는 2의 거듭제곱 권장)
+ * - 같은 스레드에서만 갱신하거나 호출하는 쪽에서 동기화
+ */
+public class CountMinSketch {
+
+    private final int depth;
+    private final int width;
+    private final long[] table;
+    private long total;
+
+    public CountMinSketch(int depth, int width) {
+        this.depth = depth;
+        this.width = width;
+        this.table = new long[depth * width];
+    }
+
+    /**
+     * 개수 추가
+     * @param key 키
+     * @param count 더할 개수
+     */
+    public void add(String key, long count) {
+        long hash = SketchHashing.hash64(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        for (int i = 0; i < depth; i++) {
+            table[i * width + Math.floorMod(h1 + i * h2, width)] += count;
+        }
+        total += count;
+    }
+
+    /**
+     * 키의 개수 추정 (실제 개수 이상)
+     * @param key 키
+     * @return 추정 개수
+     */
+    public long estimate(String key) {
+        long hash = SketchHashing.hash64(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+        long min = Long.MAX_VALUE;
+        for (int i = 0; i < depth; i++) {
+            min = Math.min(min, table[i * width + Math.floorMod(h1 + i * h2, width)]);
+        }
+        return min;
+    }
+
+    /** 지금까지 더한 전체 개수 */
+    public long total() {
+        return total;
+    }
+
+    public void writeTo(DataOutput out) throws IOException {
+        out.writeInt(depth);
+        out.writeInt(width);
+        out.writeLong(total);
+        for (long value : table) {
+            out.writeLong(value);
+        }
+    }
+
+    public static CountMinSketch readFrom(DataInput in) throws IOException {
+        CountMinSketch sketch = new CountMinSketch(in.readInt(), in.readInt());
+        sketch.total = in.readLong();
+        for (int i = 0; i < sketch.table.length; i++) {
+            sketch.table[i] = in.readLong();
+        }
+        return sketch;
+    }
+}
@@ -0,0 +1,294 @@
+package com.visang.tutor.demo.service;
+
+import com.visang.tutor.demo.dto.ErrorAnomalyResponse;
+import com.visang.tutor.demo.dto.ErrorLogFilter;
+import com.visang.tutor.demo.repository.LogRollupRepository;
+import com.visang.tutor.demo.repository.LogRollupRepository.ErrorMinuteCount;
+import com.visang.tutor.demo.repository.RefinedErrorLogQueryRepository;
+import com.visang.tutor.demo.repository.RefinedErrorLogQueryRepository.ErrorKeyRow;
+import com.visang.tutor.demo.repository.RollupSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 에러 급증(이상) 탐지
+ * - poll-interval-ms마다 마지막으로 읽은 id 이후의 새 에러 로그만 읽어 appName/profile/errCd 조합별 분당 개수에 더함
+ *   (테이블을 다시 스캔하지 않고 새 행마다 O(1))
+ * - lag-seconds 이전에 생성된 마지막 행까지만 읽은 것으로 처리 (LogRollupRepository.fold와 같은 기준)
+ *   -> 늦게 커밋되는 앞 번호 id를 건너뛰지 않고 다음 주기에 다시 읽음
+ * - 분이 끝나면 그 분의 개수로 EWMA 평균/분산 기준선을 갱신하고, 개수가 min-count 이상이면서
+ *   (개수 - 평균) / 표준편차가 z-threshold 이상이면 이상으로 판단 (진행 중인 분도 매 주기 판단)
+ * - 시작 시 분 단위 롤업(error_log_counts_minute)으로 최근 warmup-minutes 기준선을 채우고,
+ *   롤업이 없으면 warmup-minutes 동안은 이상을 보고하지 않음
+ * - 상태는 스케줄러 스레드에서만 변경하고 조회 API는 주기마다 만든 결과를 읽기만 함
+ */
+@Slf4j
+@Service
+public class ErrorAnomalyDetector {
+
+    @Autowired
+    private RefinedErrorLogQueryRepository refinedErrorLogQueryRepository;
+
+    @Autowired
+    private LogRollupRepository logRollupRepository;
+
+    @Value("${log-analysis.anomaly.enabled:true}")
+    private boolean enabled;
+
+    @Value("${log-analysis.anomaly.alpha:0.1}")
+    private double alpha;
+
+    @Value("${log-analysis.anomaly.z-threshold:4.0}")
+    private double zThreshold;
+
+    @Value("${log-analysis.anomaly.min-count:10}")
+    private long minCount;
+
+    @Value("${log-analysis.anomaly.min-stddev:1.0}")
+    private double minStddev;
+
+    @Value("${log-analysis.anomaly.warmup-minutes:30}")
+    private int warmupMinutes;
+
+    @Value("${log-analysis.anomaly.idle-minutes:1440}")
+    private int idleMinutes;
+
+    @Value("${log-analysis.anomaly.max-series:10000}")
+    private int maxSeries;
+
+    @Value("${log-analysis.anomaly.batch-size:5000}")
+    private int batchSize;
+
+    @Value("${log-analysis.anomaly.max-batches:20}")
+    private int maxBatches;
+
+    @Value("${log-analysis.anomaly.lag-seconds:10}")
+    private long lagSeconds;
+
+    private final Map<SeriesKey, Series> series = new HashMap<>();
+
+    private long lastId = -1;
+
+    private long readyAtMinute;
+
+    private volatile ErrorAnomalyResponse snapshot = new ErrorAnomalyResponse(null, false, 0, List.of());
+
+    /**
+     * appName/profile/errCd 조합 (값이 없으면 빈 문자열, 롤업 테이블과 같은 형태)
+     */
+    private record SeriesKey(String appName, String profile, String errCd) {
+
+        static SeriesKey of(String appName, String profile, String errCd) {
+            return new SeriesKey(appName != null ? appName : "", profile != null ? profile : "",
+                    errCd != null ? errCd : "");
+        }
+    }
+
+    @Scheduled(initialDelayString = "${log-analysis.anomaly.initial-delay-ms:15000}",
+            fixedDelayString = "${log-analysis.anomaly.poll-interval-ms:10000}")
+    public void run() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            detect();
+        } catch (Exception e) {
+            log.error("Error anomaly detection failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 진행 중인 이상 조회
+     * @param filter 조회 조건 (profile, appName만 사용, all인 경우 전체)
+     * @return 이상 탐지 응답
+     */
+    public ErrorAnomalyResponse getAnomalies(ErrorLogFilter filter) {
+        ErrorLogFilter normalized = filter.normalized();
+        ErrorAnomalyResponse current = snapshot;
+        List<ErrorAnomalyResponse.Anomaly> anomalies = current.getAnomalies().stream()
+                .filter(a -> normalized.getProfile() == null || normalized.getProfile().equals(a.profile()))
+                .filter(a -> normalized.getAppName() == null || normalized.getAppName().equals(a.appName()))
+                .toList();
+        return new ErrorAnomalyResponse(current.getEvaluatedAt(), current.isReady(), current.getSeries(), anomalies);
+    }
+
+    private void detect() {
+        Instant now = Instant.now();
+        Instant cutoff = now.minusSeconds(lagSeconds);
+        long nowMinute = minuteOf(now);
+        if (lastId < 0) {
+            start(nowMinute);
+        }
+        boolean ready = nowMinute >= readyAtMinute;
+
+        for (int batch = 0; batch < maxBatches; batch++) {
+            List<ErrorKeyRow> rows = refinedErrorLogQueryRepository.findKeysAfterId(lastId, batchSize);
+            int count = rows.size();
+            while (count > 0 && !rows.get(count - 1).createdAt().toInstant().isBefore(cutoff)) {
+                count--;
+            }
+            for (ErrorKeyRow row : rows.subList(0, count)) {
+                Series s = series(SeriesKey.of(row.appName(), row.profile(), row.errCd()), nowMinute);
+                if (s != null) {
+                    s.add(Math.min(minuteOf(row.createdAt().toInstant()), nowMinute), 1, ready);
+                }
+            }
+            if (count > 0) {
+                lastId = rows.get(count - 1).id();
+            }
+            if (count < rows.size() || rows.size() < batchSize) {
+                break;
+            }
+        }
+
+        List<ErrorAnomalyResponse.Anomaly> anomalies = new ArrayList<>();
+        Iterator<Series> iterator = series.values().iterator();
+        while (iterator.hasNext()) {
+            Series s = iterator.next();
+            s.advance(nowMinute, ready);
+            if (ready && s.isAnomalous(s.count)) {
+                s.mark(s.minute, s.count);
+            }
+            if (s.anomaly != null) {
+                anomalies.add(s.anomaly);
+            } else if (s.lastSeenMinute < nowMinute - idleMinutes) {
+                iterator.remove();
+            }
+        }
+        anomalies.sort(Comparator.comparingDouble(ErrorAnomalyResponse.Anomaly::zScore).reversed());
+        snapshot = new ErrorAnomalyResponse(OffsetDateTime.now(), ready, series.size(), anomalies);
+    }
+
+    /**
+     * 처음 실행 시 현재 마지막 id부터 읽도록 하고, 분 단위 롤업으로 기준선을 채움
+     */
+    private void start(long nowMinute) {
+        long maxId = refinedErrorLogQueryRepository.findMaxId();
+        OffsetDateTime to = timeOf(nowMinute);
+        OffsetDateTime from = to.minusMinutes(warmupMinutes);
+
+        for (ErrorMinuteCount count : logRollupRepository.findErrorMinuteCounts(from, to)) {
+            long minute = minuteOf(count.bucket().toInstant());
+            Series s = series(SeriesKey.of(count.appName(), count.profile(), count.errCd()), minute);
+            if (s != null) {
+                s.add(minute, count.count(), false);
+            }
+        }
+        for (Series s : series.values()) {
+            s.advance(nowMinute, false);
+        }
+
+        Instant coveredUntil = logRollupRepository.coveredUntil(RollupSource.ERROR_LOGS);
+        boolean seeded = coveredUntil != null && !coveredUntil.isBefore(to.minusMinutes(1).toInstant());
+        readyAtMinute = seeded ? nowMinute : nowMinute + warmupMinutes;
+        lastId = maxId;
+        log.info("Error anomaly detector started at id {} with {} series (baseline {})",
+                maxId, series.size(), seeded ? "from rollups" : "warming up");
+    }
+
+    private Series series(SeriesKey key, long minute) {
+        Series s = series.get(key);
+        if (s == null && series.size() < maxSeries) {
+            s = new Series(key, minute);
+            series.put(key, s);
+        }
+        return s;
+    }
+
+    private static long minuteOf(Instant instant) {
+        return Math.floorDiv(instant.getEpochSecond(), 60);
+    }
+
+    private static OffsetDateTime timeOf(long minute) {
+        return Instant.ofEpochSecond(minute * 60).atOffset(ZoneOffset.UTC);
+    }
+
+    /**
+     * 조합 하나의 분당 개수와 EWMA 기준선
+     */
+    private class Series {
+
+        private final SeriesKey key;
+        private long minute;
+        private long count;
+        private double mean;
+        private double variance;
+        private long lastSeenMinute;
+        private ErrorAnomalyResponse.Anomaly anomaly;
+
+        Series(SeriesKey key, long minute) {
+            this.key = key;
+            this.minute = minute;
+            this.lastSeenMinute = minute;
+        }
+
+        /**
+         * 개수 추가 (이미 지난 분의 늦은 행은 진행 중인 분에 더함)
+         */
+        void add(long rowMinute, long n, boolean detect) {
+            advance(rowMinute, detect);
+            count += n;
+            lastSeenMinute = Math.max(lastSeenMinute, rowMinute);
+        }
+
+        /**
+         * target 분까지 진행 - 지난 분(사이의 빈 분은 0개)마다 이상 판단 후 기준선 갱신
+         */
+        void advance(long target, boolean detect) {
+            if (target <= minute) {
+                return;
+            }
+            long closing = Math.min(target - minute, idleMinutes);
+            for (long i = 0; i < closing; i++) {
+                close(minute + i, i == 0 ? count : 0, detect);
+            }
+            minute = target;
+            count = 0;
+        }
+
+        boolean isAnomalous(long x) {
+            return x >= minCount && (x - mean) / stddev() >= zThreshold;
+        }
+
+        void mark(long m, long x) {
+            long peak = anomaly != null ? Math.max(anomaly.peakCount(), x) : x;
+            anomaly = new ErrorAnomalyResponse.Anomaly(emptyToNull(key.appName()), emptyToNull(key.profile()),
+                    emptyToNull(key.errCd()), anomaly != null ? anomaly.since() : timeOf(m), timeOf(m),
+                    x, mean, stddev(), (x - mean) / stddev(), peak);
+        }
+
+        private void close(long m, long x, boolean detect) {
+            if (detect && isAnomalous(x)) {
+                mark(m, x);
+            } else {
+                anomaly = null;
+            }
+            // EWMA 평균/분산 (Welford 방식의 지수 가중 갱신)
+            double diff = x - mean;
+            double increment = alpha * diff;
+            mean += increment;
+            variance = (1 - alpha) * (variance + diff * increment);
+        }
+
+        private double stddev() {
+            return Math.max(Math.sqrt(variance), minStddev);
+        }
+    }
+
+    private static String emptyToNull(String value) {
+        return value == null || value.isEmpty() ? null : value;
+    }
+}
@@ -0,0 +1,57 @@
+package com.visang.tutor.demo.service;
+
+import com.visang.tutor.demo.dto.ErrorLogDimension;
+import com.visang.tutor.demo.dto.ErrorLogFilter;
+import com.visang.tutor.demo.dto.ErrorLogStatsResponse;
+import com.visang.tutor.demo.dto.ErrorLogTimeSeriesResponse;
+import com.visang.tutor.demo.dto.TimeInterval;
+import com.visang.tutor.demo.repository.ErrorLogStatsRepository;
+import com.visang.tutor.demo.repository.ErrorLogStatsRepository.GroupCounts;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+@Service
+public class ErrorLogStatsService {
+
+    @Autowired
+    private ErrorLogStatsRepository errorLogStatsRepository;
+
+    @Autowired
+    private QueryBulkhead queryBulkhead;
+
+    /**
+     * 기준별 에러 개수 집계 (대시보드 차트용, 로그 목록 없이 집계 결과만 조회)
+     * @param filter 조회 조건 (profile, appName이 all인 경우 null 처리)
+     * @param dimension 집계 기준
+     * @param top 상위 개수
+     * @return 집계 응답
+     */
+    public ErrorLogStatsResponse getStats(ErrorLogFilter filter, ErrorLogDimension dimension, int top) {
+        ErrorLogFilter normalized = filter.normalized();
+        GroupCounts counts = queryBulkhead.call(classify(normalized),
+                () -> errorLogStatsRepository.countByDimension(normalized, dimension, top));
+        return new ErrorLogStatsResponse(dimension.getParameter(), counts.total(), counts.buckets());
+    }
+
+    /**
+     * 시간대별 에러 개수 집계
+     * @param filter 조회 조건 (profile, appName이 all인 경우 null 처리)
+     * @param interval 집계 단위
+     * @param dimension 함께 나눌 집계 기준 (null이면 시간대별 전체 개수)
+     * @param top dimension이 있을 때 포함할 상위 값 개수
+     * @return 시간대별 집계 응답
+     */
+    public ErrorLogTimeSeriesResponse getTimeSeries(ErrorLogFilter filter, TimeInterval interval,
+                                                    ErrorLogDimension dimension, int top) {
+        ErrorLogFilter normalized = filter.normalized();
+        return new ErrorLogTimeSeriesResponse(
+                interval.getUnit(),
+                dimension == null ? null : dimension.getParameter(),
+                queryBulkhead.call(classify(normalized),
+                        () -> errorLogStatsRepository.countByTime(normalized, interval, dimension, top)));
+    }
+
+    private QueryBulkhead.QueryClass classify(ErrorLogFilter filter) {
+        return queryBulkhead.classify(0, filter.getStartDate(), filter.getEndDate());
+    }
+}
@@ -0,0 +1,381 @@
+package com.visang.tutor.demo.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.visang.tutor.demo.dto.ExportFormat;
+import com.visang.tutor.demo.dto.ExportJobStatus;
+import com.visang.tutor.demo.dto.ExportJobStatus.State;
+import com.visang.tutor.demo.dto.TraceLogFilter;
+import com.visang.tutor.demo.model.TraceLog;
+import com.visang.tutor.demo.model.TraceLogPayload;
+import com.visang.tutor.demo.repository.TraceLogQueryRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Trace 로그 내보내기 (비동기 작업)
+ * - 조회 결과를 List로 모으지 않고 스트리밍 조회(JDBC fetch size 단위 서버 측 커서)에서 한 건씩 gzip 파일로 기록
+ * - 전용 스레드(threads개)에서 차례로 실행하므로 동시에 쓰는 커넥션은 threads개로 제한되고,
+ *   화면 조회용 QueryBulkhead permit을 사용하지 않음 (대기 중인 작업은 max-queued개까지)
+ * - 완료된 파일은 retention 동안 보관 후 삭제
+ */
+@Slf4j
+@Service
+public class LogExportService {
+
+    private static final String[] CSV_HEADER = {
+            "id", "created_at", "app_name", "profile", "log_type", "evt_cd", "uuid", "schl_num", "log_payload"
+    };
+
+    @Autowired
+    private TraceLogQueryRepository traceLogQueryRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${log-analysis.export.directory:${java.io.tmpdir}/log-exports}")
+    private Path directory;
+
+    @Value("${log-analysis.export.threads:1}")
+    private int threads;
+
+    @Value("${log-analysis.export.max-queued:10}")
+    private int maxQueued;
+
+    @Value("${log-analysis.export.max-rows:5000000}")
+    private int maxRows;
+
+    @Value("${log-analysis.export.retention:PT1H}")
+    private Duration retention;
+
+    private final Map<String, ExportJob> jobs = new ConcurrentHashMap<>();
+
+    private ExecutorService executor;
+
+    private TransactionTemplate readOnlyTransaction;
+
+    @PostConstruct
+    void init() throws IOException {
+        Files.createDirectories(directory);
+        executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(maxQueued), new CustomizableThreadFactory("log-export-"));
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 내보내기 작업 등록
+     * @param filter 조회 조건 (날짜 구간 필수, limit은 무시하고 max-rows 적용 - 더 많으면 truncated로 표시)
+     * @param format 파일 형식
+     * @return 등록된 작업 상태
+     * @throws QueryRejectedException 대기 중인 작업이 너무 많은 경우
+     */
+    public ExportJobStatus submit(TraceLogFilter filter, ExportFormat format) {
+        ExportJob job = new ExportJob(UUID.randomUUID().toString(), format,
+                directory.resolve(UUID.randomUUID() + "." + format.getExtension() + ".gz"));
+        jobs.put(job.id, job);
+        try {
+            // max-rows보다 많은지 알 수 있도록 한 행 더 조회
+            job.future = executor.submit(() -> run(job, filter.toBuilder().limit(maxRows + 1).build()));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.id);
+            throw new QueryRejectedException("Too many export jobs queued");
+        }
+        return job.toStatus();
+    }
+
+    /**
+     * 작업 상태 조회
+     * @param id 작업 ID
+     * @return 작업 상태 (없으면 empty)
+     */
+    public Optional<ExportJobStatus> getStatus(String id) {
+        return Optional.ofNullable(jobs.get(id)).map(ExportJob::toStatus);
+    }
+
+    /**
+     * 완료된 작업의 파일
+     * @param id 작업 ID
+     * @return 파일 경로 (없거나 완료되지 않았으면 empty)
+     */
+    public Optional<Path> getFile(String id) {
+        ExportJob job = jobs.get(id);
+        return job != null && job.state == State.COMPLETED ? Optional.of(job.file) : Optional.empty();
+    }
+
+    /**
+     * 작업 취소 및 파일 삭제
+     * @param id 작업 ID
+     * @return 작업이 있었는지 여부
+     */
+    public boolean cancel(String id) {
+        ExportJob job = jobs.remove(id);
+        if (job == null) {
+            return false;
+        }
+        job.cancelled = true;
+        if (job.future != null) {
+            job.future.cancel(false);
+        }
+        job.finish(State.CANCELLED, null);
+        deleteFile(job);
+        return true;
+    }
+
+    /**
+     * 보관 기간이 지난 작업과 파일 삭제
+     */
+    @Scheduled(fixedDelayString = "${log-analysis.export.cleanup-interval-ms:300000}")
+    public void cleanup() {
+        OffsetDateTime expiredBefore = OffsetDateTime.now().minus(retention);
+        jobs.values().removeIf(job -> {
+            boolean expired = job.finishedAt != null && job.finishedAt.isBefore(expiredBefore);
+            if (expired) {
+                deleteFile(job);
+            }
+            return expired;
+        });
+    }
+
+    private void run(ExportJob job, TraceLogFilter filter) {
+        if (job.cancelled || !job.start()) {
+            return;
+        }
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(job.file), 64 * 1024)) {
+            RowWriter writer = job.format == ExportFormat.CSV ? new CsvWriter(out) : new NdjsonWriter(out);
+            readOnlyTransaction.executeWithoutResult(status -> traceLogQueryRepository.stream(filter, log -> {
+                if (job.cancelled) {
+                    throw new ExportCancelledException();
+                }
+                if (job.rows >= maxRows) {
+                    job.truncated = true;
+                    return;
+                }
+                writer.write(log);
+                job.rows++;
+            }));
+            writer.flush();
+        } catch (ExportCancelledException e) {
+            deleteFile(job);
+            return;
+        } catch (Exception e) {
+            log.error("Log export {} failed: {}", job.id, e.getMessage());
+            deleteFile(job);
+            job.finish(State.FAILED, e.getMessage());
+            return;
+        }
+
+        try {
+            job.bytes = Files.size(job.file);
+        } catch (IOException e) {
+            job.bytes = 0;
+        }
+        if (!job.finish(State.COMPLETED, null)) {
+            // 파일을 닫는 사이에 취소됨
+            deleteFile(job);
+        }
+    }
+
+    private void deleteFile(ExportJob job) {
+        try {
+            Files.deleteIfExists(job.file);
+        } catch (IOException e) {
+            log.warn("Failed to delete export file {}: {}", job.file, e.getMessage());
+        }
+    }
+
+    /**
+     * 내보내기 작업
+     * - 행 수와 파일 크기는 작업 스레드에서만 변경
+     * - 상태는 작업 스레드(RUNNING, COMPLETED, FAILED)와 취소 요청 스레드(CANCELLED)가 함께 변경하므로,
+     *   start()/finish()로 동기화하여 종료 상태가 된 뒤에는 바꾸지 않음
+     */
+    private class ExportJob {
+
+        private final String id;
+        private final ExportFormat format;
+        private final Path file;
+        private final OffsetDateTime createdAt = OffsetDateTime.now();
+        private volatile State state = State.QUEUED;
+        private volatile long rows;
+        private volatile boolean truncated;
+        private volatile long bytes;
+        private volatile OffsetDateTime finishedAt;
+        private volatile String error;
+        private volatile boolean cancelled;
+        private volatile Future<?> future;
+
+        ExportJob(String id, ExportFormat format, Path file) {
+            this.id = id;
+            this.format = format;
+            this.file = file;
+        }
+
+        /**
+         * QUEUED -> RUNNING
+         * @return 시작 여부 (이미 취소된 경우 false)
+         */
+        synchronized boolean start() {
+            if (state != State.QUEUED) {
+                return false;
+            }
+            state = State.RUNNING;
+            return true;
+        }
+
+        /**
+         * 종료 상태로 변경 (이미 종료된 작업은 그대로 둠)
+         * @return 변경 여부
+         */
+        synchronized boolean finish(State state, String error) {
+            if (this.state != State.QUEUED && this.state != State.RUNNING) {
+                return false;
+            }
+            this.error = error;
+            this.finishedAt = OffsetDateTime.now();
+            this.state = state;
+            return true;
+        }
+
+        ExportJobStatus toStatus() {
+            return new ExportJobStatus(id, state, format, rows, maxRows, truncated, bytes, createdAt, finishedAt,
+                    error);
+        }
+    }
+
+    private static class ExportCancelledException extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+    }
+
+    private interface RowWriter {
+        void write(TraceLog log);
+
+        void flush() throws IOException;
+    }
+
+    private static class CsvWriter implements RowWriter {
+
+        private final Writer writer;
+
+        CsvWriter(OutputStream out) {
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+            writeLine(CSV_HEADER);
+        }
+
+        @Override
+        public void write(TraceLog log) {
+            TraceLogPayload payload = log.getLogPayload();
+            writeLine(new String[]{
+                    String.valueOf(log.getId()),
+                    log.getCreatedAt() != null ? log.getCreatedAt().toString() : null,
+                    payload != null ? payload.appName() : null,
+                    payload != null ? payload.profile() : null,
+                    payload != null ? payload.logType() : null,
+                    payload != null ? payload.evtCd() : null,
+                    payload != null ? payload.uuid() : null,
+                    payload != null ? payload.schlNum() : null,
+                    payload != null ? payload.raw() : null
+            });
+        }
+
+        @Override
+        public void flush() throws IOException {
+            writer.flush();
+        }
+
+        private void writeLine(String[] values) {
+            try {
+                for (int i = 0; i < values.length; i++) {
+                    if (i > 0) {
+                        writer.write(',');
+                    }
+                    writeValue(values[i]);
+                }
+                writer.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        /**
+         * RFC 4180 - 쉼표, 따옴표, 줄바꿈이 있는 값은 따옴표로 감싸고 따옴표는 두 번 씀
+         */
+        private void writeValue(String value) throws IOException {
+            if (value == null) {
+                return;
+            }
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+    }
+
+    private class NdjsonWriter implements RowWriter {
+
+        private final JsonGenerator generator;
+
+        NdjsonWriter(OutputStream out) throws IOException {
+            this.generator = objectMapper.createGenerator(out);
+            this.generator.setRootValueSeparator(null);
+        }
+
+        @Override
+        public void write(TraceLog log) {
+            try {
+                generator.writeObject(log);
+                generator.writeRaw('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            generator.flush();
+        }
+    }
+}
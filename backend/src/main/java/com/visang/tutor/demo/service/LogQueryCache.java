@@ -0,0 +1,280 @@
+package com.visang.tutor.demo.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.visang.tutor.demo.dto.CountMode;
+import com.visang.tutor.demo.dto.ErrorLogFilter;
+import com.visang.tutor.demo.dto.ErrorLogResponse;
+import com.visang.tutor.demo.dto.ErrorLogSummary;
+import com.visang.tutor.demo.dto.LogCursor;
+import com.visang.tutor.demo.dto.TraceLogFilter;
+import com.visang.tutor.demo.dto.TraceLogSummary;
+import com.visang.tutor.demo.dto.UserSessionResponse;
+import com.visang.tutor.demo.model.RefinedErrorLog;
+import com.visang.tutor.demo.model.TraceLog;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+/**
+ * 로그 조회 결과 캐시 (Caffeine, 크기/TTL 제한)
+ * - 키는 정규화된 조회 조건과 시간 구간
+ * - 최근 N분 조회(relativeRange)는 시작/종료 시각을 bucket-seconds 단위로 내려서, 매번 시작 시각이 조금씩 달라져도
+ *   같은 구간 안에서는 같은 키가 되어 여러 탭/사용자의 자동 새로고침이 DB 조회 한 번으로 처리됨
+ * - 클라이언트가 지정한 startDate/endDate는 정확한 시각을 키로 사용 (다른 구간의 결과를 돌려주지 않도록)
+ * - 값은 bucket-seconds 동안만 유지 (결과는 최대 그 시간만큼 늦을 수 있음)
+ * - max-cached-rows보다 큰 조회(대량 조회)는 캐시하지 않음
+ * - 같은 키의 동시 요청은 한 번만 조회 (캐시 대상은 Caffeine get(key, loader)가 키 단위로 조회를 합치고,
+ *   캐시하지 않는 조회는 SingleFlight로 진행 중인 조회 결과를 공유)
+ * - 캐시별 hit/miss/eviction은 Micrometer 지표(cache.gets, cache.evictions 등, name 태그)로 노출
+ */
+@Component
+public class LogQueryCache {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${log-analysis.query-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${log-analysis.query-cache.bucket-seconds:30}")
+    private long bucketSeconds;
+
+    @Value("${log-analysis.query-cache.maximum-size:500}")
+    private long maximumSize;
+
+    @Value("${log-analysis.query-cache.max-cached-rows:1000}")
+    private int maxCachedRows;
+
+    private Cache<LogsKey, List<TraceLog>> traceLogs;
+    private Cache<LogsKey, List<TraceLog>> userLogs;
+    private Cache<ErrorPageKey, ErrorLogResponse<RefinedErrorLog>> errorLogPages;
+    private Cache<ErrorPageKey, ErrorLogResponse<ErrorLogSummary>> errorLogSummaryPages;
+    private Cache<LogsKey, List<TraceLogSummary>> traceLogSummaries;
+    private Cache<LogsKey, List<TraceLogSummary>> userLogSummaries;
+    private Cache<ErrorCountKey, Long> errorLogCounts;
+    private Cache<SessionsKey, UserSessionResponse> userSessions;
+
+    private SingleFlight<LogsKey, List<TraceLog>> traceLogsInFlight;
+    private SingleFlight<LogsKey, List<TraceLog>> userLogsInFlight;
+    private SingleFlight<ErrorPageKey, ErrorLogResponse<RefinedErrorLog>> errorLogPagesInFlight;
+    private SingleFlight<ErrorPageKey, ErrorLogResponse<ErrorLogSummary>> errorLogSummaryPagesInFlight;
+    private SingleFlight<LogsKey, List<TraceLogSummary>> traceLogSummariesInFlight;
+    private SingleFlight<LogsKey, List<TraceLogSummary>> userLogSummariesInFlight;
+
+    /**
+     * Trace 로그 / 사용자 로그 캐시 키
+     */
+    record LogsKey(Instant start, Instant end, String appName, String logType, String profile,
+                   String uuid, LogCursor cursor, LogCursor since, int limit) {
+    }
+
+    /**
+     * 에러 로그 페이지 캐시 키
+     */
+    record ErrorPageKey(ErrorCountKey range, LogCursor cursor, LogCursor since, int limit, CountMode countMode) {
+    }
+
+    /**
+     * 에러 로그 전체 개수 캐시 키 (커서는 전체 개수와 무관하므로 제외)
+     */
+    record ErrorCountKey(Instant start, Instant end, String profile, String appName) {
+    }
+
+    /**
+     * 사용자 세션 캐시 키
+     */
+    record SessionsKey(String uuid, Instant start, Instant end, int gapMinutes) {
+    }
+
+    @PostConstruct
+    void init() {
+        traceLogs = build("traceLogs", maximumSize);
+        userLogs = build("userLogs", maximumSize);
+        errorLogPages = build("errorLogPages", maximumSize);
+        errorLogSummaryPages = build("errorLogSummaryPages", maximumSize);
+        traceLogSummaries = build("traceLogSummaries", maximumSize);
+        userLogSummaries = build("userLogSummaries", maximumSize);
+        errorLogCounts = build("errorLogCounts", maximumSize * 2);
+        userSessions = build("userSessions", maximumSize);
+
+        traceLogsInFlight = new SingleFlight<>("traceLogs", meterRegistry);
+        userLogsInFlight = new SingleFlight<>("userLogs", meterRegistry);
+        errorLogPagesInFlight = new SingleFlight<>("errorLogPages", meterRegistry);
+        errorLogSummaryPagesInFlight = new SingleFlight<>("errorLogSummaryPages", meterRegistry);
+        traceLogSummariesInFlight = new SingleFlight<>("traceLogSummaries", meterRegistry);
+        userLogSummariesInFlight = new SingleFlight<>("userLogSummaries", meterRegistry);
+    }
+
+    /**
+     * Trace 로그 / 사용자 로그 조회 (filter.isUserLogs()에 따라 캐시 구분)
+     * @param filter 조회 조건
+     * @param loader 캐시에 없을 때 조회
+     * @return TraceLog 리스트
+     */
+    public List<TraceLog> getLogs(TraceLogFilter filter, Supplier<List<TraceLog>> loader) {
+        LogsKey key = logsKey(filter);
+        if (!cacheable(filter.getLimit(), filter.getSince())) {
+            return (filter.isUserLogs() ? userLogsInFlight : traceLogsInFlight).execute(key, loader);
+        }
+        return (filter.isUserLogs() ? userLogs : traceLogs).get(key, k -> loader.get());
+    }
+
+    /**
+     * Trace 로그 / 사용자 로그 목록용 요약 조회 (filter.isUserLogs()에 따라 캐시 구분)
+     * @param filter 조회 조건
+     * @param loader 캐시에 없을 때 조회
+     * @return TraceLogSummary 리스트
+     */
+    public List<TraceLogSummary> getLogSummaries(TraceLogFilter filter, Supplier<List<TraceLogSummary>> loader) {
+        LogsKey key = logsKey(filter);
+        if (!cacheable(filter.getLimit(), filter.getSince())) {
+            return (filter.isUserLogs() ? userLogSummariesInFlight : traceLogSummariesInFlight).execute(key, loader);
+        }
+        return (filter.isUserLogs() ? userLogSummaries : traceLogSummaries).get(key, k -> loader.get());
+    }
+
+    /**
+     * 에러 로그 페이지(목록, 전체 개수, 다음 커서) 조회
+     * @param filter 조회 조건 (정규화된 값)
+     * @param countMode 전체 개수 계산 방식
+     * @param loader 캐시에 없을 때 조회
+     * @return 에러 로그 응답
+     */
+    public ErrorLogResponse<RefinedErrorLog> getErrorLogPage(ErrorLogFilter filter, CountMode countMode,
+                                                           Supplier<ErrorLogResponse<RefinedErrorLog>> loader) {
+        ErrorPageKey key = new ErrorPageKey(countKey(filter), filter.getCursor(), filter.getSince(),
+                filter.getLimit(), countMode);
+        if (!cacheable(filter.getLimit(), filter.getSince())) {
+            return errorLogPagesInFlight.execute(key, loader);
+        }
+        return errorLogPages.get(key, k -> loader.get());
+    }
+
+    /**
+     * 에러 로그 요약 페이지(목록용 요약, 전체 개수, 다음 커서) 조회
+     * @param filter 조회 조건 (정규화된 값)
+     * @param countMode 전체 개수 계산 방식
+     * @param loader 캐시에 없을 때 조회
+     * @return 에러 로그 요약 응답
+     */
+    public ErrorLogResponse<ErrorLogSummary> getErrorLogSummaryPage(ErrorLogFilter filter, CountMode countMode,
+                                                                  Supplier<ErrorLogResponse<ErrorLogSummary>> loader) {
+        ErrorPageKey key = new ErrorPageKey(countKey(filter), filter.getCursor(), filter.getSince(),
+                filter.getLimit(), countMode);
+        if (!cacheable(filter.getLimit(), filter.getSince())) {
+            return errorLogSummaryPagesInFlight.execute(key, loader);
+        }
+        return errorLogSummaryPages.get(key, k -> loader.get());
+    }
+
+    /**
+     * 사용자 세션 조회 (같은 사용자/시간 구간의 세션은 다시 만들지 않음)
+     * @param uuid 사용자 UUID
+     * @param startDate 시작 날짜/시간
+     * @param endDate 종료 날짜/시간
+     * @param gapMinutes 세션을 나누는 비활동 시간(분)
+     * @param relativeRange 최근 N분 조회 여부
+     * @param loader 캐시에 없을 때 세션 구성
+     * @return 사용자 세션 응답
+     */
+    public UserSessionResponse getUserSessions(String uuid, OffsetDateTime startDate, OffsetDateTime endDate,
+                                               int gapMinutes, boolean relativeRange,
+                                               Supplier<UserSessionResponse> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+        SessionsKey key = new SessionsKey(uuid, time(startDate, relativeRange), time(endDate, relativeRange),
+                gapMinutes);
+        return userSessions.get(key, k -> loader.get());
+    }
+
+    /**
+     * 캐시된 에러 로그 전체 개수 조회
+     * @param filter 조회 조건 (정규화된 값)
+     * @return 전체 개수 (없으면 null)
+     */
+    public Long getErrorLogCountIfPresent(ErrorLogFilter filter) {
+        return enabled ? errorLogCounts.getIfPresent(countKey(filter)) : null;
+    }
+
+    /**
+     * 캐시된 에러 로그 전체 개수 조회, 없으면 계산하여 저장
+     * @param filter 조회 조건 (정규화된 값)
+     * @param loader 전체 개수 계산
+     * @return 전체 개수
+     */
+    public long getErrorLogCount(ErrorLogFilter filter, LongSupplier loader) {
+        return enabled ? errorLogCounts.get(countKey(filter), key -> loader.getAsLong()) : loader.getAsLong();
+    }
+
+    /**
+     * 에러 로그 전체 개수 저장
+     * @param filter 조회 조건 (정규화된 값)
+     * @param total 전체 개수
+     */
+    public void putErrorLogCount(ErrorLogFilter filter, long total) {
+        if (enabled) {
+            errorLogCounts.put(countKey(filter), total);
+        }
+    }
+
+    /**
+     * 캐시 대상 여부 - 큰 조회와 since(변경분) 조회는 캐시하지 않음 (변경분은 시간 구간 캐시로 재사용하면 새 로그를 놓침)
+     */
+    private boolean cacheable(int limit, LogCursor since) {
+        return enabled && limit <= maxCachedRows && since == null;
+    }
+
+    private <K, V> Cache<K, V> build(String name, long size) {
+        Cache<K, V> cache = Caffeine.newBuilder()
+                .maximumSize(size)
+                .expireAfterWrite(Duration.ofSeconds(bucketSeconds))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, name);
+        return cache;
+    }
+
+    /**
+     * Trace 로그 캐시 키 - profile은 SQL에서 LOWER()로 비교하므로 소문자로 맞춤
+     */
+    private LogsKey logsKey(TraceLogFilter filter) {
+        String profile = filter.getProfile() != null ? filter.getProfile().toLowerCase() : null;
+        return new LogsKey(time(filter.getStartDate(), filter.isRelativeRange()),
+                time(filter.getEndDate(), filter.isRelativeRange()),
+                filter.getAppName(), filter.getLogType(), profile, filter.getUuid(),
+                filter.getCursor(), filter.getSince(), filter.getLimit());
+    }
+
+    private ErrorCountKey countKey(ErrorLogFilter filter) {
+        return new ErrorCountKey(time(filter.getStartDate(), filter.isRelativeRange()),
+                time(filter.getEndDate(), filter.isRelativeRange()),
+                filter.getProfile(), filter.getAppName());
+    }
+
+    /**
+     * 키에 넣을 시각 (최근 N분 조회는 bucket-seconds 단위로 내림, 그 밖에는 정확한 시각)
+     */
+    private Instant time(OffsetDateTime time, boolean relativeRange) {
+        if (time == null) {
+            return null;
+        }
+        if (!relativeRange) {
+            return time.toInstant();
+        }
+        long epochSecond = time.withOffsetSameInstant(ZoneOffset.UTC).toEpochSecond();
+        return Instant.ofEpochSecond(epochSecond - Math.floorMod(epochSecond, bucketSeconds));
+    }
+}
@@ -0,0 +1,69 @@
+package com.visang.tutor.demo.service;
+
+import com.visang.tutor.demo.repository.LogRollupRepository;
+import com.visang.tutor.demo.repository.LogRollupRepository.FoldResult;
+import com.visang.tutor.demo.repository.RollupSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+
+/**
+ * 분/시간 단위 개수 롤업 적재 작업
+ * - fixed-delay 간격으로 refined_error_logs의 새 행을 롤업 테이블에 반영
+ * - 처음 실행(또는 오래 멈춘 뒤)에는 max-batches만큼 나누어 따라잡고, 따라잡기 전까지 집계는 원본 테이블로 처리
+ * - 실패 시 로그만 남기고 다음 주기에 워터마크부터 다시 시도 (한 배치는 한 트랜잭션)
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "log-analysis.rollup.enabled", havingValue = "true", matchIfMissing = true)
+public class LogRollupJob {
+
+    @Autowired
+    private LogRollupRepository logRollupRepository;
+
+    @Value("${log-analysis.rollup.batch-size:50000}")
+    private int batchSize;
+
+    @Value("${log-analysis.rollup.max-batches:20}")
+    private int maxBatches;
+
+    @Value("${log-analysis.rollup.lag-seconds:10}")
+    private long lagSeconds;
+
+    @Scheduled(initialDelayString = "${log-analysis.rollup.initial-delay-ms:10000}",
+            fixedDelayString = "${log-analysis.rollup.fixed-delay-ms:30000}")
+    public void run() {
+        for (RollupSource source : RollupSource.values()) {
+            try {
+                fold(source);
+            } catch (Exception e) {
+                log.error("Log rollup failed for {}: {}", source.getTable(), e.getMessage());
+            }
+        }
+    }
+
+    private void fold(RollupSource source) {
+        Instant cutoff = Instant.now().minusSeconds(lagSeconds);
+        long total = 0;
+
+        for (int batch = 0; batch < maxBatches; batch++) {
+            FoldResult result = logRollupRepository.fold(source, batchSize, cutoff);
+            if (result.rows() < 0) {
+                return;
+            }
+            total += result.rows();
+            if (result.caughtUp()) {
+                break;
+            }
+        }
+
+        if (total > 0) {
+            log.debug("Folded {} rows of {} into rollups", total, source.getTable());
+        }
+    }
+}
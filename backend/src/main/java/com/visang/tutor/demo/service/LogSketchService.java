@@ -0,0 +1,359 @@
+package com.visang.tutor.demo.service;
+
+import com.visang.tutor.demo.dto.DistinctUsersResponse;
+import com.visang.tutor.demo.dto.HeavyHitterResponse;
+import com.visang.tutor.demo.dto.SketchCountResponse;
+import com.visang.tutor.demo.dto.SketchDimension;
+import com.visang.tutor.demo.repository.LogSketchRepository;
+import com.visang.tutor.demo.repository.LogSketchRepository.SketchRow;
+import com.visang.tutor.demo.repository.LogSketchRepository.Snapshot;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 스트리밍 스케치 기반 상위 K개/개수/서로 다른 사용자 수 추정
+ * - refined_error_logs(schlCd, userId, url)와 trace_logs(uuid)의 새 행을 id 워터마크 이후만 읽어 갱신
+ *   (기준마다 Count-Min 개수 추정 + Space-Saving 상위 K개, 에러는 학교별 userId HyperLogLog)
+ * - lag-seconds 이전에 생성된 마지막 행까지만 읽은 것으로 처리 (LogRollupRepository.fold와 같은 기준)
+ *   -> 늦게 커밋되는 앞 번호 id를 건너뛰지 않고 다음 주기에 다시 읽음
+ * - 스케치는 window 단위 구간(UTC 기준)마다 새로 시작하고, 메모리는 설정한 크기로 고정
+ *   (구간 시작 이전에 생성된 행은 워터마크만 넘기고 새 구간에 더하지 않음)
+ *   (상위 K개 조회는 O(K), 개수/사용자 수 추정은 O(1)이며 DB를 조회하지 않음)
+ * - persist-interval마다, 그리고 종료 시 log_sketch_snapshots에 저장하고,
+ *   재시작 시 같은 구간의 스냅샷이 있으면 저장된 last_id 이후부터 이어서 갱신 (없으면 구간 시작부터 따라잡음)
+ * - 갱신은 스케줄러 스레드에서만 하고, 조회와는 테이블별 스케치 묶음 단위로 동기화
+ */
+@Slf4j
+@Service
+public class LogSketchService {
+
+    private static final List<String> TABLES = List.of("refined_error_logs", "trace_logs");
+
+    /** 스냅샷 형식 버전 (2: CountMinSketch 행 위치 계산 변경 - 이전 스냅샷은 복원하지 않고 다시 계산) */
+    private static final int SNAPSHOT_VERSION = 2;
+
+    @Autowired
+    private LogSketchRepository logSketchRepository;
+
+    @Value("${log-analysis.sketch.enabled:true}")
+    private boolean enabled;
+
+    @Value("${log-analysis.sketch.window:P1D}")
+    private Duration window;
+
+    @Value("${log-analysis.sketch.count-min.depth:5}")
+    private int depth;
+
+    @Value("${log-analysis.sketch.count-min.width:2048}")
+    private int width;
+
+    @Value("${log-analysis.sketch.top-k.capacity:1000}")
+    private int capacity;
+
+    @Value("${log-analysis.sketch.hll.precision:11}")
+    private int precision;
+
+    @Value("${log-analysis.sketch.hll.max-schools:5000}")
+    private int maxSchools;
+
+    @Value("${log-analysis.sketch.batch-size:5000}")
+    private int batchSize;
+
+    @Value("${log-analysis.sketch.max-batches:20}")
+    private int maxBatches;
+
+    @Value("${log-analysis.sketch.lag-seconds:10}")
+    private long lagSeconds;
+
+    @Value("${log-analysis.sketch.persist-interval:PT1M}")
+    private Duration persistInterval;
+
+    private final Map<String, SketchSet> sets = new ConcurrentHashMap<>();
+
+    @Scheduled(initialDelayString = "${log-analysis.sketch.initial-delay-ms:20000}",
+            fixedDelayString = "${log-analysis.sketch.poll-interval-ms:10000}")
+    public void run() {
+        if (!enabled) {
+            return;
+        }
+        for (String table : TABLES) {
+            try {
+                update(table);
+            } catch (Exception e) {
+                log.error("Sketch update failed for {}: {}", table, e.getMessage());
+            }
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        for (Map.Entry<String, SketchSet> entry : sets.entrySet()) {
+            try {
+                persist(entry.getKey(), entry.getValue());
+            } catch (Exception e) {
+                log.warn("Failed to persist sketches for {}: {}", entry.getKey(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 기준별 상위 K개 (Space-Saving)
+     * @param dimension 기준
+     * @param k 개수
+     * @return 상위 K개 응답
+     */
+    public HeavyHitterResponse getTop(SketchDimension dimension, int k) {
+        SketchSet set = sets.get(dimension.getTable());
+        if (set == null) {
+            return new HeavyHitterResponse(dimension.getParameter(), null, 0, List.of());
+        }
+        synchronized (set) {
+            List<HeavyHitterResponse.Item> items = set.top.get(dimension).top(k).stream()
+                    .map(entry -> new HeavyHitterResponse.Item(entry.key(), entry.count(), entry.error()))
+                    .toList();
+            return new HeavyHitterResponse(dimension.getParameter(), set.windowStart,
+                    set.counts.get(dimension).total(), items);
+        }
+    }
+
+    /**
+     * 값 하나의 개수 추정 (Count-Min)
+     * @param dimension 기준
+     * @param key 값
+     * @return 개수 추정 응답
+     */
+    public SketchCountResponse getCount(SketchDimension dimension, String key) {
+        SketchSet set = sets.get(dimension.getTable());
+        if (set == null) {
+            return new SketchCountResponse(dimension.getParameter(), key, null, 0);
+        }
+        synchronized (set) {
+            return new SketchCountResponse(dimension.getParameter(), key, set.windowStart,
+                    set.counts.get(dimension).estimate(key));
+        }
+    }
+
+    /**
+     * 학교별 에러 발생 사용자 수 추정 (HyperLogLog)
+     * @param schlCd 학교 코드 (null이면 에러가 많은 상위 k개 학교)
+     * @param k 학교 개수
+     * @return 학교별 사용자 수 응답
+     */
+    public DistinctUsersResponse getDistinctUsers(String schlCd, int k) {
+        SketchSet set = sets.get(SketchDimension.SCHL_CD.getTable());
+        if (set == null) {
+            return new DistinctUsersResponse(null, List.of());
+        }
+        synchronized (set) {
+            List<String> schools = schlCd != null
+                    ? List.of(schlCd)
+                    : set.top.get(SketchDimension.SCHL_CD).top(k).stream().map(SpaceSaving.Entry::key).toList();
+            List<DistinctUsersResponse.School> result = schools.stream()
+                    .map(school -> {
+                        HyperLogLog users = set.schoolUsers.get(school);
+                        return new DistinctUsersResponse.School(school,
+                                set.counts.get(SketchDimension.SCHL_CD).estimate(school),
+                                users != null ? users.estimate() : 0);
+                    })
+                    .toList();
+            return new DistinctUsersResponse(set.windowStart, result);
+        }
+    }
+
+    private void update(String table) throws IOException {
+        List<SketchDimension> dimensions = SketchDimension.of(table);
+        Instant now = Instant.now();
+        Instant cutoff = now.minusSeconds(lagSeconds);
+        OffsetDateTime windowStart = windowStart(now);
+
+        SketchSet set = sets.get(table);
+        if (set == null) {
+            set = load(table, dimensions, windowStart);
+            sets.put(table, set);
+        } else if (!set.windowStart.equals(windowStart)) {
+            // 새 구간 시작 - 이전 구간의 스케치는 버리고 워터마크만 이어받음
+            set = new SketchSet(windowStart, set.lastId, dimensions);
+            sets.put(table, set);
+        }
+
+        long rows = 0;
+        for (int batch = 0; batch < maxBatches; batch++) {
+            List<SketchRow> batchRows = logSketchRepository.findAfterId(table, dimensions, set.lastId, batchSize);
+            int count = batchRows.size();
+            while (count > 0 && !batchRows.get(count - 1).createdAt().toInstant().isBefore(cutoff)) {
+                count--;
+            }
+            synchronized (set) {
+                for (SketchRow row : batchRows.subList(0, count)) {
+                    set.add(row);
+                }
+            }
+            rows += count;
+            if (count < batchRows.size() || batchRows.size() < batchSize) {
+                break;
+            }
+        }
+        if (rows > 0) {
+            set.dirty = true;
+            log.debug("Added {} rows of {} to sketches", rows, table);
+        }
+
+        if (set.dirty && System.currentTimeMillis() - set.persistedAt >= persistInterval.toMillis()) {
+            persist(table, set);
+        }
+    }
+
+    /**
+     * 같은 구간의 스냅샷이 있으면 복원, 없으면 구간 시작부터 따라잡도록 새로 만듦
+     */
+    private SketchSet load(String table, List<SketchDimension> dimensions, OffsetDateTime windowStart) {
+        Optional<Snapshot> snapshot = logSketchRepository.loadSnapshot(table);
+        if (snapshot.isPresent() && snapshot.get().windowStart().toInstant().equals(windowStart.toInstant())) {
+            try {
+                SketchSet set = restore(windowStart, snapshot.get().lastId(), dimensions, snapshot.get().data());
+                log.info("Restored sketches for {} from snapshot (last id {})", table, set.lastId);
+                return set;
+            } catch (IOException e) {
+                log.warn("Ignoring unreadable sketch snapshot for {}: {}", table, e.getMessage());
+            }
+        }
+        long lastId = logSketchRepository.findIdBefore(table, windowStart);
+        log.info("Starting sketches for {} from id {} (window {})", table, lastId, windowStart);
+        return new SketchSet(windowStart, lastId, dimensions);
+    }
+
+    /**
+     * 스냅샷 데이터로 스케치 묶음 복원 (기준 목록이 다르면 IOException)
+     */
+    private SketchSet restore(OffsetDateTime windowStart, long lastId, List<SketchDimension> dimensions,
+                              byte[] data) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(data));
+        if (in.readInt() != SNAPSHOT_VERSION || in.readInt() != dimensions.size()) {
+            throw new IOException("Unsupported snapshot format");
+        }
+        SketchSet set = new SketchSet(windowStart, lastId, dimensions);
+        for (SketchDimension dimension : dimensions) {
+            if (!dimension.getParameter().equals(in.readUTF())) {
+                throw new IOException("Snapshot dimensions do not match");
+            }
+            set.counts.put(dimension, CountMinSketch.readFrom(in));
+            set.top.put(dimension, SpaceSaving.readFrom(in));
+        }
+        int schools = in.readInt();
+        for (int i = 0; i < schools; i++) {
+            set.schoolUsers.put(in.readUTF(), HyperLogLog.readFrom(in));
+        }
+        return set;
+    }
+
+    private void persist(String table, SketchSet set) throws IOException {
+        Snapshot snapshot;
+        synchronized (set) {
+            snapshot = new Snapshot(set.windowStart, set.lastId, set.toBytes());
+            set.dirty = false;
+            set.persistedAt = System.currentTimeMillis();
+        }
+        logSketchRepository.saveSnapshot(table, snapshot);
+    }
+
+    private OffsetDateTime windowStart(Instant now) {
+        long windowSeconds = window.toSeconds();
+        return Instant.ofEpochSecond(Math.floorDiv(now.getEpochSecond(), windowSeconds) * windowSeconds)
+                .atOffset(ZoneOffset.UTC);
+    }
+
+    /**
+     * 원본 테이블 하나의 구간 스케치 묶음
+     */
+    private class SketchSet {
+
+        private final OffsetDateTime windowStart;
+        private final List<SketchDimension> dimensions;
+        private final Map<SketchDimension, CountMinSketch> counts = new HashMap<>();
+        private final Map<SketchDimension, SpaceSaving> top = new HashMap<>();
+        private final Map<String, HyperLogLog> schoolUsers = new HashMap<>();
+        private final int schoolIndex;
+        private final int userIndex;
+        private long lastId;
+        private boolean dirty;
+        private long persistedAt = System.currentTimeMillis();
+
+        SketchSet(OffsetDateTime windowStart, long lastId, List<SketchDimension> dimensions) {
+            this.windowStart = windowStart;
+            this.lastId = lastId;
+            this.dimensions = dimensions;
+            this.schoolIndex = dimensions.indexOf(SketchDimension.SCHL_CD);
+            this.userIndex = dimensions.indexOf(SketchDimension.USER_ID);
+            for (SketchDimension dimension : dimensions) {
+                counts.put(dimension, new CountMinSketch(depth, width));
+                top.put(dimension, new SpaceSaving(capacity));
+            }
+        }
+
+        void add(SketchRow row) {
+            lastId = row.id();
+            if (row.createdAt().isBefore(windowStart)) {
+                return;
+            }
+            String[] values = row.values();
+            for (int i = 0; i < values.length; i++) {
+                if (values[i] != null && !values[i].isEmpty()) {
+                    counts.get(dimensions.get(i)).add(values[i], 1);
+                    top.get(dimensions.get(i)).add(values[i], 1);
+                }
+            }
+            if (schoolIndex >= 0 && userIndex >= 0) {
+                String school = values[schoolIndex];
+                String user = values[userIndex];
+                if (school != null && !school.isEmpty() && user != null && !user.isEmpty()) {
+                    HyperLogLog users = schoolUsers.get(school);
+                    if (users == null && schoolUsers.size() < maxSchools) {
+                        users = new HyperLogLog(precision);
+                        schoolUsers.put(school, users);
+                    }
+                    if (users != null) {
+                        users.add(user);
+                    }
+                }
+            }
+        }
+
+        byte[] toBytes() throws IOException {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeInt(SNAPSHOT_VERSION);
+            out.writeInt(dimensions.size());
+            for (SketchDimension dimension : dimensions) {
+                out.writeUTF(dimension.getParameter());
+                counts.get(dimension).writeTo(out);
+                top.get(dimension).writeTo(out);
+            }
+            out.writeInt(schoolUsers.size());
+            for (Map.Entry<String, HyperLogLog> entry : schoolUsers.entrySet()) {
+                out.writeUTF(entry.getKey());
+                entry.getValue().writeTo(out);
+            }
+            out.flush();
+            return bytes.toByteArray();
+        }
+    }
+}
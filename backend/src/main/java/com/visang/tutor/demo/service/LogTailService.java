@@ -0,0 +1,433 @@
+package com.visang.tutor.demo.service;
+
+import com.visang.tutor.demo.dto.ErrorLogFilter;
+import com.visang.tutor.demo.dto.LogCursor;
+import com.visang.tutor.demo.dto.TraceLogFilter;
+import com.visang.tutor.demo.dto.TraceLogSource;
+import com.visang.tutor.demo.model.RefinedErrorLog;
+import com.visang.tutor.demo.model.TraceLog;
+import com.visang.tutor.demo.repository.ErrorLogQuery;
+import com.visang.tutor.demo.repository.RefinedErrorLogQueryRepository;
+import com.visang.tutor.demo.repository.TraceLogQuery;
+import com.visang.tutor.demo.repository.TraceLogQueryRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.function.LongFunction;
+import java.util.function.LongSupplier;
+import java.util.function.Predicate;
+
+/**
+ * 새 로그 실시간 전달 (Server-Sent Events)
+ * - 테이블(trace_logs_launcher, trace_logs, refined_error_logs)마다 폴러 하나가 poll-interval마다
+ *   마지막으로 읽은 id 이후의 행만 조회하고, 읽은 행을 구독자별 조건으로 걸러 전달
+ *   (구독자 수와 관계없이 테이블당 주기마다 쿼리 1번, 구독자가 없는 테이블은 조회하지 않음)
+ * - 이벤트 id는 로그의 커서 토큰이므로, 재연결 시 브라우저가 보내는 Last-Event-ID(또는 cursor 파라미터)
+ *   위치까지의 로그는 다시 보내지 않음
+ * - cursor(또는 Last-Event-ID)가 있으면 공유 폴러에 합류하기 전에 그 위치 이후의 로그를 since 조회로 먼저 전달
+ *   (목록 조회와 구독 사이, EventSource 재연결 사이에 추가된 로그도 빠지지 않음, 최대 backfill-limit개)
+ * - 늦게 커밋되어 작은 id로 나타나는 행을 놓치지 않도록 lag-seconds 이내에 생성된 행은 다음 주기에 다시 읽고,
+ *   이미 전달한 id는 건너뜀 (롤업 작업의 lag-seconds와 같은 기준)
+ * - 채널 잠금은 읽을 위치와 구독자 목록을 바꿀 때만 잡고, backfill 조회와 SSE 전송은 잠금 밖에서 실행
+ *   (재연결이 몰리거나 느린 클라이언트가 있어도 다른 구독자의 폴링을 막지 않음)
+ */
+@Slf4j
+@Component
+public class LogTailService {
+
+    private static final String LOG_EVENT = "log";
+
+    /** 밀린 로그가 backfill-limit보다 많아 최근 로그만 보낸 경우의 이벤트 (data: 보낸 로그 중 가장 오래된 커서) */
+    private static final String GAP_EVENT = "gap";
+
+    @Autowired
+    private TraceLogQueryRepository traceLogQueryRepository;
+
+    @Autowired
+    private RefinedErrorLogQueryRepository refinedErrorLogQueryRepository;
+
+    @Autowired
+    private QueryBulkhead queryBulkhead;
+
+    @Value("${log-analysis.tail.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${log-analysis.tail.max-batches:10}")
+    private int maxBatches;
+
+    @Value("${log-analysis.tail.max-subscribers:200}")
+    private int maxSubscribers;
+
+    @Value("${log-analysis.tail.timeout-ms:1800000}")
+    private long timeoutMs;
+
+    @Value("${log-analysis.tail.heartbeat-ms:15000}")
+    private long heartbeatMs;
+
+    @Value("${log-analysis.tail.lag-seconds:10}")
+    private long lagSeconds;
+
+    @Value("${log-analysis.tail.backfill-limit:1000}")
+    private int backfillLimit;
+
+    private final Map<TraceLogSource, Channel<TraceLog>> traceChannels = new EnumMap<>(TraceLogSource.class);
+
+    private Channel<RefinedErrorLog> errorChannel;
+
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+
+    @PostConstruct
+    void init() {
+        for (TraceLogSource source : TraceLogSource.values()) {
+            traceChannels.put(source, new Channel<>(source.getTable(),
+                    () -> traceLogQueryRepository.findMaxId(source),
+                    afterId -> traceLogQueryRepository.findAfterId(source, afterId, batchSize),
+                    TraceLog::getId,
+                    log -> new LogCursor(log.getCreatedAt(), log.getId())));
+        }
+        errorChannel = new Channel<>("refined_error_logs",
+                refinedErrorLogQueryRepository::findMaxId,
+                afterId -> refinedErrorLogQueryRepository.findAfterId(afterId, batchSize),
+                RefinedErrorLog::getId,
+                log -> new LogCursor(log.getCreatedAt(), log.getId()));
+    }
+
+    @PreDestroy
+    void shutdown() {
+        traceChannels.values().forEach(Channel::close);
+        errorChannel.close();
+    }
+
+    /**
+     * 조건에 맞는 새 Trace 로그 구독
+     * @param filter 조회 조건 (appName, logType, profile)
+     * @param lastSeen 이미 받은 마지막 로그 위치 (null이면 구독 이후의 로그 전체)
+     * @return SSE emitter
+     */
+    public SseEmitter subscribeTraceLogs(TraceLogFilter filter, LogCursor lastSeen) {
+        Channel<TraceLog> channel = traceChannels.get(traceLogQueryRepository.sourceOf(filter));
+        return subscribe(channel, TraceLogQuery.matcher(filter), lastSeen,
+                since -> queryBulkhead.call(queryBulkhead.classify(backfillLimit, null, null),
+                        () -> traceLogQueryRepository.find(filter.toBuilder().since(since).limit(backfillLimit).build())));
+    }
+
+    /**
+     * 조건에 맞는 새 에러 로그 구독
+     * @param filter 조회 조건 (profile, appName)
+     * @param lastSeen 이미 받은 마지막 로그 위치 (null이면 구독 이후의 로그 전체)
+     * @return SSE emitter
+     */
+    public SseEmitter subscribeErrorLogs(ErrorLogFilter filter, LogCursor lastSeen) {
+        ErrorLogFilter normalized = filter.normalized();
+        return subscribe(errorChannel, ErrorLogQuery.matcher(normalized), lastSeen,
+                since -> queryBulkhead.call(queryBulkhead.classify(backfillLimit, null, null),
+                        () -> refinedErrorLogQueryRepository.find(
+                                normalized.toBuilder().since(since).limit(backfillLimit).build())));
+    }
+
+    /**
+     * 구독자가 있는 테이블마다 새 로그를 읽어 전달
+     */
+    @Scheduled(fixedDelayString = "${log-analysis.tail.poll-interval-ms:2000}", scheduler = "logTailScheduler")
+    public void poll() {
+        List<Channel<?>> channels = new ArrayList<>(traceChannels.values());
+        channels.add(errorChannel);
+        for (Channel<?> channel : channels) {
+            try {
+                channel.poll();
+            } catch (Exception e) {
+                log.error("Log tail poll failed for {}: {}", channel.name, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * @param backfill since 위치 이후의 로그를 (created_at, id) 역순으로 backfill-limit개까지 조회 (QueryBulkhead 안에서 실행)
+     */
+    private <T> SseEmitter subscribe(Channel<T> channel, Predicate<T> matcher, LogCursor lastSeen,
+                                     Function<LogCursor, List<T>> backfill) {
+        if (subscriberCount.incrementAndGet() > maxSubscribers) {
+            subscriberCount.decrementAndGet();
+            throw new QueryRejectedException("Too many log tail subscribers");
+        }
+
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber<T> subscriber = new Subscriber<>(emitter, matcher, lastSeen);
+        Runnable remove = () -> {
+            if (channel.subscribers.remove(subscriber)) {
+                subscriberCount.decrementAndGet();
+            }
+        };
+        emitter.onCompletion(remove);
+        emitter.onTimeout(remove);
+        emitter.onError(e -> remove.run());
+        try {
+            long joinedAt = channel.join(subscriber);
+            if (lastSeen != null) {
+                channel.backfill(subscriber, backfill.apply(lastSeen), joinedAt);
+            }
+        } catch (RuntimeException e) {
+            remove.run();
+            throw e;
+        }
+        return emitter;
+    }
+
+    private static int compare(LogCursor a, LogCursor b) {
+        int result = a.createdAt().compareTo(b.createdAt());
+        return result != 0 ? result : Long.compare(a.id(), b.id());
+    }
+
+    /**
+     * 구독자 한 명
+     * - backfill 중에는 폴러가 읽은 행을 pending에 모아 두고, backfill을 보낸 뒤 이어서 보냄
+     *   (한 구독자에게는 한 스레드만 전송하므로 순서가 섞이지 않음)
+     */
+    private static class Subscriber<T> {
+
+        private final SseEmitter emitter;
+        private final Predicate<T> matcher;
+        /** 이 위치까지의 로그는 전달하지 않음 */
+        private final LogCursor lastSeen;
+        /** 구독 시 since 조회로 이미 보낸 로그 id (폴러가 같은 행을 읽으면 건너뜀) */
+        private final Set<Long> backfilled = new HashSet<>();
+        /** backfill 중 폴러가 읽은 행 (null이면 폴러가 바로 전송) */
+        private List<T> pending;
+
+        Subscriber(SseEmitter emitter, Predicate<T> matcher, LogCursor lastSeen) {
+            this.emitter = emitter;
+            this.matcher = matcher;
+            this.lastSeen = lastSeen;
+            this.pending = lastSeen != null ? new ArrayList<>() : null;
+        }
+
+        /**
+         * backfill 중이면 pending에 추가
+         * @return 추가 여부 (false면 호출한 스레드가 직접 전송)
+         */
+        synchronized boolean defer(List<T> rows) {
+            if (pending == null) {
+                return false;
+            }
+            pending.addAll(rows);
+            return true;
+        }
+
+        synchronized boolean isBackfilling() {
+            return pending != null;
+        }
+
+        /**
+         * pending을 꺼냄 - 비어 있으면 폴러가 바로 전송하도록 전환하고 null 반환
+         */
+        synchronized List<T> drain() {
+            if (pending.isEmpty()) {
+                pending = null;
+                return null;
+            }
+            List<T> rows = pending;
+            pending = new ArrayList<>();
+            return rows;
+        }
+    }
+
+    /**
+     * 테이블 하나의 공유 폴러와 구독자 목록
+     */
+    private class Channel<T> {
+
+        private final String name;
+        private final LongSupplier maxId;
+        private final LongFunction<List<T>> findAfterId;
+        private final Function<T, Long> id;
+        private final Function<T, LogCursor> position;
+        private final List<Subscriber<T>> subscribers = new CopyOnWriteArrayList<>();
+
+        /** 이 id까지는 lag-seconds가 지난 행까지 모두 읽음 - 다음 주기는 이 id 이후부터 다시 읽음 (구독자가 없으면 null) */
+        private Long lastId;
+        /** lastId 이후에 이미 전달한 id */
+        private final NavigableSet<Long> deliveredIds = new TreeSet<>();
+        private long lastSentAt = System.currentTimeMillis();
+
+        Channel(String name, LongSupplier maxId, LongFunction<List<T>> findAfterId,
+                Function<T, Long> id, Function<T, LogCursor> position) {
+            this.name = name;
+            this.maxId = maxId;
+            this.findAfterId = findAfterId;
+            this.id = id;
+            this.position = position;
+        }
+
+        /**
+         * 구독자 추가 (폴링과 겹치지 않도록 채널 잠금 안에서 읽을 위치만 정함)
+         * @return 합류 시점의 lastId (이 id까지의 행은 폴러가 다시 읽지 않음)
+         */
+        synchronized long join(Subscriber<T> subscriber) {
+            if (lastId == null) {
+                lastId = maxId.getAsLong();
+                deliveredIds.clear();
+            }
+            subscribers.add(subscriber);
+            return lastId;
+        }
+
+        /**
+         * 밀린 로그를 보낸 뒤, 그동안 폴러가 모아 둔 행을 이어서 보냄 (채널 잠금 밖에서 실행)
+         * - 폴러도 읽는 행(joinedAt 이후 id)은 backfilled에 기록하여 두 번 보내지 않음
+         * @param rows 밀린 로그 ((created_at, id) 역순)
+         * @param joinedAt join이 반환한 lastId
+         */
+        void backfill(Subscriber<T> subscriber, List<T> rows, long joinedAt) {
+            boolean open = rows.size() < backfillLimit || send(subscriber, SseEmitter.event()
+                    .name(GAP_EVENT)
+                    .data(position.apply(rows.get(rows.size() - 1)).encode()));
+            for (int i = rows.size() - 1; open && i >= 0; i--) {
+                T row = rows.get(i);
+                long rowId = id.apply(row);
+                if (rowId > joinedAt) {
+                    subscriber.backfilled.add(rowId);
+                }
+                open = send(subscriber, event(row));
+            }
+
+            List<T> pending;
+            while ((pending = subscriber.drain()) != null) {
+                for (T row : pending) {
+                    if (open && !subscriber.backfilled.remove(id.apply(row))) {
+                        open = send(subscriber, event(row));
+                    }
+                }
+            }
+        }
+
+        void poll() {
+            List<T> fresh = read();
+            if (fresh == null) {
+                return;
+            }
+            if (!fresh.isEmpty()) {
+                deliver(fresh);
+            }
+
+            if (System.currentTimeMillis() - lastSentAt >= heartbeatMs) {
+                for (Subscriber<T> subscriber : subscribers) {
+                    if (!subscriber.isBackfilling()) {
+                        send(subscriber, SseEmitter.event().comment("heartbeat"));
+                    }
+                }
+                lastSentAt = System.currentTimeMillis();
+            }
+        }
+
+        /**
+         * lastId 이후의 새 행 조회 (채널 잠금 안에서 실행)
+         * @return 아직 전달하지 않은 행 (구독자가 없으면 null)
+         */
+        private synchronized List<T> read() {
+            if (subscribers.isEmpty()) {
+                lastId = null;
+                deliveredIds.clear();
+                return null;
+            }
+            if (lastId == null) {
+                lastId = maxId.getAsLong();
+            }
+
+            // lastId 이후를 다시 읽되, cutoff 이전에 생성된 행이 이어지는 구간까지만 lastId를 옮김
+            // (LogRollupRepository.fold와 같은 기준 - 그 뒤의 행은 늦게 커밋된 작은 id가 있을 수 있으므로 다음 주기에 다시 읽음)
+            Instant cutoff = Instant.now().minusSeconds(lagSeconds);
+            long afterId = lastId;
+            boolean settled = true;
+            List<T> fresh = new ArrayList<>();
+            for (int batch = 0; batch < maxBatches; batch++) {
+                List<T> rows = findAfterId.apply(afterId);
+                for (T row : rows) {
+                    long rowId = id.apply(row);
+                    if (deliveredIds.add(rowId)) {
+                        fresh.add(row);
+                    }
+                    settled = settled && position.apply(row).createdAt().toInstant().isBefore(cutoff);
+                    if (settled) {
+                        lastId = rowId;
+                    }
+                }
+                if (rows.size() < batchSize) {
+                    break;
+                }
+                afterId = id.apply(rows.get(rows.size() - 1));
+            }
+            deliveredIds.headSet(lastId, true).clear();
+            return fresh;
+        }
+
+        /**
+         * 구독자별 조건으로 걸러 전달 (채널 잠금 밖에서 폴러 스레드가 실행, backfill 중인 구독자는 pending에 추가)
+         */
+        private void deliver(List<T> rows) {
+            for (Subscriber<T> subscriber : subscribers) {
+                List<T> matched = rows.stream()
+                        .filter(subscriber.matcher)
+                        .filter(row -> subscriber.lastSeen == null
+                                || compare(position.apply(row), subscriber.lastSeen) > 0)
+                        .toList();
+                if (matched.isEmpty() || subscriber.defer(matched)) {
+                    continue;
+                }
+                for (T row : matched) {
+                    if (!subscriber.backfilled.remove(id.apply(row)) && !send(subscriber, event(row))) {
+                        break;
+                    }
+                }
+            }
+            lastSentAt = System.currentTimeMillis();
+        }
+
+        private SseEmitter.SseEventBuilder event(T row) {
+            return SseEmitter.event()
+                    .id(position.apply(row).encode())
+                    .name(LOG_EVENT)
+                    .data(row, MediaType.APPLICATION_JSON);
+        }
+
+        /**
+         * @return 전송 성공 여부 (연결이 끊긴 구독자는 목록에서 제거)
+         */
+        private boolean send(Subscriber<T> subscriber, SseEmitter.SseEventBuilder event) {
+            try {
+                subscriber.emitter.send(event);
+                return true;
+            } catch (IOException | IllegalStateException e) {
+                if (subscribers.remove(subscriber)) {
+                    subscriberCount.decrementAndGet();
+                }
+                subscriber.emitter.completeWithError(e);
+                return false;
+            }
+        }
+
+        void close() {
+            subscribers.forEach(subscriber -> subscriber.emitter.complete());
+            subscribers.clear();
+        }
+    }
+}
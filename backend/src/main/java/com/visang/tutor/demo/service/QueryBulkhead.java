@@ -0,0 +1,145 @@
+package com.visang.tutor.demo.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * 조회 종류별 동시 DB 조회 수 제한 (bulkhead)
+ * - HEAVY: limit이 heavy-limit(10000) 이상이거나 조회 구간이 heavy-range(1일)보다 긴 조회
+ * - LIGHT: 그 밖의 조회
+ * - STREAM: NDJSON 스트리밍 응답 (응답을 다 쓸 때까지 permit을 잡으므로 느린 클라이언트가 HEAVY 조회를 막지 않도록 분리)
+ * - 종류별로 permit을 따로 두어 대량 조회가 커넥션 풀을 모두 차지해도 일반 조회는 바로 실행됨
+ *   (heavy-permits + light-permits + stream-permits는 Hikari maximum-pool-size 이하로 설정)
+ * - 대기 시간 안에 permit을 얻지 못하면 QueryRejectedException (503)
+ * - 종류별 남은 permit은 bulkhead.available 지표(class 태그)로 노출
+ */
+@Component
+public class QueryBulkhead {
+
+    public enum QueryClass {
+        HEAVY,
+        LIGHT,
+        STREAM
+    }
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Value("${log-analysis.bulkhead.heavy-limit:10000}")
+    private int heavyLimit;
+
+    @Value("${log-analysis.bulkhead.heavy-range:P1D}")
+    private Duration heavyRange;
+
+    @Value("${log-analysis.bulkhead.heavy-permits:2}")
+    private int heavyPermits;
+
+    @Value("${log-analysis.bulkhead.light-permits:6}")
+    private int lightPermits;
+
+    @Value("${log-analysis.bulkhead.stream-permits:2}")
+    private int streamPermits;
+
+    @Value("${log-analysis.bulkhead.heavy-timeout:PT30S}")
+    private Duration heavyTimeout;
+
+    @Value("${log-analysis.bulkhead.light-timeout:PT5S}")
+    private Duration lightTimeout;
+
+    @Value("${log-analysis.bulkhead.stream-timeout:PT5S}")
+    private Duration streamTimeout;
+
+    private Semaphore heavy;
+    private Semaphore light;
+    private Semaphore stream;
+
+    @PostConstruct
+    void init() {
+        heavy = new Semaphore(heavyPermits, true);
+        light = new Semaphore(lightPermits, true);
+        stream = new Semaphore(streamPermits, true);
+        Gauge.builder("bulkhead.available", heavy, Semaphore::availablePermits)
+                .tag("class", "heavy")
+                .register(meterRegistry);
+        Gauge.builder("bulkhead.available", light, Semaphore::availablePermits)
+                .tag("class", "light")
+                .register(meterRegistry);
+        Gauge.builder("bulkhead.available", stream, Semaphore::availablePermits)
+                .tag("class", "stream")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 조회 종류 판단
+     * @param limit 조회할 개수
+     * @param startDate 시작 날짜/시간 (null이면 구간 조건 없음)
+     * @param endDate 종료 날짜/시간 (null이면 현재까지)
+     * @return 조회 종류
+     */
+    public QueryClass classify(int limit, OffsetDateTime startDate, OffsetDateTime endDate) {
+        if (limit >= heavyLimit) {
+            return QueryClass.HEAVY;
+        }
+        if (startDate != null) {
+            OffsetDateTime end = endDate != null ? endDate : OffsetDateTime.now();
+            if (Duration.between(startDate, end).compareTo(heavyRange) > 0) {
+                return QueryClass.HEAVY;
+            }
+        }
+        return QueryClass.LIGHT;
+    }
+
+    /**
+     * permit을 얻어 조회 실행
+     * @param queryClass 조회 종류
+     * @param query 조회
+     * @return 조회 결과
+     * @throws QueryRejectedException 대기 시간 안에 permit을 얻지 못한 경우
+     */
+    public <T> T call(QueryClass queryClass, Supplier<T> query) {
+        Semaphore semaphore = switch (queryClass) {
+            case HEAVY -> heavy;
+            case LIGHT -> light;
+            case STREAM -> stream;
+        };
+        Duration timeout = switch (queryClass) {
+            case HEAVY -> heavyTimeout;
+            case LIGHT -> lightTimeout;
+            case STREAM -> streamTimeout;
+        };
+        try {
+            if (!semaphore.tryAcquire(timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new QueryRejectedException("Too many concurrent " + queryClass.name().toLowerCase() + " queries");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new QueryRejectedException("Interrupted while waiting for a query permit");
+        }
+
+        try {
+            return query.get();
+        } finally {
+            semaphore.release();
+        }
+    }
+
+    /**
+     * permit을 얻어 조회 실행 (결과 없음, 스트리밍 조회용)
+     */
+    public void run(QueryClass queryClass, Runnable query) {
+        call(queryClass, () -> {
+            query.run();
+            return null;
+        });
+    }
+}
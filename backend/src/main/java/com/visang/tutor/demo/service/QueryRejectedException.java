@@ -0,0 +1,17 @@
+package com.visang.tutor.demo.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * 동시 조회 수 제한(QueryBulkhead)으로 대기 시간 안에 조회를 시작하지 못한 경우 (503)
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class QueryRejectedException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public QueryRejectedException(String message) {
+        super(message);
+    }
+}
@@ -1,93 +1,203 @@
 package com.visang.tutor.demo.service;
 
+import com.visang.tutor.demo.dto.CountMode;
+import com.visang.tutor.demo.dto.ErrorLogFilter;
+import com.visang.tutor.demo.dto.ErrorLogGroupResponse;
+import com.visang.tutor.demo.dto.ErrorLogResponse;
+import com.visang.tutor.demo.dto.ErrorLogSummary;
+import com.visang.tutor.demo.dto.LogCursor;
+import com.visang.tutor.demo.dto.LogSearchResponse;
+import com.visang.tutor.demo.dto.TraceLogSource;
 import com.visang.tutor.demo.model.RefinedErrorLog;
-import com.visang.tutor.demo.repository.RefinedErrorLogRepository;
+import com.visang.tutor.demo.model.TraceLog;
+import com.visang.tutor.demo.repository.RefinedErrorLogQueryRepository;
+import com.visang.tutor.demo.repository.RefinedErrorLogQueryRepository.LogsWithTotal;
+import com.visang.tutor.demo.repository.TraceLogQueryRepository;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 
-import java.time.OffsetDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class RefinedErrorLogService {
 
     @Autowired
-    private RefinedErrorLogRepository refinedErrorLogRepository;
+    private RefinedErrorLogQueryRepository refinedErrorLogQueryRepository;
+
+    @Autowired
+    private TraceLogQueryRepository traceLogQueryRepository;
+
+    @Autowired
+    private LogQueryCache logQueryCache;
+
+    @Autowired
+    private QueryBulkhead queryBulkhead;
 
     /**
      * 날짜 구간과 필터로 에러 로그 조회
-     * @param startDate 시작 날짜/시간
-     * @param endDate 종료 날짜/시간
-     * @param profile 프로필 필터 (all인 경우 null 처리)
-     * @param appName 앱 이름 필터 (all인 경우 null 처리)
-     * @param limit 조회할 개수
+     * @param filter 조회 조건 (profile, appName이 all인 경우 null 처리, 커서 이후만 조회)
      * @return RefinedErrorLog 리스트
      */
-    public List<RefinedErrorLog> getErrorLogsByDateRange(
-            OffsetDateTime startDate,
-            OffsetDateTime endDate,
-            String profile,
-            String appName,
-            int limit) {
-
-        String profileFilter = (profile == null || "all".equalsIgnoreCase(profile)) ? null : profile;
-        String appNameFilter = (appName == null || "all".equalsIgnoreCase(appName)) ? null : appName;
-
-        Pageable pageable = PageRequest.of(0, limit);
-        return refinedErrorLogRepository.findByFilters(startDate, endDate, profileFilter, appNameFilter, pageable);
+    public List<RefinedErrorLog> getErrorLogs(ErrorLogFilter filter) {
+        ErrorLogFilter normalized = filter.normalized();
+        return queryBulkhead.call(classify(normalized), () -> refinedErrorLogQueryRepository.find(normalized));
     }
 
     /**
-     * 최근 시간 기준으로 에러 로그 조회
-     * @param minutes 최근 몇 분 (10, 30, 60)
-     * @param profile 프로필 필터 (all인 경우 null 처리)
-     * @param appName 앱 이름 필터 (all인 경우 null 처리)
-     * @param limit 조회할 개수
-     * @return RefinedErrorLog 리스트
+     * 날짜 구간과 필터로 에러 로그 목록, 전체 개수, 다음 페이지 커서 조회
+     * - EXACT: 캐시된 개수가 있으면 목록만 조회, 첫 페이지는 COUNT(*) OVER()로 한 번에 조회 후 캐시,
+     *          다음 페이지는 캐시가 없을 때만 COUNT 조회
+     * - ESTIMATE: 실행 계획의 예상 행 수 (근사값)
+     * - NONE: 개수 계산 없음 (total = -1)
+     * - 같은 조건/시간 구간의 응답은 LogQueryCache에서 재사용 (동시 요청은 목록+개수 조회를 한 번만 실행)
+     * @param filter 조회 조건 (profile, appName이 all인 경우 null 처리)
+     * @param countMode 전체 개수 계산 방식
+     * @return 에러 로그 응답
      */
-    public List<RefinedErrorLog> getRecentErrorLogs(
-            int minutes,
-            String profile,
-            String appName,
-            int limit) {
-
-        OffsetDateTime startTime = OffsetDateTime.now().minusMinutes(minutes);
-        String profileFilter = (profile == null || "all".equalsIgnoreCase(profile)) ? null : profile;
-        String appNameFilter = (appName == null || "all".equalsIgnoreCase(appName)) ? null : appName;
-
-        Pageable pageable = PageRequest.of(0, limit);
-        return refinedErrorLogRepository.findRecentByFilters(startTime, profileFilter, appNameFilter, pageable);
+    public ErrorLogResponse<RefinedErrorLog> getErrorLogPage(ErrorLogFilter filter, CountMode countMode) {
+        ErrorLogFilter normalized = filter.normalized();
+        return logQueryCache.getErrorLogPage(normalized, countMode, () -> queryBulkhead.call(classify(normalized),
+                () -> loadErrorLogPage(normalized, countMode)));
     }
 
     /**
-     * 날짜 구간과 필터로 전체 에러 로그 개수 조회
+     * 에러 로그 목록과 함께 원본 Trace 로그(traceLogsId) 조회
+     * - 목록 한 페이지의 traceLogsId를 모아 trace_logs를 쿼리 한 번(WHERE id = ANY(?))으로 조회
+     *   (에러마다 Trace 로그를 따로 조회하지 않음)
+     * - 캐시된 목록 응답은 그대로 두고 traceLogs를 붙인 새 응답을 반환
+     * @param filter 조회 조건 (profile, appName이 all인 경우 null 처리)
+     * @param countMode 전체 개수 계산 방식
+     * @param includeTrace 원본 Trace 로그 포함 여부
+     * @return 에러 로그 응답
      */
-    public long countByFilters(
-            OffsetDateTime startDate,
-            OffsetDateTime endDate,
-            String profile,
-            String appName) {
+    public ErrorLogResponse<RefinedErrorLog> getErrorLogPage(ErrorLogFilter filter, CountMode countMode,
+                                                             boolean includeTrace) {
+        ErrorLogResponse<RefinedErrorLog> page = getErrorLogPage(filter, countMode);
+        if (!includeTrace) {
+            return page;
+        }
+        List<Long> traceLogIds = page.getLogs().stream()
+                .map(RefinedErrorLog::getTraceLogsId)
+                .filter(Objects::nonNull)
+                .toList();
+        Map<Long, TraceLog> traceLogs = queryBulkhead.call(QueryBulkhead.QueryClass.LIGHT,
+                () -> traceLogQueryRepository.findByIds(TraceLogSource.TRACE, traceLogIds)).stream()
+                .collect(Collectors.toMap(TraceLog::getId, Function.identity()));
+        return new ErrorLogResponse<>(page.getLogs(), page.getTotal(), page.isTotalApproximate(),
+                page.getNextCursor(), traceLogs);
+    }
 
-        String profileFilter = (profile == null || "all".equalsIgnoreCase(profile)) ? null : profile;
-        String appNameFilter = (appName == null || "all".equalsIgnoreCase(appName)) ? null : appName;
+    private ErrorLogResponse<RefinedErrorLog> loadErrorLogPage(ErrorLogFilter normalized, CountMode countMode) {
+        return loadPage(normalized, countMode, refinedErrorLogQueryRepository::find,
+                refinedErrorLogQueryRepository::findWithTotal, log -> new LogCursor(log.getCreatedAt(), log.getId()));
+    }
 
-        return refinedErrorLogRepository.countByFilters(startDate, endDate, profileFilter, appNameFilter);
+    /**
+     * 날짜 구간과 필터로 에러 로그 목록용 요약, 전체 개수, 다음 페이지 커서 조회
+     * - 요약 목록은 err_msg 앞부분만 포함하고 message, url 등 큰 컬럼은 제외
+     * - 개수 계산, 캐시, 동시 요청 합치기는 getErrorLogPage와 같음 (전체 개수 캐시도 공유)
+     * @param filter 조회 조건 (profile, appName이 all인 경우 null 처리)
+     * @param countMode 전체 개수 계산 방식
+     * @return 에러 로그 요약 응답
+     */
+    public ErrorLogResponse<ErrorLogSummary> getErrorLogSummaryPage(ErrorLogFilter filter, CountMode countMode) {
+        ErrorLogFilter normalized = filter.normalized();
+        return logQueryCache.getErrorLogSummaryPage(normalized, countMode, () -> queryBulkhead.call(classify(normalized),
+                () -> loadPage(normalized, countMode, refinedErrorLogQueryRepository::findSummaries,
+                        refinedErrorLogQueryRepository::findSummariesWithTotal,
+                        log -> new LogCursor(log.createdAt(), log.id()))));
     }
 
     /**
-     * 최근 시간 기준으로 전체 에러 로그 개수 조회
+     * 목록과 전체 개수 조회 (getErrorLogPage 참고)
+     * @param find 목록 조회
+     * @param findWithTotal 목록과 전체 개수를 한 번에 조회 (COUNT(*) OVER())
+     * @param cursorOf 다음 페이지 커서
      */
-    public long countRecentByFilters(
-            int minutes,
-            String profile,
-            String appName) {
+    private <T> ErrorLogResponse<T> loadPage(ErrorLogFilter normalized, CountMode countMode,
+                                             Function<ErrorLogFilter, List<T>> find,
+                                             Function<ErrorLogFilter, LogsWithTotal<T>> findWithTotal,
+                                             Function<T, LogCursor> cursorOf) {
+        List<T> logs;
+        long total;
+
+        switch (countMode) {
+            case ESTIMATE -> {
+                logs = find.apply(normalized);
+                total = refinedErrorLogQueryRepository.estimateCount(normalized);
+            }
+            case NONE -> {
+                logs = find.apply(normalized);
+                total = -1;
+            }
+            default -> {
+                Long cached = logQueryCache.getErrorLogCountIfPresent(normalized);
+                if (cached != null) {
+                    logs = find.apply(normalized);
+                    total = cached;
+                } else if (normalized.getCursor() == null && normalized.getSince() == null) {
+                    LogsWithTotal<T> result = findWithTotal.apply(normalized);
+                    logs = result.logs();
+                    total = result.total();
+                    logQueryCache.putErrorLogCount(normalized, total);
+                } else {
+                    logs = find.apply(normalized);
+                    total = logQueryCache.getErrorLogCount(normalized, () -> refinedErrorLogQueryRepository.count(normalized));
+                }
+            }
+        }
+
+        String nextCursor = LogCursor.nextToken(logs, normalized.getLimit(), cursorOf);
+        return new ErrorLogResponse<>(logs, total, countMode == CountMode.ESTIMATE, nextCursor);
+    }
 
-        OffsetDateTime startTime = OffsetDateTime.now().minusMinutes(minutes);
-        String profileFilter = (profile == null || "all".equalsIgnoreCase(profile)) ? null : profile;
-        String appNameFilter = (appName == null || "all".equalsIgnoreCase(appName)) ? null : appName;
+    /**
+     * 에러 로그를 시그니처별로 묶어 조회 (같은 에러가 대량으로 발생해도 시그니처당 한 행)
+     * - 묶음은 SQL GROUP BY로 계산하므로 로그 목록을 애플리케이션으로 가져오지 않음
+     * @param filter 조회 조건 (profile, appName이 all인 경우 null 처리)
+     * @param top 시그니처 개수
+     * @param samples 시그니처별 최근 에러 ID 개수
+     * @return 시그니처 묶음 응답
+     */
+    public ErrorLogGroupResponse getErrorLogGroups(ErrorLogFilter filter, int top, int samples) {
+        ErrorLogFilter normalized = filter.normalized();
+        return queryBulkhead.call(queryBulkhead.classify(0, normalized.getStartDate(), normalized.getEndDate()),
+                () -> refinedErrorLogQueryRepository.findGroups(normalized, top, samples));
+    }
+
+    /**
+     * 에러 로그 전문 검색 (err_msg + message, GIN 인덱스 사용)
+     * - 관련도 순서이므로 키셋 커서 대신 offset으로 페이지를 나누고, limit + 1개를 조회해 다음 페이지 여부를 판단
+     * @param filter 조회 조건 (profile, appName이 all인 경우 null 처리, limit 포함)
+     * @param search 검색어 (websearch_to_tsquery 문법: 단어 AND, "구문", OR, -제외)
+     * @param offset 건너뛸 결과 수
+     * @return 검색 응답
+     */
+    public LogSearchResponse<ErrorLogSummary> searchErrorLogs(ErrorLogFilter filter, String search, int offset) {
+        ErrorLogFilter normalized = filter.normalized();
+        List<LogSearchResponse.Hit<ErrorLogSummary>> hits = queryBulkhead.call(classify(normalized),
+                () -> refinedErrorLogQueryRepository.search(
+                        normalized.toBuilder().limit(normalized.getLimit() + 1).build(), search, offset));
+        boolean hasMore = hits.size() > normalized.getLimit();
+        return new LogSearchResponse<>(search, offset, hasMore,
+                hasMore ? hits.subList(0, normalized.getLimit()) : hits);
+    }
+
+    /**
+     * ID로 에러 로그 한 건 조회 (상세 화면용)
+     * @param id 에러 로그 ID
+     * @return RefinedErrorLog (없으면 empty)
+     */
+    public Optional<RefinedErrorLog> getErrorLog(long id) {
+        return refinedErrorLogQueryRepository.findById(id);
+    }
 
-        return refinedErrorLogRepository.countRecentByFilters(startTime, profileFilter, appNameFilter);
+    private QueryBulkhead.QueryClass classify(ErrorLogFilter filter) {
+        return queryBulkhead.classify(filter.getLimit(), filter.getStartDate(), filter.getEndDate());
     }
 }
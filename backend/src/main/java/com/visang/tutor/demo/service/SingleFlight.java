@@ -0,0 +1,70 @@
+package com.visang.tutor.demo.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * 같은 키의 동시 요청을 하나의 조회로 합침 (single-flight)
+ * - 먼저 들어온 요청이 호출 스레드에서 조회하고, 그 사이에 들어온 같은 키의 요청은 같은 CompletableFuture 결과를 기다림
+ * - 조회가 끝나면 키를 제거하므로 결과를 저장하지 않음 (캐시가 아님)
+ * - 예외도 기다리던 요청에 그대로 전달
+ * - 합쳐진 요청 수는 singleflight.shared 지표(name 태그)로 노출
+ */
+public class SingleFlight<K, V> {
+
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final Counter shared;
+
+    public SingleFlight(String name, MeterRegistry meterRegistry) {
+        this.shared = Counter.builder("singleflight.shared")
+                .description("Requests that waited for an identical in-flight query")
+                .tag("name", name)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 같은 키로 진행 중인 조회가 있으면 그 결과를 기다리고, 없으면 직접 조회
+     * @param key 조회 키
+     * @param loader 조회
+     * @return 조회 결과
+     */
+    public V execute(K key, Supplier<V> loader) {
+        CompletableFuture<V> future = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, future);
+        if (existing != null) {
+            shared.increment();
+            return join(existing);
+        }
+
+        try {
+            V value = loader.get();
+            future.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            future.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, future);
+        }
+    }
+
+    private static <V> V join(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
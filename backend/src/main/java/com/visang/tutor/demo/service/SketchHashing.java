@@ -0,0 +1,29 @@
+package com.visang.tutor.demo.service;
+
+/**
+ * 스케치(Count-Min, HyperLogLog)용 64비트 문자열 해시
+ * - FNV-1a로 문자를 섞은 뒤 MurmurHash3 fmix64로 비트를 고르게 퍼뜨림
+ * - 스냅샷에 저장된 스케치를 다시 읽을 수 있도록 JVM이나 실행마다 달라지지 않는 값이어야 함 (String.hashCode 대신 사용)
+ */
+final class SketchHashing {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private SketchHashing() {
+    }
+
+    static long hash64(String value) {
+        long h = FNV_OFFSET;
+        for (int i = 0; i < value.length(); i++) {
+            h ^= value.charAt(i);
+            h *= FNV_PRIME;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
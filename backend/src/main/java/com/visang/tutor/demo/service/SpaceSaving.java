@@ -0,0 +1,116 @@
+package com.visang.tutor.demo.service;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Space-Saving 상위 K개(heavy hitter) 추적 - 최대 capacity개 키만 보관 (고정 메모리)
+ * - 보관 중인 키는 개수를 더하고, 새 키는 개수가 가장 적은 키를 내보낸 자리에 그 개수 + 1로 들어감
+ * - 개수는 실제 개수 이상이며 실제 개수와의 차이는 error 이하 (count - error가 보장된 최소 개수)
+ * - 전체 개수 N에서 N/capacity보다 많이 나온 키는 반드시 보관됨
+ * - 같은 스레드에서만 갱신하거나 호출하는 쪽에서 동기화
+ */
+public class SpaceSaving {
+
+    /**
+     * @param key 키
+     * @param count 추정 개수 (실제 개수 이상)
+     * @param error 최대 과대 추정량
+     */
+    public record Entry(String key, long count, long error) {
+    }
+
+    private static final Comparator<Counter> ORDER = Comparator.<Counter>comparingLong(c -> c.count)
+            .thenComparingLong(c -> c.seq);
+
+    private static final class Counter {
+        private final String key;
+        private final long seq;
+        private long count;
+        private long error;
+
+        Counter(String key, long seq, long count, long error) {
+            this.key = key;
+            this.seq = seq;
+            this.count = count;
+            this.error = error;
+        }
+    }
+
+    private final int capacity;
+    private final Map<String, Counter> counters = new HashMap<>();
+    private final TreeSet<Counter> ordered = new TreeSet<>(ORDER);
+    private long seq;
+
+    public SpaceSaving(int capacity) {
+        this.capacity = capacity;
+    }
+
+    /**
+     * 키 추가 (O(log capacity))
+     * @param key 키
+     * @param count 더할 개수
+     */
+    public void add(String key, long count) {
+        Counter counter = counters.get(key);
+        if (counter != null) {
+            ordered.remove(counter);
+            counter.count += count;
+            ordered.add(counter);
+            return;
+        }
+        long error = 0;
+        if (counters.size() >= capacity) {
+            Counter min = ordered.pollFirst();
+            counters.remove(min.key);
+            error = min.count;
+        }
+        counter = new Counter(key, seq++, error + count, error);
+        counters.put(key, counter);
+        ordered.add(counter);
+    }
+
+    /**
+     * 개수가 많은 순서로 상위 k개
+     * @param k 개수
+     * @return 상위 키 목록
+     */
+    public List<Entry> top(int k) {
+        List<Entry> entries = new ArrayList<>(Math.min(k, counters.size()));
+        Iterator<Counter> iterator = ordered.descendingIterator();
+        while (iterator.hasNext() && entries.size() < k) {
+            Counter counter = iterator.next();
+            entries.add(new Entry(counter.key, counter.count, counter.error));
+        }
+        return entries;
+    }
+
+    public void writeTo(DataOutput out) throws IOException {
+        out.writeInt(capacity);
+        out.writeInt(counters.size());
+        for (Counter counter : ordered) {
+            out.writeUTF(counter.key);
+            out.writeLong(counter.count);
+            out.writeLong(counter.error);
+        }
+    }
+
+    public static SpaceSaving readFrom(DataInput in) throws IOException {
+        SpaceSaving sketch = new SpaceSaving(in.readInt());
+        int size = in.readInt();
+        for (int i = 0; i < size; i++) {
+            Counter counter = new Counter(in.readUTF(), sketch.seq++, in.readLong(), in.readLong());
+            sketch.counters.put(counter.key, counter);
+            sketch.ordered.add(counter);
+        }
+        return sketch;
+    }
+}
@@ -0,0 +1,276 @@
+package com.visang.tutor.demo.service;
+
+import com.visang.tutor.demo.dto.TraceLogFilter;
+import com.visang.tutor.demo.model.TraceLog;
+import com.visang.tutor.demo.repository.QueryCancellation;
+import com.visang.tutor.demo.repository.TraceLogQueryRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 긴 날짜 구간 조회를 시간 구간(slice)으로 나누어 병렬 조회
+ * - min-range보다 긴 [startDate, endDate] 조회를 slices개의 겹치지 않는 구간으로 나누고,
+ *   각 구간을 별도 커넥션에서 (created_at, id) 역순 LIMIT 조회
+ * - 구간끼리 겹치지 않으므로 최신 구간부터 이어 붙이면 전체 정렬 순서와 같음 (별도 정렬 없이 병합)
+ * - 각 구간은 읽기 전용 트랜잭션에서 fetch size 단위로 스트리밍하며, 구간마다 아직 필요한 행 수까지만 보관
+ *   (필요한 행 수 = limit - 더 최신 구간들이 지금까지 보관한 행 수, 최신 구간이 채워질수록 줄어듦)
+ * - 최신 구간이 행을 보관할 때마다 오래된 구간의 초과분을 버리고, 필요한 행이 0이 된 구간은 그 자리에서 취소 (Statement.cancel)
+ *   → 동시에 보관하는 행은 구간 수와 관계없이 약 limit개
+ * - 전용 스레드 풀(threads)에서 실행하므로 동시에 쓰는 커넥션 수는 threads개로 제한
+ */
+@Component
+public class TraceLogFanOut {
+
+    /** PostgreSQL timestamp 정밀도 (구간 시작은 이 단위로 내리고, 다음 구간 끝은 그 직전으로 맞춤) */
+    private static final Duration TIMESTAMP_PRECISION = Duration.ofNanos(1000);
+
+    @Autowired
+    private TraceLogQueryRepository traceLogQueryRepository;
+
+    @Value("${log-analysis.fan-out.enabled:true}")
+    private boolean enabled;
+
+    @Value("${log-analysis.fan-out.min-range:P1D}")
+    private Duration minRange;
+
+    @Value("${log-analysis.fan-out.slices:4}")
+    private int slices;
+
+    @Value("${log-analysis.fan-out.threads:4}")
+    private int threads;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private ExecutorService executor;
+
+    private TransactionTemplate readOnlyTransaction;
+
+    @PostConstruct
+    void init() {
+        executor = Executors.newFixedThreadPool(threads, new CustomizableThreadFactory("trace-fan-out-"));
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 조건에 맞는 로그를 (created_at, id) 역순으로 조회 (긴 구간은 나누어 병렬 조회)
+     * @param filter 조회 조건 (limit 포함)
+     * @return TraceLog 리스트
+     */
+    public List<TraceLog> find(TraceLogFilter filter) {
+        List<TraceLogFilter> sliceFilters = split(filter);
+        if (sliceFilters.size() < 2) {
+            return traceLogQueryRepository.find(filter);
+        }
+
+        SliceBuffers buffers = new SliceBuffers(filter.getLimit(), sliceFilters.size());
+        List<CompletableFuture<Void>> futures = new ArrayList<>();
+        for (int i = 0; i < sliceFilters.size(); i++) {
+            int slice = i;
+            TraceLogFilter sliceFilter = sliceFilters.get(i);
+            futures.add(CompletableFuture.runAsync(() -> readSlice(buffers, slice, sliceFilter), executor));
+        }
+
+        try {
+            for (CompletableFuture<Void> future : futures) {
+                join(future);
+            }
+        } catch (RuntimeException e) {
+            buffers.cancelAll();
+            throw e;
+        }
+        return buffers.merge();
+    }
+
+    /**
+     * 한 구간을 스트리밍하며 보관 (필요한 행을 다 채우거나 취소되면 중단)
+     */
+    private void readSlice(SliceBuffers buffers, int slice, TraceLogFilter sliceFilter) {
+        QueryCancellation cancellation = buffers.cancellation(slice);
+        if (cancellation.isCancelled()) {
+            return;
+        }
+        try {
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try {
+                    traceLogQueryRepository.stream(sliceFilter, cancellation, log -> {
+                        if (!buffers.add(slice, log)) {
+                            throw SliceFullException.INSTANCE;
+                        }
+                    });
+                } catch (SliceFullException e) {
+                    // 필요한 행을 모두 보관함 - 남은 행은 읽지 않음
+                }
+            });
+        } catch (DataAccessException e) {
+            if (!cancellation.isCancelled()) {
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * 조회 구간을 최신 구간부터 나눈 조건 목록
+     * - 커서가 있으면 커서 시각 이후 부분은 결과가 없으므로 구간에서 제외
+     * - since(변경분) 조회는 결과가 적으므로 나누지 않음
+     * @return 나눈 조건 (나누지 않는 경우 빈 목록)
+     */
+    private List<TraceLogFilter> split(TraceLogFilter filter) {
+        if (!enabled || slices < 2 || filter.getStartDate() == null || filter.getEndDate() == null
+                || filter.getSince() != null) {
+            return List.of();
+        }
+
+        OffsetDateTime start = filter.getStartDate();
+        OffsetDateTime end = filter.getEndDate();
+        if (filter.getCursor() != null && filter.getCursor().createdAt().isBefore(end)) {
+            end = filter.getCursor().createdAt();
+        }
+
+        Duration range = Duration.between(start, end);
+        if (range.compareTo(minRange) <= 0) {
+            return List.of();
+        }
+
+        Duration step = range.dividedBy(slices);
+        List<TraceLogFilter> result = new ArrayList<>(slices);
+        OffsetDateTime sliceEnd = end;
+        for (int i = 0; i < slices; i++) {
+            OffsetDateTime sliceStart = i == slices - 1 ? start : sliceEnd.minus(step).truncatedTo(ChronoUnit.MICROS);
+            result.add(filter.toBuilder()
+                    .startDate(sliceStart)
+                    .endDate(sliceEnd)
+                    .build());
+            sliceEnd = sliceStart.minus(TIMESTAMP_PRECISION);
+        }
+        return result;
+    }
+
+    private static void join(CompletableFuture<Void> future) {
+        try {
+            future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 구간별 보관 행 (모든 메서드는 이 객체로 동기화)
+     */
+    static class SliceBuffers {
+
+        private final int limit;
+        private final List<List<TraceLog>> buffers = new ArrayList<>();
+        private final List<QueryCancellation> cancellations = new ArrayList<>();
+
+        SliceBuffers(int limit, int slices) {
+            this.limit = limit;
+            for (int i = 0; i < slices; i++) {
+                buffers.add(new ArrayList<>());
+                cancellations.add(new QueryCancellation());
+            }
+        }
+
+        QueryCancellation cancellation(int slice) {
+            return cancellations.get(slice);
+        }
+
+        /**
+         * 구간의 다음 행 보관
+         * @return 계속 읽어야 하면 true (이 구간에 필요한 행을 모두 보관했으면 false)
+         */
+        synchronized boolean add(int slice, TraceLog log) {
+            int newer = 0;
+            for (int i = 0; i < slice; i++) {
+                newer += buffers.get(i).size();
+            }
+            List<TraceLog> buffer = buffers.get(slice);
+            if (newer + buffer.size() >= limit) {
+                return false;
+            }
+            buffer.add(log);
+
+            // 더 오래된 구간은 남은 자리만큼만 보관, 자리가 없으면 취소
+            int kept = newer + buffer.size();
+            for (int i = slice + 1; i < buffers.size(); i++) {
+                List<TraceLog> older = buffers.get(i);
+                int room = Math.max(0, limit - kept);
+                if (older.size() > room) {
+                    older.subList(room, older.size()).clear();
+                }
+                if (room == 0) {
+                    cancellations.get(i).cancel();
+                }
+                kept += older.size();
+            }
+            return newer + buffer.size() < limit;
+        }
+
+        /**
+         * 보관 중인 행 수 (모든 구간의 합, 최대 limit개)
+         */
+        synchronized int size() {
+            return buffers.stream().mapToInt(List::size).sum();
+        }
+
+        synchronized void cancelAll() {
+            cancellations.forEach(QueryCancellation::cancel);
+        }
+
+        /**
+         * 최신 구간부터 이어 붙인 결과 (최대 limit개)
+         */
+        synchronized List<TraceLog> merge() {
+            List<TraceLog> logs = new ArrayList<>(limit);
+            for (List<TraceLog> buffer : buffers) {
+                for (TraceLog log : buffer) {
+                    if (logs.size() >= limit) {
+                        return logs;
+                    }
+                    logs.add(log);
+                }
+            }
+            return logs;
+        }
+    }
+
+    /**
+     * 구간에 필요한 행을 모두 보관했을 때 스트리밍을 멈추기 위한 예외 (스택 트레이스 없음)
+     */
+    private static class SliceFullException extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        static final SliceFullException INSTANCE = new SliceFullException();
+
+        private SliceFullException() {
+            super(null, null, false, false);
+        }
+    }
+}
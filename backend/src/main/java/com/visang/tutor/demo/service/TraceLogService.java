@@ -1,166 +1,92 @@
 package com.visang.tutor.demo.service;
 
-import com.fasterxml.jackson.databind.JsonNode;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.visang.tutor.demo.dto.LogSearchResponse;
+import com.visang.tutor.demo.dto.TraceLogFilter;
+import com.visang.tutor.demo.dto.TraceLogSource;
+import com.visang.tutor.demo.dto.TraceLogSummary;
 import com.visang.tutor.demo.model.TraceLog;
-import com.visang.tutor.demo.repository.TraceLogRepository;
+import com.visang.tutor.demo.repository.TraceLogQueryRepository;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
-import java.time.OffsetDateTime;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Optional;
+import java.util.function.Consumer;
 
 @Service
 public class TraceLogService {
 
     @Autowired
-    private TraceLogRepository traceLogRepository;
+    private TraceLogQueryRepository traceLogQueryRepository;
 
-    /**
-     * 날짜와 시간 구간별로 일정한 수량 조회
-     * @param startDate 시작 날짜/시간
-     * @param endDate 종료 날짜/시간
-     * @param limit 조회할 개수 (100, 200, 300, 1000)
-     * @return TraceLog 리스트
-     */
-    public List<TraceLog> getLogsByDateRange(OffsetDateTime startDate, OffsetDateTime endDate, int limit) {
-        Pageable pageable = PageRequest.of(0, limit);
-        return traceLogRepository.findByDateBetween(startDate, endDate, pageable);
-    }
-
-    /**
-     * 최근 시간 기준으로 일정한 수량 조회
-     * @param limit 조회할 개수 (100, 200, 300, 1000)
-     * @return TraceLog 리스트
-     */
-    public List<TraceLog> getRecentLogs(int limit) {
-        Pageable pageable = PageRequest.of(0, limit);
-        return traceLogRepository.findRecentLogs(pageable);
-    }
-
-    /**
-     * 최근 시간 기준으로 일정한 수량 조회 (appName 필터 적용)
-     * @param limit 조회할 개수
-     * @param appName 필터링할 appName
-     * @return TraceLog 리스트
-     */
-    public List<TraceLog> getRecentLogsByAppName(int limit, String appName) {
-        Pageable pageable = PageRequest.of(0, limit);
-        return traceLogRepository.findRecentLogsByAppName(appName, pageable);
-    }
+    @Autowired
+    private LogQueryCache logQueryCache;
 
-    /**
-     * 날짜와 시간 구간별로 일정한 수량 조회 (appName 필터 적용)
-     * @param startDate 시작 날짜/시간
-     * @param endDate 종료 날짜/시간
-     * @param limit 조회할 개수
-     * @param appName 필터링할 appName
-     * @return TraceLog 리스트
-     */
-    public List<TraceLog> getLogsByDateRangeAndAppName(OffsetDateTime startDate, OffsetDateTime endDate, int limit, String appName) {
-        Pageable pageable = PageRequest.of(0, limit);
-        return traceLogRepository.findByDateBetweenAndAppName(startDate, endDate, appName, pageable);
-    }
+    @Autowired
+    private QueryBulkhead queryBulkhead;
 
-    /**
-     * 날짜와 시간 구간별로 일정한 수량 조회 (logType 필터 적용)
-     * @param startDate 시작 날짜/시간
-     * @param endDate 종료 날짜/시간
-     * @param limit 조회할 개수
-     * @param logType 필터링할 logType
-     * @return TraceLog 리스트
-     */
-    public List<TraceLog> getLogsByDateRangeAndLogType(OffsetDateTime startDate, OffsetDateTime endDate, int limit, String logType) {
-        Pageable pageable = PageRequest.of(0, limit);
-        return traceLogRepository.findByDateBetweenAndLogType(startDate, endDate, logType, pageable);
-    }
+    @Autowired
+    private TraceLogFanOut traceLogFanOut;
 
     /**
-     * 날짜와 시간 구간별로 일정한 수량 조회 (appName, logType 필터 적용)
-     * @param startDate 시작 날짜/시간
-     * @param endDate 종료 날짜/시간
-     * @param limit 조회할 개수
-     * @param appName 필터링할 appName
-     * @param logType 필터링할 logType
+     * 조회 조건(날짜 구간, appName, logType, profile, 커서)에 맞는 로그를 일정한 수량 조회
+     * @param filter 조회 조건 (limit 포함)
      * @return TraceLog 리스트
      */
-    public List<TraceLog> getLogsByDateRangeAndAppNameAndLogType(OffsetDateTime startDate, OffsetDateTime endDate, int limit, String appName, String logType) {
-        Pageable pageable = PageRequest.of(0, limit);
-        return traceLogRepository.findByDateBetweenAndAppNameAndLogType(startDate, endDate, appName, logType, pageable);
+    public List<TraceLog> getLogs(TraceLogFilter filter) {
+        return logQueryCache.getLogs(filter, () -> queryBulkhead.call(classify(filter),
+                () -> traceLogFanOut.find(filter)));
     }
 
     /**
-     * 최근 시간 기준으로 일정한 수량 조회 (logType 필터 적용)
-     * @param limit 조회할 개수
-     * @param logType 필터링할 logType
-     * @return TraceLog 리스트
+     * 조회 조건에 맞는 로그의 목록용 요약 조회 (log_payload 전체 대신 목록에 표시하는 키만 조회)
+     * - 전체 조회와 같이 같은 조건/시간 구간의 결과는 LogQueryCache에서 재사용 (동시 요청은 한 번만 조회)
+     * @param filter 조회 조건 (limit 포함)
+     * @return TraceLogSummary 리스트
      */
-    public List<TraceLog> getRecentLogsByLogType(int limit, String logType) {
-        Pageable pageable = PageRequest.of(0, limit);
-        return traceLogRepository.findRecentLogsByLogType(logType, pageable);
+    public List<TraceLogSummary> getLogSummaries(TraceLogFilter filter) {
+        return logQueryCache.getLogSummaries(filter, () -> queryBulkhead.call(classify(filter),
+                () -> traceLogQueryRepository.findSummaries(filter)));
     }
 
     /**
-     * 최근 시간 기준으로 일정한 수량 조회 (appName, logType 필터 적용)
-     * @param limit 조회할 개수
-     * @param appName 필터링할 appName
-     * @param logType 필터링할 logType
-     * @return TraceLog 리스트
+     * Trace 로그 전문 검색 (log_payload 문자열 값, trace_logs의 GIN 인덱스 사용)
+     * - 관련도 순서이므로 키셋 커서 대신 offset으로 페이지를 나누고, limit + 1개를 조회해 다음 페이지 여부를 판단
+     * @param filter 조회 조건 (날짜 구간, appName, logType, profile, limit)
+     * @param search 검색어 (websearch_to_tsquery 문법: 단어 AND, "구문", OR, -제외)
+     * @param offset 건너뛸 결과 수
+     * @return 검색 응답 (결과의 source는 trace)
      */
-    public List<TraceLog> getRecentLogsByAppNameAndLogType(int limit, String appName, String logType) {
-        Pageable pageable = PageRequest.of(0, limit);
-        return traceLogRepository.findRecentLogsByAppNameAndLogType(appName, logType, pageable);
+    public LogSearchResponse<TraceLogSummary> searchLogs(TraceLogFilter filter, String search, int offset) {
+        List<LogSearchResponse.Hit<TraceLogSummary>> hits = queryBulkhead.call(classify(filter),
+                () -> traceLogQueryRepository.search(filter.toBuilder().limit(filter.getLimit() + 1).build(),
+                        search, offset));
+        boolean hasMore = hits.size() > filter.getLimit();
+        return new LogSearchResponse<>(search, offset, hasMore, hasMore ? hits.subList(0, filter.getLimit()) : hits);
     }
 
     /**
-     * evtCd가 존재하고 길이가 3 이상인 최근 로그 조회 (Event 필터)
-     * @param limit 조회할 개수
-     * @return TraceLog 리스트
+     * ID로 로그 한 건 조회 (상세 화면용)
+     * @param source 조회 대상 테이블 (요약 목록의 source 값)
+     * @param id 로그 ID
+     * @return TraceLog (없으면 empty)
      */
-    public List<TraceLog> getRecentLogsByEvtCd(int limit) {
-        Pageable pageable = PageRequest.of(0, limit);
-        return traceLogRepository.findRecentLogsByEvtCd(pageable);
+    public Optional<TraceLog> getLog(TraceLogSource source, long id) {
+        return traceLogQueryRepository.findById(source, id);
     }
 
     /**
-     * evtCd가 존재하고 길이가 3 이상인 로그를 날짜 구간으로 조회 (Event 필터)
-     * @param startDate 시작 날짜/시간
-     * @param endDate 종료 날짜/시간
-     * @param limit 조회할 개수
-     * @return TraceLog 리스트
+     * 조회 조건에 맞는 로그를 스트리밍 조회 (List를 만들지 않고 한 건씩 전달, STREAM permit 사용)
+     * @param filter 조회 조건 (limit 포함)
+     * @param consumer 한 건씩 전달받을 consumer
      */
-    public List<TraceLog> getLogsByDateRangeAndEvtCd(OffsetDateTime startDate, OffsetDateTime endDate, int limit) {
-        Pageable pageable = PageRequest.of(0, limit);
-        return traceLogRepository.findByDateBetweenAndEvtCd(startDate, endDate, pageable);
+    @Transactional(readOnly = true)
+    public void streamLogs(TraceLogFilter filter, Consumer<TraceLog> consumer) {
+        queryBulkhead.run(QueryBulkhead.QueryClass.STREAM, () -> traceLogQueryRepository.stream(filter, consumer));
     }
 
-    /**
-     * profile 필드로 로그 필터링 (메모리에서 처리)
-     * @param logs 필터링할 로그 리스트
-     * @param profile 필터링할 profile 값
-     * @return 필터링된 TraceLog 리스트
-     */
-    public List<TraceLog> filterByProfile(List<TraceLog> logs, String profile) {
-        ObjectMapper objectMapper = new ObjectMapper();
-
-        return logs.stream()
-                .filter(log -> {
-                    try {
-                        JsonNode jsonNode = objectMapper.readTree(log.getLogPayload());
-                        JsonNode profileNode = jsonNode.get("profile");
-
-                        if (profileNode != null && profileNode.isTextual()) {
-                            String logProfile = profileNode.asText();
-                            return profile.equalsIgnoreCase(logProfile);
-                        }
-                        return false;
-                    } catch (Exception e) {
-                        return false;
-                    }
-                })
-                .collect(Collectors.toList());
+    private QueryBulkhead.QueryClass classify(TraceLogFilter filter) {
+        return queryBulkhead.classify(filter.getLimit(), filter.getStartDate(), filter.getEndDate());
     }
 }
@@ -1,91 +1,204 @@
 package com.visang.tutor.demo.service;
 
+import com.visang.tutor.demo.dto.TraceLogFilter;
+import com.visang.tutor.demo.dto.TraceLogSource;
+import com.visang.tutor.demo.dto.TraceLogSummary;
+import com.visang.tutor.demo.dto.UserSessionResponse;
 import com.visang.tutor.demo.model.TraceLog;
-import com.visang.tutor.demo.repository.TraceLogRepository;
+import com.visang.tutor.demo.repository.TraceLogQueryRepository;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.Duration;
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Consumer;
 
 @Service
 public class UserLogService {
 
     @Autowired
-    private TraceLogRepository traceLogRepository;
+    private TraceLogQueryRepository traceLogQueryRepository;
+
+    @Autowired
+    private LogQueryCache logQueryCache;
+
+    @Autowired
+    private QueryBulkhead queryBulkhead;
+
+    @Autowired
+    private TraceLogFanOut traceLogFanOut;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate readOnlyTransaction;
+
+    @PostConstruct
+    void init() {
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
 
     /**
-     * 최근 로그 조회 (uuid가 있는 모든 로그)
-     * @param limit 조회 개수
+     * 사용자 로그 조회 (uuid가 있는 로그, uuid는 like 검색 - 앞부분 와일드카드 불가)
+     * @param filter 조회 조건 (날짜 구간, uuid, logType, limit)
      * @return TraceLog 리스트
      */
-    public List<TraceLog> getRecentUserLogs(int limit) {
-        Pageable pageable = PageRequest.of(0, limit);
-        return traceLogRepository.findRecentLogsByUuidExists(pageable);
+    public List<TraceLog> getUserLogs(TraceLogFilter filter) {
+        TraceLogFilter userLogFilter = userLogFilter(filter);
+        return logQueryCache.getLogs(userLogFilter, () -> queryBulkhead.call(classify(userLogFilter),
+                () -> traceLogFanOut.find(userLogFilter)));
     }
 
     /**
-     * 날짜 구간으로 로그 조회 (uuid가 있는 모든 로그)
-     * @param startDate 시작 날짜/시간
-     * @param endDate 종료 날짜/시간
-     * @param limit 조회 개수
-     * @return TraceLog 리스트
+     * 사용자 로그의 목록용 요약 조회 (log_payload 전체 대신 목록에 표시하는 키만 조회)
+     * - 전체 조회와 같이 같은 조건/시간 구간의 결과는 LogQueryCache에서 재사용 (동시 요청은 한 번만 조회)
+     * @param filter 조회 조건 (날짜 구간, uuid, logType, limit)
+     * @return TraceLogSummary 리스트
      */
-    public List<TraceLog> getUserLogsByDateRange(OffsetDateTime startDate, OffsetDateTime endDate, int limit) {
-        Pageable pageable = PageRequest.of(0, limit);
-        return traceLogRepository.findByDateBetweenAndUuidExists(startDate, endDate, pageable);
+    public List<TraceLogSummary> getUserLogSummaries(TraceLogFilter filter) {
+        TraceLogFilter userLogFilter = userLogFilter(filter);
+        return logQueryCache.getLogSummaries(userLogFilter, () -> queryBulkhead.call(classify(userLogFilter),
+                () -> traceLogQueryRepository.findSummaries(userLogFilter)));
     }
 
     /**
-     * uuid로 최근 로그 검색 (like 검색, 앞부분 와일드카드 불가)
-     * @param uuid 검색할 uuid
-     * @param limit 조회 개수
-     * @return TraceLog 리스트
+     * ID로 사용자 로그 한 건 조회 (상세 화면용, trace_logs)
+     * @param id 로그 ID
+     * @return TraceLog (없으면 empty)
      */
-    public List<TraceLog> getRecentUserLogsByUuid(String uuid, int limit) {
-        Pageable pageable = PageRequest.of(0, limit);
-        return traceLogRepository.findRecentLogsByUuidLike(uuid, pageable);
+    public Optional<TraceLog> getUserLog(long id) {
+        return traceLogQueryRepository.findById(TraceLogSource.TRACE, id);
     }
 
     /**
-     * uuid와 날짜 구간으로 로그 검색 (like 검색, 앞부분 와일드카드 불가)
-     * @param uuid 검색할 uuid
-     * @param startDate 시작 날짜/시간
-     * @param endDate 종료 날짜/시간
-     * @param limit 조회 개수
-     * @return TraceLog 리스트
+     * 사용자 로그 스트리밍 조회 (List를 만들지 않고 한 건씩 전달, STREAM permit 사용)
+     * @param filter 조회 조건 (날짜 구간, uuid, logType, limit)
+     * @param consumer 한 건씩 전달받을 consumer
      */
-    public List<TraceLog> getUserLogsByUuidAndDateRange(String uuid, OffsetDateTime startDate, OffsetDateTime endDate, int limit) {
-        Pageable pageable = PageRequest.of(0, limit);
-        return traceLogRepository.findByDateBetweenAndUuidLike(startDate, endDate, uuid, pageable);
+    @Transactional(readOnly = true)
+    public void streamUserLogs(TraceLogFilter filter, Consumer<TraceLog> consumer) {
+        TraceLogFilter userLogFilter = userLogFilter(filter);
+        queryBulkhead.run(QueryBulkhead.QueryClass.STREAM,
+                () -> traceLogQueryRepository.stream(userLogFilter, consumer));
     }
 
     /**
-     * logType 필터와 날짜 구간으로 로그 조회 (uuid 존재)
+     * 사용자 세션(이용 흐름) 구성
+     * - uuid의 로그를 시간 순서로 한 번만 읽으면서, 앞 로그와의 간격이 gapMinutes보다 길면 새 세션 시작
+     * - 세션마다 event(evtCd) 순서와 길이를 계산 (로그 전체를 List로 모으지 않음)
+     * - autocommit에서는 드라이버가 fetch size를 무시하고 전체 행을 메모리에 올리므로 읽기 전용 트랜잭션 안에서 읽음
+     * - 같은 사용자/시간 구간/간격의 결과는 캐시
+     * @param uuid 사용자 UUID (정확히 일치)
      * @param startDate 시작 날짜/시간
      * @param endDate 종료 날짜/시간
-     * @param logType 필터링할 logType
-     * @param limit 조회 개수
-     * @return TraceLog 리스트
+     * @param gapMinutes 세션을 나누는 비활동 시간(분)
+     * @param relativeRange 최근 N분 조회 여부 (캐시 키에서 구간 단위로 내림)
+     * @return 세션 응답
      */
-    public List<TraceLog> getUserLogsByDateRangeAndLogType(OffsetDateTime startDate, OffsetDateTime endDate, String logType, int limit) {
-        Pageable pageable = PageRequest.of(0, limit);
-        return traceLogRepository.findByDateBetweenAndUuidExistsAndLogType(startDate, endDate, logType, pageable);
+    public UserSessionResponse getUserSessions(String uuid, OffsetDateTime startDate, OffsetDateTime endDate,
+                                               int gapMinutes, boolean relativeRange) {
+        return logQueryCache.getUserSessions(uuid, startDate, endDate, gapMinutes, relativeRange,
+                () -> queryBulkhead.call(queryBulkhead.classify(0, startDate, endDate), () -> {
+                    SessionBuilder builder = new SessionBuilder(Duration.ofMinutes(gapMinutes));
+                    readOnlyTransaction.executeWithoutResult(status ->
+                            traceLogQueryRepository.streamUserEvents(uuid, startDate, endDate, builder::accept));
+                    return new UserSessionResponse(uuid, gapMinutes, builder.logCount, builder.finish());
+                }));
+    }
+
+    private QueryBulkhead.QueryClass classify(TraceLogFilter filter) {
+        return queryBulkhead.classify(filter.getLimit(), filter.getStartDate(), filter.getEndDate());
+    }
+
+    private TraceLogFilter userLogFilter(TraceLogFilter filter) {
+        return filter.isUserLogs() ? filter : filter.toBuilder().userLogs(true).build();
     }
 
     /**
-     * uuid + logType 필터로 날짜 구간 조회
-     * @param uuid 검색할 uuid
-     * @param startDate 시작 날짜/시간
-     * @param endDate 종료 날짜/시간
-     * @param logType 필터링할 logType
-     * @param limit 조회 개수
-     * @return TraceLog 리스트
+     * 시간 순서로 들어오는 로그를 세션으로 묶음
+     * - 연속으로 같은 event는 한 단계로 합치고, 세션당 MAX_STEPS 단계까지만 포함
      */
-    public List<TraceLog> getUserLogsByUuidAndDateRangeAndLogType(String uuid, OffsetDateTime startDate, OffsetDateTime endDate, String logType, int limit) {
-        Pageable pageable = PageRequest.of(0, limit);
-        return traceLogRepository.findByDateBetweenAndUuidLikeAndLogType(startDate, endDate, uuid, logType, pageable);
+    private static class SessionBuilder {
+
+        /** 세션당 최대 단계 수 */
+        private static final int MAX_STEPS = 500;
+
+        private final Duration gap;
+        private final List<UserSessionResponse.Session> sessions = new ArrayList<>();
+        private long logCount;
+
+        private OffsetDateTime start;
+        private OffsetDateTime last;
+        private long sessionLogCount;
+        private List<UserSessionResponse.Step> steps;
+        private boolean stepsTruncated;
+        /** 아직 steps에 넣지 않은 마지막 단계 (같은 event가 이어지면 repeat 증가) */
+        private TraceLogQueryRepository.UserEvent pending;
+        private int pendingRepeat;
+
+        SessionBuilder(Duration gap) {
+            this.gap = gap;
+        }
+
+        void accept(TraceLogQueryRepository.UserEvent event) {
+            OffsetDateTime time = event.createdAt();
+            if (start == null || Duration.between(last, time).compareTo(gap) > 0) {
+                close();
+                start = time;
+                sessionLogCount = 0;
+                steps = new ArrayList<>();
+                stepsTruncated = false;
+            }
+            last = time;
+            sessionLogCount++;
+            logCount++;
+            if (event.evtCd() == null) {
+                return;
+            }
+            if (pending != null && pending.evtCd().equals(event.evtCd())
+                    && Objects.equals(pending.appName(), event.appName())) {
+                pendingRepeat++;
+                return;
+            }
+            flushStep();
+            pending = event;
+            pendingRepeat = 1;
+        }
+
+        private void flushStep() {
+            if (pending == null) {
+                return;
+            }
+            if (steps.size() < MAX_STEPS) {
+                steps.add(new UserSessionResponse.Step(pending.id(), pending.createdAt(), pending.evtCd(),
+                        pending.appName(), Duration.between(start, pending.createdAt()).toSeconds(), pendingRepeat));
+            } else {
+                stepsTruncated = true;
+            }
+            pending = null;
+        }
+
+        List<UserSessionResponse.Session> finish() {
+            close();
+            return sessions;
+        }
+
+        private void close() {
+            if (start != null) {
+                flushStep();
+                sessions.add(new UserSessionResponse.Session(start, last, Duration.between(start, last).toSeconds(),
+                        sessionLogCount, steps, stepsTruncated));
+                start = null;
+            }
+        }
     }
 }
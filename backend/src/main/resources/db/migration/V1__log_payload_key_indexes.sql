@@ -0,0 +1,51 @@
+-- 조회 엔진(TraceLogQuery, ErrorLogQuery)의 조건/정렬과 같은 식으로 만든 인덱스
+-- 로그 테이블은 계속 적재 중이므로 테이블 잠금 없이 CONCURRENTLY로 생성하고,
+-- 테이블 재작성이 필요한 generated column 대신 JSONB 키 식(expression) 인덱스를 사용
+
+-- ===== trace_logs =====
+
+-- 키셋 페이지네이션 정렬 (created_at, id)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_trace_logs_created_at_id
+    ON trace_logs (created_at, id);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_trace_logs_app_name
+    ON trace_logs ((log_payload->>'appName'), created_at, id);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_trace_logs_log_type
+    ON trace_logs ((log_payload->>'logType'), created_at, id);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_trace_logs_profile
+    ON trace_logs (LOWER(log_payload->>'profile'), created_at, id);
+
+-- uuid 앞부분 일치 검색 (~>=~ / ~<~ 범위 조건)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_trace_logs_uuid_pattern
+    ON trace_logs ((log_payload->>'uuid') text_pattern_ops, created_at);
+
+-- uuid가 있는 로그 (사용자 로그 전체 조회)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_trace_logs_uuid_exists
+    ON trace_logs (created_at, id)
+    WHERE log_payload->>'uuid' IS NOT NULL;
+
+-- event 조회 (evtCd가 존재하고 길이가 3 이상)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_trace_logs_evt_cd
+    ON trace_logs (created_at, id)
+    WHERE log_payload->>'evtCd' IS NOT NULL AND LENGTH(log_payload->>'evtCd') >= 3;
+
+-- ===== trace_logs_launcher =====
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_trace_logs_launcher_created_at_id
+    ON trace_logs_launcher (created_at, id);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_trace_logs_launcher_profile
+    ON trace_logs_launcher (LOWER(log_payload->>'profile'), created_at, id);
+
+-- ===== refined_error_logs =====
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_refined_error_logs_created_at_id
+    ON refined_error_logs (created_at, id);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_refined_error_logs_app_name
+    ON refined_error_logs (app_name, created_at, id);
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_refined_error_logs_profile
+    ON refined_error_logs (profile, created_at, id);
@@ -0,0 +1,36 @@
+-- 분/시간 단위 로그 개수 롤업 테이블 (LogRollupJob이 증분으로 적재)
+-- 키 컬럼은 기본키에 포함되므로 NULL 대신 빈 문자열('')로 저장 (조회 시 NULLIF로 복원)
+-- bucket은 UTC 기준 date_trunc 값
+
+-- 원본 테이블별로 어디까지 적재했는지 (id 워터마크)
+-- covered_until: 이 시각 이전에 생성된 로그는 모두 롤업에 반영됨 (NULL이면 아직 따라잡는 중)
+CREATE TABLE IF NOT EXISTS log_rollup_watermarks (
+    source        VARCHAR(50) PRIMARY KEY,
+    last_id       BIGINT      NOT NULL DEFAULT 0,
+    covered_until TIMESTAMPTZ,
+    updated_at    TIMESTAMPTZ NOT NULL DEFAULT now()
+);
+
+INSERT INTO log_rollup_watermarks (source)
+VALUES ('refined_error_logs')
+ON CONFLICT (source) DO NOTHING;
+
+-- ===== refined_error_logs =====
+
+CREATE TABLE IF NOT EXISTS error_log_counts_minute (
+    bucket   TIMESTAMPTZ NOT NULL,
+    profile  TEXT        NOT NULL,
+    app_name TEXT        NOT NULL,
+    err_cd   TEXT        NOT NULL,
+    cnt      BIGINT      NOT NULL,
+    PRIMARY KEY (bucket, profile, app_name, err_cd)
+);
+
+CREATE TABLE IF NOT EXISTS error_log_counts_hour (
+    bucket   TIMESTAMPTZ NOT NULL,
+    profile  TEXT        NOT NULL,
+    app_name TEXT        NOT NULL,
+    err_cd   TEXT        NOT NULL,
+    cnt      BIGINT      NOT NULL,
+    PRIMARY KEY (bucket, profile, app_name, err_cd)
+);
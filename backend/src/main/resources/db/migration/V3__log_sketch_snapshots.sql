@@ -0,0 +1,11 @@
+-- 스트리밍 스케치(Count-Min, Space-Saving, HyperLogLog) 스냅샷 (LogSketchService가 주기적으로 저장)
+-- 재시작 시 같은 구간(window_start)의 스냅샷이 있으면 last_id 이후 행부터 이어서 갱신
+-- data: 원본 테이블의 스케치 묶음을 직렬화한 값
+
+CREATE TABLE IF NOT EXISTS log_sketch_snapshots (
+    source       VARCHAR(50) PRIMARY KEY,
+    window_start TIMESTAMPTZ NOT NULL,
+    last_id      BIGINT      NOT NULL,
+    data         BYTEA       NOT NULL,
+    updated_at   TIMESTAMPTZ NOT NULL DEFAULT now()
+);
@@ -0,0 +1,29 @@
+-- 분/시간 단위 활성 사용자(trace_logs uuid) HyperLogLog 레지스터 (ActiveUserRollupJob이 증분으로 적재)
+-- app_name, profile은 기본키에 포함되므로 NULL 대신 빈 문자열('')로 저장, profile은 소문자
+-- bucket은 UTC 기준 date_trunc 값
+-- registers: HyperLogLog.toBytes() 값 (같은 precision끼리 합치면 임의 구간의 서로 다른 사용자 수)
+-- schl_num = ''인 행은 (bucket, app_name, profile)의 모든 학교(학교 번호가 없는 로그 포함)를 합친 레지스터
+-- schlNum 조건이 없는 조회는 이 행만 읽으므로 학교 수와 관계없이 (app_name, profile) 조합 수만큼만 읽음
+
+-- 워터마크는 롤업과 같은 테이블을 쓰되 source를 따로 둠
+INSERT INTO log_rollup_watermarks (source)
+VALUES ('trace_logs_users')
+ON CONFLICT (source) DO NOTHING;
+
+CREATE TABLE IF NOT EXISTS active_user_hll_minute (
+    bucket    TIMESTAMPTZ NOT NULL,
+    app_name  TEXT        NOT NULL,
+    profile   TEXT        NOT NULL,
+    schl_num  TEXT        NOT NULL,
+    registers BYTEA       NOT NULL,
+    PRIMARY KEY (bucket, app_name, profile, schl_num)
+);
+
+CREATE TABLE IF NOT EXISTS active_user_hll_hour (
+    bucket    TIMESTAMPTZ NOT NULL,
+    app_name  TEXT        NOT NULL,
+    profile   TEXT        NOT NULL,
+    schl_num  TEXT        NOT NULL,
+    registers BYTEA       NOT NULL,
+    PRIMARY KEY (bucket, app_name, profile, schl_num)
+);
@@ -0,0 +1,13 @@
+-- 전문 검색(/search) 역색인 - ErrorLogQuery.SEARCH_DOCUMENT, TraceLogQuery.SEARCH_DOCUMENT와 같은 식의 GIN 인덱스
+-- V1과 같이 테이블 재작성이 필요한 tsvector 컬럼 대신 식(expression) 인덱스를 CONCURRENTLY로 생성
+-- 한국어 형태소 사전이 없으므로 'simple' 설정 (공백/구두점 단위 토큰, 소문자화만 적용)
+
+-- ===== refined_error_logs =====
+-- err_msg + message
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_refined_error_logs_search
+    ON refined_error_logs USING GIN (to_tsvector('simple', COALESCE(err_msg, '') || ' ' || COALESCE(message, '')));
+
+-- ===== trace_logs =====
+-- log_payload의 문자열 값 전체 (키 이름은 제외)
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_trace_logs_search
+    ON trace_logs USING GIN (jsonb_to_tsvector('simple', log_payload, '["string"]'));
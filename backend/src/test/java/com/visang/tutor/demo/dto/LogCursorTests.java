@@ -0,0 +1,53 @@
+package com.visang.tutor.demo.dto;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 커서 토큰 변환
+ */
+class LogCursorTests {
+
+    @Test
+    void roundTripsToken() {
+        LogCursor cursor = new LogCursor(OffsetDateTime.parse("2024-01-01T10:00:00.123456+09:00"), 42L);
+
+        String token = cursor.encode();
+
+        assertThat(token).doesNotContain("=", "+", "/");
+        assertThat(LogCursor.valueOf(token)).isEqualTo(cursor);
+    }
+
+    @Test
+    void rejectsMalformedTokens() {
+        for (String token : List.of("", "not base64!", encode("2024-01-01T10:00:00Z"), encode("yesterday|1"),
+                encode("2024-01-01T10:00:00Z|abc"), encode("|"))) {
+            assertThatThrownBy(() -> LogCursor.valueOf(token))
+                    .as(token)
+                    .isInstanceOf(IllegalArgumentException.class)
+                    .hasMessageStartingWith("Invalid cursor");
+        }
+    }
+
+    @Test
+    void nextTokenOnlyForFullPage() {
+        LogCursor last = new LogCursor(OffsetDateTime.parse("2024-01-01T10:00:00Z"), 7L);
+        List<LogCursor> page = List.of(new LogCursor(OffsetDateTime.parse("2024-01-01T11:00:00Z"), 9L), last);
+
+        assertThat(LogCursor.nextToken(page, 2, Function.identity())).isEqualTo(last.encode());
+        assertThat(LogCursor.nextToken(page, 3, Function.identity())).isNull();
+        assertThat(LogCursor.nextToken(List.<LogCursor>of(), 0, Function.identity())).isNull();
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
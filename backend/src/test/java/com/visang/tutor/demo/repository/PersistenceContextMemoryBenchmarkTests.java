@@ -0,0 +1,134 @@
+package com.visang.tutor.demo.repository;
+
+import com.visang.tutor.demo.dto.ErrorLogFilter;
+import com.visang.tutor.demo.dto.TraceLogFilter;
+import com.visang.tutor.demo.model.RefinedErrorLog;
+import com.visang.tutor.demo.model.TraceLog;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * 조회 결과를 JPA 관리 엔티티로 만드는 경우와 JDBC RowMapper 조회 엔진의 메모리 사용량 비교 (10k행 기준)
+ * - managed: 트랜잭션 안에서 엔티티로 조회 (영속성 컨텍스트에 엔티티와 dirty checking 스냅샷이 함께 유지됨)
+ * - read-only: 같은 조회를 읽기 전용 세션으로 실행 (스냅샷 없음, 엔티티는 1차 캐시에 유지)
+ * - jdbc: TraceLogQueryRepository / RefinedErrorLogQueryRepository (영속성 컨텍스트를 거치지 않음)
+ * - allocated: 조회 중 할당된 바이트, retained: 결과와 영속성 컨텍스트를 들고 있는 동안 GC 후 남은 힙
+ * - 실제 DB가 필요하므로 -Dbenchmark=true 인 경우에만 실행
+ *
+ * mvn test -Dtest=PersistenceContextMemoryBenchmarkTests -Dbenchmark=true -Dbenchmark.limit=100000
+ */
+@SpringBootTest
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class PersistenceContextMemoryBenchmarkTests {
+
+    private static final int PER_ROWS = 10_000;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private TraceLogQueryRepository traceLogQueryRepository;
+
+    @Autowired
+    private RefinedErrorLogQueryRepository refinedErrorLogQueryRepository;
+
+    private final int limit = Integer.getInteger("benchmark.limit", 100_000);
+    private final int iterations = Integer.getInteger("benchmark.iterations", 3);
+
+    private final MemoryMXBean memory = ManagementFactory.getMemoryMXBean();
+    private final com.sun.management.ThreadMXBean threads =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @Test
+    void compareManagedEntitiesWithJdbcRows() {
+        List<String> report = new ArrayList<>();
+        report.add(String.format("%-28s %8s %20s %20s", "case", "rows", "allocated/10k rows", "retained/10k rows"));
+
+        String traceSql = "SELECT * FROM trace_logs_launcher ORDER BY created_at DESC, id DESC LIMIT " + limit;
+        run(report, "trace managed", () -> entities(traceSql, TraceLog.class, false));
+        run(report, "trace read-only", () -> entities(traceSql, TraceLog.class, true));
+        run(report, "trace jdbc", () -> traceLogQueryRepository.find(TraceLogFilter.builder().limit(limit).build()));
+
+        String errorSql = "SELECT * FROM refined_error_logs ORDER BY created_at DESC, id DESC LIMIT " + limit;
+        run(report, "error managed", () -> entities(errorSql, RefinedErrorLog.class, false));
+        run(report, "error read-only", () -> entities(errorSql, RefinedErrorLog.class, true));
+        run(report, "error jdbc", () -> refinedErrorLogQueryRepository.find(ErrorLogFilter.builder().limit(limit).build()));
+
+        System.out.println(String.join(System.lineSeparator(), report));
+    }
+
+    /**
+     * 트랜잭션 안에서 엔티티로 조회하고, 영속성 컨텍스트가 살아 있는 상태의 힙을 측정
+     */
+    private Measurement entities(String sql, Class<?> type, boolean readOnly) {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(readOnly);
+        return template.execute(status -> {
+            Session session = entityManager.unwrap(Session.class);
+            long allocatedBefore = allocated();
+            long heapBefore = heapAfterGc();
+            List<?> rows = session.createNativeQuery(sql, type).getResultList();
+            long allocatedBytes = allocated() - allocatedBefore;
+            long retainedBytes = heapAfterGc() - heapBefore;
+            return new Measurement(rows.size(), allocatedBytes, retainedBytes);
+        });
+    }
+
+    private void run(List<String> report, String name, Supplier<Object> query) {
+        Measurement best = null;
+        for (int i = 0; i < iterations; i++) {
+            Measurement measurement = measure(query);
+            if (best == null || measurement.allocated() < best.allocated()) {
+                best = measurement;
+            }
+        }
+        report.add(String.format("%-28s %8d %17.2fMB %17.2fMB", name, best.rows(),
+                perRows(best.allocated(), best.rows()), perRows(best.retained(), best.rows())));
+    }
+
+    private Measurement measure(Supplier<Object> query) {
+        long allocatedBefore = allocated();
+        long heapBefore = heapAfterGc();
+        Object result = query.get();
+        if (result instanceof Measurement measurement) {
+            return measurement;
+        }
+        long allocatedBytes = allocated() - allocatedBefore;
+        long retainedBytes = heapAfterGc() - heapBefore;
+        return new Measurement(((List<?>) result).size(), allocatedBytes, retainedBytes);
+    }
+
+    private long allocated() {
+        return threads.getThreadAllocatedBytes(Thread.currentThread().getId());
+    }
+
+    private long heapAfterGc() {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return memory.getHeapMemoryUsage().getUsed();
+    }
+
+    private double perRows(long bytes, int rows) {
+        return rows == 0 ? 0 : bytes * (double) PER_ROWS / rows / (1024 * 1024);
+    }
+
+    private record Measurement(int rows, long allocated, long retained) {
+    }
+}
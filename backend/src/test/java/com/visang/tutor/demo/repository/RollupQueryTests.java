@@ -0,0 +1,100 @@
+package com.visang.tutor.demo.repository;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 롤업/원본 테이블 구간 나누기
+ * - 각 부분을 "테이블 시작~종료" (시각은 UTC HH:mm:ss) 형식으로 비교
+ */
+class RollupQueryTests {
+
+    private static final Pattern TABLE = Pattern.compile(" FROM (\\w+)");
+    private static final DateTimeFormatter TIME = DateTimeFormatter.ofPattern("HH:mm:ss").withZone(ZoneOffset.UTC);
+
+    @Test
+    void splitsPartialMinutesToRawTable() {
+        RollupQuery query = RollupQuery.create(RollupSource.ERROR_LOGS,
+                at("10:00:30"), at("10:05:20"), Instant.parse("2024-01-02T00:00:00Z"));
+
+        assertThat(parts(query)).containsExactly(
+                "refined_error_logs 10:00:30~10:01:00",
+                "error_log_counts_minute 10:01:00~10:05:00",
+                "refined_error_logs 10:05:00~10:05:20");
+        assertThat(query.toSourceSql()).endsWith("created_at <= :to2");
+    }
+
+    @Test
+    void usesHourTableBetweenHourEdges() {
+        RollupQuery query = RollupQuery.create(RollupSource.ERROR_LOGS,
+                at("09:59:00"), at("12:00:00"), Instant.parse("2024-01-02T00:00:00Z"));
+
+        assertThat(parts(query)).containsExactly(
+                "error_log_counts_minute 09:59:00~10:00:00",
+                "error_log_counts_hour 10:00:00~12:00:00",
+                "refined_error_logs 12:00:00~12:00:00");
+    }
+
+    @Test
+    void readsRawTableAfterCoveredUntil() {
+        RollupQuery query = RollupQuery.create(RollupSource.ERROR_LOGS,
+                at("10:00:00"), at("14:00:00"), Instant.parse("2024-01-01T12:30:15Z"));
+
+        assertThat(parts(query)).containsExactly(
+                "error_log_counts_hour 10:00:00~12:00:00",
+                "error_log_counts_minute 12:00:00~12:30:00",
+                "refined_error_logs 12:30:00~14:00:00");
+    }
+
+    @Test
+    void usesMinuteTableOnlyWhenNotHourly() {
+        RollupQuery query = RollupQuery.create(RollupSource.ERROR_LOGS,
+                at("09:00:00"), at("12:00:00"), Instant.parse("2024-01-02T00:00:00Z")).hourly(false);
+
+        assertThat(parts(query)).containsExactly(
+                "error_log_counts_minute 09:00:00~12:00:00",
+                "refined_error_logs 12:00:00~12:00:00");
+    }
+
+    @Test
+    void fallsBackToRawTable() {
+        Instant coveredUntil = Instant.parse("2024-01-02T00:00:00Z");
+
+        assertThat(parts(RollupQuery.create(RollupSource.ERROR_LOGS, at("09:00:00"), at("12:00:00"), null)))
+                .containsExactly("refined_error_logs 09:00:00~12:00:00");
+        assertThat(parts(RollupQuery.create(RollupSource.ERROR_LOGS, at("09:00:00"), at("12:00:00"), coveredUntil)
+                .where("err_msg", "timeout")))
+                .containsExactly("refined_error_logs 09:00:00~12:00:00");
+        assertThat(parts(RollupQuery.create(RollupSource.ERROR_LOGS, at("10:00:10"), at("10:00:50"), coveredUntil)))
+                .containsExactly("refined_error_logs 10:00:10~10:00:50");
+    }
+
+    private static OffsetDateTime at(String time) {
+        return OffsetDateTime.parse("2024-01-01T" + time + "Z");
+    }
+
+    private static List<String> parts(RollupQuery query) {
+        List<String> parts = new ArrayList<>();
+        String[] sqls = query.toSourceSql().split(" UNION ALL ");
+        for (int i = 0; i < sqls.length; i++) {
+            Matcher matcher = TABLE.matcher(sqls[i]);
+            assertThat(matcher.find()).isTrue();
+            parts.add(matcher.group(1) + " " + time(query, "from" + i) + "~" + time(query, "to" + i));
+        }
+        return parts;
+    }
+
+    private static String time(RollupQuery query, String param) {
+        return TIME.format((OffsetDateTime) query.params().getValue(param));
+    }
+}
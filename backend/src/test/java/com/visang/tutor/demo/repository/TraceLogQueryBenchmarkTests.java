@@ -0,0 +1,132 @@
+package com.visang.tutor.demo.repository;
+
+import com.visang.tutor.demo.dto.TraceLogFilter;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * TraceLogQueryRepository(필터 기반 조회 엔진)와 기존 필터 조합별 Repository 메서드의 지연 시간 비교
+ * - 실제 DB가 필요하므로 -Dbenchmark=true 인 경우에만 실행
+ * - 기존 메서드는 삭제되었으므로 당시 쿼리(Pageable limit 포함)를 그대로 실행하여 비교
+ *
+ * mvn test -Dtest=TraceLogQueryBenchmarkTests -Dbenchmark=true \
+ *   -Dbenchmark.appName=vlmsapi -Dbenchmark.logType=debug -Dbenchmark.uuid=1 -Dbenchmark.limit=1000
+ */
+@SpringBootTest
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class TraceLogQueryBenchmarkTests {
+
+    private static final String EVENT = "log_payload->>'evtCd' IS NOT NULL AND LENGTH(log_payload->>'evtCd') >= 3";
+
+    @Autowired
+    private NamedParameterJdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TraceLogQueryRepository traceLogQueryRepository;
+
+    private final String appName = System.getProperty("benchmark.appName", "vlmsapi");
+    private final String logType = System.getProperty("benchmark.logType", "debug");
+    private final String uuid = System.getProperty("benchmark.uuid", "1");
+    private final int limit = Integer.getInteger("benchmark.limit", 1000);
+    private final int warmup = Integer.getInteger("benchmark.warmup", 5);
+    private final int iterations = Integer.getInteger("benchmark.iterations", 20);
+
+    private final OffsetDateTime endDate = OffsetDateTime.now();
+    private final OffsetDateTime startDate = endDate.minusHours(Integer.getInteger("benchmark.rangeHours", 24));
+
+    @Test
+    void compareWithLegacyQueries() {
+        List<String> report = new ArrayList<>();
+        report.add(String.format("%-32s %12s %12s %12s %12s", "case", "legacy p50", "legacy p95", "engine p50", "engine p95"));
+
+        // ===== Trace Logs (최근) =====
+        run(report, "recent", "SELECT * FROM trace_logs_launcher ORDER BY created_at DESC",
+                params(), filter());
+        run(report, "recent+appName", "SELECT * FROM trace_logs WHERE log_payload->>'appName' = :appName ORDER BY created_at DESC",
+                params().addValue("appName", appName), filter().appName(appName));
+        run(report, "recent+logType", "SELECT * FROM trace_logs WHERE log_payload->>'logType' = :logType ORDER BY created_at DESC",
+                params().addValue("logType", logType), filter().logType(logType));
+        run(report, "recent+appName+logType", "SELECT * FROM trace_logs WHERE log_payload->>'appName' = :appName AND log_payload->>'logType' = :logType ORDER BY created_at DESC",
+                params().addValue("appName", appName).addValue("logType", logType), filter().appName(appName).logType(logType));
+        run(report, "recent+event", "SELECT * FROM trace_logs WHERE " + EVENT + " ORDER BY created_at DESC",
+                params(), filter().logType("event"));
+
+        // ===== Trace Logs (날짜 구간) =====
+        run(report, "range", "SELECT * FROM trace_logs_launcher WHERE created_at >= :startDate AND created_at <= :endDate ORDER BY created_at DESC",
+                range(), filter().startDate(startDate).endDate(endDate));
+        run(report, "range+appName", "SELECT * FROM trace_logs WHERE created_at >= :startDate AND created_at <= :endDate AND log_payload->>'appName' = :appName ORDER BY created_at DESC",
+                range().addValue("appName", appName), filter().startDate(startDate).endDate(endDate).appName(appName));
+        run(report, "range+logType", "SELECT * FROM trace_logs WHERE created_at >= :startDate AND created_at <= :endDate AND log_payload->>'logType' = :logType ORDER BY created_at DESC",
+                range().addValue("logType", logType), filter().startDate(startDate).endDate(endDate).logType(logType));
+        run(report, "range+appName+logType", "SELECT * FROM trace_logs WHERE created_at >= :startDate AND created_at <= :endDate AND log_payload->>'appName' = :appName AND log_payload->>'logType' = :logType ORDER BY created_at DESC",
+                range().addValue("appName", appName).addValue("logType", logType), filter().startDate(startDate).endDate(endDate).appName(appName).logType(logType));
+        run(report, "range+event", "SELECT * FROM trace_logs WHERE created_at >= :startDate AND created_at <= :endDate AND " + EVENT + " ORDER BY created_at DESC",
+                range(), filter().startDate(startDate).endDate(endDate).logType("event"));
+
+        // ===== User Logs (날짜 구간) =====
+        run(report, "user", "SELECT * FROM trace_logs WHERE created_at >= :startDate AND created_at <= :endDate AND log_payload->>'uuid' IS NOT NULL ORDER BY created_at DESC",
+                range(), filter().userLogs(true).startDate(startDate).endDate(endDate));
+        run(report, "user+uuid", "SELECT * FROM trace_logs WHERE created_at >= :startDate AND created_at <= :endDate AND log_payload->>'uuid' LIKE :uuid || '%' ORDER BY created_at DESC",
+                range().addValue("uuid", uuid), filter().userLogs(true).startDate(startDate).endDate(endDate).uuid(uuid));
+        run(report, "user+logType", "SELECT * FROM trace_logs WHERE created_at >= :startDate AND created_at <= :endDate AND log_payload->>'uuid' IS NOT NULL AND log_payload->>'logType' = :logType ORDER BY created_at DESC",
+                range().addValue("logType", logType), filter().userLogs(true).startDate(startDate).endDate(endDate).logType(logType));
+        run(report, "user+uuid+logType", "SELECT * FROM trace_logs WHERE created_at >= :startDate AND created_at <= :endDate AND log_payload->>'uuid' LIKE :uuid || '%' AND log_payload->>'logType' = :logType ORDER BY created_at DESC",
+                range().addValue("uuid", uuid).addValue("logType", logType), filter().userLogs(true).startDate(startDate).endDate(endDate).uuid(uuid).logType(logType));
+
+        System.out.println(String.join(System.lineSeparator(), report));
+    }
+
+    private void run(List<String> report, String name, String legacySql, MapSqlParameterSource legacyParams,
+                     TraceLogFilter.TraceLogFilterBuilder filter) {
+        String sql = legacySql + " LIMIT :limit";
+        legacyParams.addValue("limit", limit);
+        TraceLogFilter engineFilter = filter.limit(limit).build();
+
+        long[] legacy = measure(() -> jdbcTemplate.queryForList(sql, legacyParams).size());
+        long[] engine = measure(() -> traceLogQueryRepository.find(engineFilter).size());
+
+        report.add(String.format("%-32s %10.2fms %10.2fms %10.2fms %10.2fms", name,
+                percentile(legacy, 50), percentile(legacy, 95), percentile(engine, 50), percentile(engine, 95)));
+    }
+
+    private long[] measure(Supplier<Integer> query) {
+        for (int i = 0; i < warmup; i++) {
+            query.get();
+        }
+        long[] elapsed = new long[iterations];
+        for (int i = 0; i < iterations; i++) {
+            long start = System.nanoTime();
+            query.get();
+            elapsed[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(elapsed);
+        return elapsed;
+    }
+
+    private double percentile(long[] sorted, int percentile) {
+        int index = Math.min(sorted.length - 1, (int) Math.ceil(percentile / 100.0 * sorted.length) - 1);
+        return sorted[Math.max(index, 0)] / 1_000_000.0;
+    }
+
+    private MapSqlParameterSource params() {
+        return new MapSqlParameterSource();
+    }
+
+    private MapSqlParameterSource range() {
+        return params().addValue("startDate", startDate).addValue("endDate", endDate);
+    }
+
+    private TraceLogFilter.TraceLogFilterBuilder filter() {
+        return TraceLogFilter.builder();
+    }
+}
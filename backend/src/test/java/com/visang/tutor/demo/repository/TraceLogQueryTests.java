@@ -0,0 +1,36 @@
+package com.visang.tutor.demo.repository;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * uuid 앞부분 일치 검색의 상한값 계산
+ */
+class TraceLogQueryTests {
+
+    @Test
+    void upperBoundIncrementsLastCharacter() {
+        assertThat(TraceLogQuery.prefixUpperBound("abc")).isEqualTo("abd");
+        assertThat(TraceLogQuery.prefixUpperBound("a\uD83D\uDE00")).isEqualTo("a\uD83D\uDE01");
+    }
+
+    @Test
+    void upperBoundSkipsSurrogateRange() {
+        assertThat(TraceLogQuery.prefixUpperBound("a\uD7FF")).isEqualTo("a\uE000");
+    }
+
+    @Test
+    void upperBoundCarriesPastMaxCodePoint() {
+        String max = new String(Character.toChars(Character.MAX_CODE_POINT));
+        assertThat(TraceLogQuery.prefixUpperBound("ab" + max)).isEqualTo("ac");
+        assertThat(TraceLogQuery.prefixUpperBound(max + max)).isNull();
+    }
+
+    @Test
+    void queryWithoutUpperBoundKeepsLowerBound() {
+        String max = new String(Character.toChars(Character.MAX_CODE_POINT));
+        String sql = TraceLogQuery.create().uuid(max).toSql(10);
+        assertThat(sql).contains("~>=~ :uuid").doesNotContain(":uuidUpperBound");
+    }
+}
@@ -0,0 +1,63 @@
+package com.visang.tutor.demo.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Count-Min 스케치 오차 범위와 스냅샷 복원
+ */
+class CountMinSketchTests {
+
+    private static final int DEPTH = 4;
+    private static final int WIDTH = 2048;
+
+    @Test
+    void estimatesStayWithinErrorBound() {
+        CountMinSketch sketch = new CountMinSketch(DEPTH, WIDTH);
+        Map<String, Long> actual = fill(sketch);
+
+        long bound = 2 * sketch.total() / WIDTH;
+        long exceeded = actual.entrySet().stream()
+                .filter(entry -> sketch.estimate(entry.getKey()) - entry.getValue() > bound)
+                .count();
+        assertThat(actual).allSatisfy((key, count) -> assertThat(sketch.estimate(key)).isGreaterThanOrEqualTo(count));
+        // 키마다 초과 확률 (1/2)^depth 이하
+        assertThat(exceeded).isLessThanOrEqualTo(actual.size() / (1L << DEPTH));
+    }
+
+    @Test
+    void restoresSnapshot() throws IOException {
+        CountMinSketch sketch = new CountMinSketch(DEPTH, WIDTH);
+        Map<String, Long> actual = fill(sketch);
+
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        sketch.writeTo(new DataOutputStream(buffer));
+        CountMinSketch restored = CountMinSketch.readFrom(new DataInputStream(new ByteArrayInputStream(buffer.toByteArray())));
+
+        assertThat(restored.total()).isEqualTo(sketch.total());
+        assertThat(actual.keySet()).allSatisfy(key -> assertThat(restored.estimate(key)).isEqualTo(sketch.estimate(key)));
+    }
+
+    /**
+     * 앞쪽 키일수록 많이 나오는 분포로 키 10000개 추가
+     */
+    private static Map<String, Long> fill(CountMinSketch sketch) {
+        Map<String, Long> actual = new HashMap<>();
+        for (int i = 1; i <= 10_000; i++) {
+            String key = "E" + i;
+            long count = Math.max(1, 10_000 / i);
+            sketch.add(key, count);
+            actual.put(key, count);
+        }
+        return actual;
+    }
+}
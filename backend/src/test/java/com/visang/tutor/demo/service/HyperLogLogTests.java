@@ -0,0 +1,90 @@
+package com.visang.tutor.demo.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * HyperLogLog 추정, 합치기, 바이트 배열 변환(sparse/dense)
+ */
+class HyperLogLogTests {
+
+    private static final int PRECISION = 11;
+
+    @Test
+    void estimatesDistinctCount() {
+        HyperLogLog sketch = users(0, 100_000);
+        sketch.add("user-0"); // 이미 더한 값은 개수에 영향 없음
+
+        // 표준 오차 1.04 / sqrt(2048) ≈ 2.3%
+        assertThat((double) sketch.estimate()).isCloseTo(100_000, within(7_000.0));
+        assertThat(new HyperLogLog(PRECISION).estimate()).isZero();
+    }
+
+    @Test
+    void mergeEstimatesUnion() {
+        HyperLogLog left = users(0, 30_000);
+        HyperLogLog right = users(20_000, 50_000);
+
+        left.merge(right);
+
+        assertThat((double) left.estimate()).isCloseTo(50_000, within(3_500.0));
+    }
+
+    @Test
+    void mergeRejectsDifferentPrecision() {
+        assertThatThrownBy(() -> new HyperLogLog(PRECISION).merge(new HyperLogLog(PRECISION + 1)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void roundTripsSparseBytes() {
+        HyperLogLog sketch = users(0, 100);
+
+        byte[] bytes = sketch.toBytes();
+
+        // precision, 형식 2바이트 + 0이 아닌 레지스터(최대 100개)당 3바이트
+        assertThat(bytes[1]).isEqualTo((byte) 1);
+        assertThat(bytes.length).isLessThanOrEqualTo(2 + 3 * 100);
+        assertThat((bytes.length - 2) % 3).isZero();
+        assertSameRegisters(HyperLogLog.fromBytes(bytes), sketch);
+    }
+
+    @Test
+    void roundTripsDenseBytes() {
+        HyperLogLog sketch = users(0, 50_000);
+
+        byte[] bytes = sketch.toBytes();
+
+        assertThat(bytes[1]).isEqualTo((byte) 0);
+        assertThat(bytes.length).isEqualTo(2 + (1 << PRECISION));
+        assertSameRegisters(HyperLogLog.fromBytes(bytes), sketch);
+    }
+
+    @Test
+    void mergesRestoredSparseIntoDense() {
+        HyperLogLog dense = users(0, 50_000);
+        HyperLogLog sparse = HyperLogLog.fromBytes(users(50_000, 50_100).toBytes());
+
+        dense.merge(sparse);
+
+        assertSameRegisters(HyperLogLog.fromBytes(dense.toBytes()), dense);
+        assertThat(dense.estimate()).isGreaterThan(users(0, 50_000).estimate());
+    }
+
+    private static HyperLogLog users(int from, int to) {
+        HyperLogLog sketch = new HyperLogLog(PRECISION);
+        for (int i = from; i < to; i++) {
+            sketch.add("user-" + i);
+        }
+        return sketch;
+    }
+
+    private static void assertSameRegisters(HyperLogLog actual, HyperLogLog expected) {
+        assertThat(actual.precision()).isEqualTo(expected.precision());
+        assertThat(actual.estimate()).isEqualTo(expected.estimate());
+        assertThat(actual.toBytes()).isEqualTo(expected.toBytes());
+    }
+}
@@ -0,0 +1,187 @@
+package com.visang.tutor.demo.service;
+
+import com.visang.tutor.demo.dto.ErrorLogFilter;
+import com.visang.tutor.demo.dto.LogCursor;
+import com.visang.tutor.demo.model.RefinedErrorLog;
+import com.visang.tutor.demo.repository.RefinedErrorLogQueryRepository;
+import com.visang.tutor.demo.repository.TraceLogQueryRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * 실시간 전달의 lag 구간 재조회, backfill과 폴링 사이의 중복 제거
+ */
+class LogTailServiceTests {
+
+    private static final Pattern LOG_ID = Pattern.compile("event:log\\s+data:\\{\"id\":(\\d+)");
+
+    private final OffsetDateTime now = OffsetDateTime.now();
+    private final List<RefinedErrorLog> table = new CopyOnWriteArrayList<>();
+    private final StubRepository repository = new StubRepository();
+    private LogTailService logTailService;
+    private MockMvc mockMvc;
+
+    @BeforeEach
+    void setUp() {
+        QueryBulkhead queryBulkhead = new QueryBulkhead();
+        ReflectionTestUtils.setField(queryBulkhead, "meterRegistry", new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(queryBulkhead, "heavyLimit", 10000);
+        ReflectionTestUtils.setField(queryBulkhead, "heavyRange", Duration.ofDays(1));
+        ReflectionTestUtils.setField(queryBulkhead, "heavyPermits", 1);
+        ReflectionTestUtils.setField(queryBulkhead, "lightPermits", 1);
+        ReflectionTestUtils.setField(queryBulkhead, "streamPermits", 1);
+        ReflectionTestUtils.setField(queryBulkhead, "heavyTimeout", Duration.ofSeconds(1));
+        ReflectionTestUtils.setField(queryBulkhead, "lightTimeout", Duration.ofSeconds(1));
+        ReflectionTestUtils.setField(queryBulkhead, "streamTimeout", Duration.ofSeconds(1));
+        queryBulkhead.init();
+
+        logTailService = new LogTailService();
+        ReflectionTestUtils.setField(logTailService, "traceLogQueryRepository", new TraceLogQueryRepository());
+        ReflectionTestUtils.setField(logTailService, "refinedErrorLogQueryRepository", repository);
+        ReflectionTestUtils.setField(logTailService, "queryBulkhead", queryBulkhead);
+        ReflectionTestUtils.setField(logTailService, "batchSize", 1000);
+        ReflectionTestUtils.setField(logTailService, "maxBatches", 10);
+        ReflectionTestUtils.setField(logTailService, "maxSubscribers", 10);
+        ReflectionTestUtils.setField(logTailService, "timeoutMs", 60_000L);
+        ReflectionTestUtils.setField(logTailService, "heartbeatMs", 3_600_000L);
+        ReflectionTestUtils.setField(logTailService, "lagSeconds", 10L);
+        ReflectionTestUtils.setField(logTailService, "backfillLimit", 1000);
+        logTailService.init();
+
+        mockMvc = MockMvcBuilders.standaloneSetup(new TailController()).build();
+    }
+
+    @Test
+    void rescansLagWindowForLateCommittedRows() throws Exception {
+        insert(10, 60);
+        MvcResult result = subscribe(null);
+
+        insert(11, 60);
+        insert(13, 0);
+        logTailService.poll();
+
+        // 13번보다 늦게 커밋된 12번 - 13번이 lag 구간 안에 있으므로 다음 주기에 11번 이후를 다시 읽어 전달
+        insert(12, 60);
+        logTailService.poll();
+        logTailService.poll();
+
+        assertThat(sentIds(result)).containsExactly(11L, 13L, 12L);
+    }
+
+    @Test
+    void sendsRowsPolledDuringBackfillAfterIt() throws Exception {
+        insert(5, 120);
+        insert(9, 60);
+        insert(10, 60);
+        // 구독 위치를 정한 뒤(최대 id 10) backfill 조회 전에 커밋된 행 - backfill과 폴러가 모두 읽음
+        repository.beforeBackfill = () -> {
+            insert(11, 60);
+            insert(12, 60);
+            // backfill 중에도 채널 잠금을 잡고 있지 않으므로 폴링이 바로 끝남
+            CompletableFuture.runAsync(logTailService::poll).orTimeout(5, TimeUnit.SECONDS).join();
+        };
+
+        MvcResult result = subscribe(new LogCursor(at(120), 5L));
+        logTailService.poll();
+
+        assertThat(sentIds(result)).containsExactly(9L, 10L, 11L, 12L);
+    }
+
+    private MvcResult subscribe(LogCursor lastSeen) throws Exception {
+        return mockMvc.perform(get("/tail").param("cursor", lastSeen != null ? lastSeen.encode() : ""))
+                .andReturn();
+    }
+
+    private void insert(long id, long secondsAgo) {
+        RefinedErrorLog log = new RefinedErrorLog();
+        log.setId(id);
+        log.setCreatedAt(at(secondsAgo));
+        table.add(log);
+    }
+
+    private OffsetDateTime at(long secondsAgo) {
+        return now.minusSeconds(secondsAgo);
+    }
+
+    private static List<Long> sentIds(MvcResult result) throws Exception {
+        Matcher matcher = LOG_ID.matcher(result.getResponse().getContentAsString());
+        List<Long> ids = new ArrayList<>();
+        while (matcher.find()) {
+            ids.add(Long.parseLong(matcher.group(1)));
+        }
+        return ids;
+    }
+
+    @RestController
+    class TailController {
+
+        @GetMapping("/tail")
+        SseEmitter tail(@RequestParam String cursor) {
+            return logTailService.subscribeErrorLogs(ErrorLogFilter.builder().build(),
+                    cursor.isEmpty() ? null : LogCursor.valueOf(cursor));
+        }
+    }
+
+    /**
+     * 메모리 목록을 테이블처럼 읽는 저장소
+     */
+    private class StubRepository extends RefinedErrorLogQueryRepository {
+
+        private Runnable beforeBackfill = () -> {
+        };
+
+        @Override
+        public long findMaxId() {
+            return table.stream().mapToLong(RefinedErrorLog::getId).max().orElse(0);
+        }
+
+        @Override
+        public List<RefinedErrorLog> findAfterId(long afterId, int limit) {
+            return table.stream()
+                    .filter(log -> log.getId() > afterId)
+                    .sorted(Comparator.comparing(RefinedErrorLog::getId))
+                    .limit(limit)
+                    .toList();
+        }
+
+        /**
+         * since 이후의 로그 ((created_at, id) 역순)
+         */
+        @Override
+        public List<RefinedErrorLog> find(ErrorLogFilter filter) {
+            beforeBackfill.run();
+            LogCursor since = filter.getSince();
+            return table.stream()
+                    .filter(log -> log.getCreatedAt().isAfter(since.createdAt())
+                            || (log.getCreatedAt().isEqual(since.createdAt()) && log.getId() > since.id()))
+                    .sorted(Comparator.comparing(RefinedErrorLog::getCreatedAt)
+                            .thenComparing(RefinedErrorLog::getId)
+                            .reversed())
+                    .limit(filter.getLimit())
+                    .toList();
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.visang.tutor.demo.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 같은 키의 동시 조회 합치기와 실패 후 키 제거
+ */
+class SingleFlightTests {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SingleFlight<String, Integer> singleFlight = new SingleFlight<>("test", meterRegistry);
+
+    @Test
+    void removesKeyAfterException() {
+        assertThatThrownBy(() -> singleFlight.execute("key", () -> {
+            throw new IllegalStateException("query failed");
+        })).isInstanceOf(IllegalStateException.class).hasMessage("query failed");
+
+        // 실패한 조회가 남아 있으면 다음 요청도 같은 예외를 받게 됨
+        assertThat(singleFlight.execute("key", () -> 1)).isEqualTo(1);
+    }
+
+    @Test
+    void removesKeyAfterSuccess() {
+        AtomicInteger calls = new AtomicInteger();
+
+        singleFlight.execute("key", calls::incrementAndGet);
+        singleFlight.execute("key", calls::incrementAndGet);
+
+        assertThat(calls).hasValue(2);
+    }
+
+    @Test
+    void sharesInFlightResultAndException() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> leader = executor.submit(() -> singleFlight.execute("key", () -> {
+                started.countDown();
+                await(release);
+                throw new IllegalStateException("query failed");
+            }));
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+            AtomicReference<Throwable> waiterError = new AtomicReference<>();
+            Thread waiter = new Thread(() -> {
+                try {
+                    singleFlight.execute("key", () -> 2);
+                } catch (RuntimeException e) {
+                    waiterError.set(e);
+                }
+            });
+            waiter.start();
+            while (meterRegistry.counter("singleflight.shared", "name", "test").count() < 1) {
+                Thread.sleep(1);
+            }
+            release.countDown();
+            waiter.join(5000);
+
+            assertThat(waiter.isAlive()).isFalse();
+            assertThat(waiterError.get()).isInstanceOf(IllegalStateException.class).hasMessage("query failed");
+            assertThatThrownBy(() -> leader.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(IllegalStateException.class);
+            assertThat(singleFlight.execute("key", () -> 3)).isEqualTo(3);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
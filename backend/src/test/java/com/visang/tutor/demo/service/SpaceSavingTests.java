@@ -0,0 +1,68 @@
+package com.visang.tutor.demo.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * SpaceSaving 상위 키 오차 범위와 스냅샷 복원
+ */
+class SpaceSavingTests {
+
+    @Test
+    void keepsHeavyHittersWithinError() {
+        SpaceSaving sketch = new SpaceSaving(50);
+        fill(sketch);
+
+        List<SpaceSaving.Entry> top = sketch.top(5);
+        assertThat(top).extracting(SpaceSaving.Entry::key).containsExactly("H1", "H2", "H3", "H4", "H5");
+        for (int i = 0; i < top.size(); i++) {
+            long actual = 1000L * (5 - i);
+            SpaceSaving.Entry entry = top.get(i);
+            assertThat(entry.count()).isGreaterThanOrEqualTo(actual);
+            assertThat(entry.count() - entry.error()).isLessThanOrEqualTo(actual);
+        }
+    }
+
+    @Test
+    void evictsSmallestCounterAndCarriesItsCount() {
+        SpaceSaving sketch = new SpaceSaving(2);
+        sketch.add("a", 5);
+        sketch.add("b", 3);
+        sketch.add("c", 1);
+
+        assertThat(sketch.top(2)).containsExactly(new SpaceSaving.Entry("a", 5, 0), new SpaceSaving.Entry("c", 4, 3));
+    }
+
+    @Test
+    void restoresSnapshot() throws IOException {
+        SpaceSaving sketch = new SpaceSaving(50);
+        fill(sketch);
+
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        sketch.writeTo(new DataOutputStream(buffer));
+        SpaceSaving restored = SpaceSaving.readFrom(new DataInputStream(new ByteArrayInputStream(buffer.toByteArray())));
+
+        assertThat(restored.top(50)).isEqualTo(sketch.top(50));
+    }
+
+    /**
+     * 상위 키 5개(H1~H5)와 한 번씩만 나오는 키 2000개를 섞어서 추가
+     */
+    private static void fill(SpaceSaving sketch) {
+        for (int round = 0; round < 1000; round++) {
+            for (int h = 1; h <= 5; h++) {
+                sketch.add("H" + h, 6 - h);
+            }
+            sketch.add("N" + (2 * round), 1);
+            sketch.add("N" + (2 * round + 1), 1);
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package com.visang.tutor.demo.service;
+
+import com.visang.tutor.demo.dto.TraceLogFilter;
+import com.visang.tutor.demo.model.TraceLog;
+import com.visang.tutor.demo.repository.QueryCancellation;
+import com.visang.tutor.demo.repository.TraceLogQueryRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 구간 병렬 조회의 구간별 보관 행 정리와 취소, 병합 순서
+ */
+class TraceLogFanOutTests {
+
+    private static final OffsetDateTime END = OffsetDateTime.parse("2024-01-04T00:00:00Z");
+
+    private final List<Slice> slices = new ArrayList<>();
+    private TraceLogFanOut fanOut;
+
+    @AfterEach
+    void shutdown() {
+        if (fanOut != null) {
+            fanOut.shutdown();
+        }
+    }
+
+    @Test
+    void concatenatesNewestSliceFirst() {
+        // 오래된 구간부터 끝나도 결과는 최신 구간부터 이어 붙임
+        CountDownLatch olderDone = new CountDownLatch(2);
+        slice(2, (cancellation, consumer) -> {
+            emit(consumer, log(2, 1), log(2, 2));
+            olderDone.countDown();
+        });
+        slice(1, (cancellation, consumer) -> {
+            emit(consumer, log(1, 1), log(1, 2));
+            olderDone.countDown();
+        });
+        slice(0, (cancellation, consumer) -> {
+            await(olderDone);
+            emit(consumer, log(0, 1), log(0, 2));
+        });
+
+        assertThat(ids(find(3, 10))).containsExactly(1L, 2L, 101L, 102L, 201L, 202L);
+    }
+
+    @Test
+    void newerSliceEvictsOlderRows() {
+        TraceLogFanOut.SliceBuffers buffers = new TraceLogFanOut.SliceBuffers(3, 2);
+
+        // 최신 구간이 비어 있으므로 오래된 구간이 limit개까지 보관
+        assertThat(buffers.add(1, log(1, 1))).isTrue();
+        assertThat(buffers.add(1, log(1, 2))).isTrue();
+        assertThat(buffers.add(1, log(1, 3))).isFalse();
+
+        // 최신 구간이 보관할 때마다 오래된 구간의 뒤쪽 행을 버림
+        assertThat(buffers.add(0, log(0, 1))).isTrue();
+        assertThat(buffers.add(0, log(0, 2))).isTrue();
+        assertThat(buffers.size()).isEqualTo(3);
+        assertThat(ids(buffers.merge())).containsExactly(1L, 2L, 101L);
+        assertThat(buffers.cancellation(1).isCancelled()).isFalse();
+
+        assertThat(buffers.add(0, log(0, 3))).isFalse();
+        assertThat(buffers.size()).isEqualTo(3);
+        assertThat(ids(buffers.merge())).containsExactly(1L, 2L, 3L);
+        assertThat(buffers.cancellation(1).isCancelled()).isTrue();
+    }
+
+    @Test
+    void cancelsSliceWithoutRoom() {
+        CountDownLatch olderStarted = new CountDownLatch(1);
+        CountDownLatch newerDone = new CountDownLatch(1);
+        AtomicBoolean olderCancelled = new AtomicBoolean();
+        slice(1, (cancellation, consumer) -> {
+            emit(consumer, log(1, 1));
+            olderStarted.countDown();
+            await(newerDone);
+            olderCancelled.set(cancellation.isCancelled());
+            // Statement.cancel()로 중단된 조회처럼 예외로 끝남
+            throw new QueryTimeoutException("canceling statement due to user request");
+        });
+        slice(0, (cancellation, consumer) -> {
+            await(olderStarted);
+            try {
+                emit(consumer, log(0, 1), log(0, 2));
+            } finally {
+                newerDone.countDown();
+            }
+        });
+
+        assertThat(ids(find(2, 2))).containsExactly(1L, 2L);
+        assertThat(olderCancelled).isTrue();
+    }
+
+    /**
+     * 하루 단위 구간 slices개로 나누어 조회
+     */
+    private List<TraceLog> find(int sliceCount, int limit) {
+        fanOut = new TraceLogFanOut();
+        ReflectionTestUtils.setField(fanOut, "traceLogQueryRepository", new StubRepository());
+        ReflectionTestUtils.setField(fanOut, "transactionManager", new StubTransactionManager());
+        ReflectionTestUtils.setField(fanOut, "enabled", true);
+        ReflectionTestUtils.setField(fanOut, "minRange", Duration.ofHours(1));
+        ReflectionTestUtils.setField(fanOut, "slices", sliceCount);
+        ReflectionTestUtils.setField(fanOut, "threads", sliceCount);
+        fanOut.init();
+
+        return fanOut.find(TraceLogFilter.builder()
+                .startDate(END.minusDays(sliceCount))
+                .endDate(END)
+                .limit(limit)
+                .build());
+    }
+
+    /**
+     * index번째(0이 최신) 구간의 스트리밍 동작 등록
+     */
+    private void slice(int index, SliceStream stream) {
+        slices.add(new Slice(index, stream));
+    }
+
+    /**
+     * index번째 구간 안의 로그 (id = index * 100 + n, 최신 순서)
+     */
+    private static TraceLog log(int index, int n) {
+        return TraceLog.builder()
+                .id(index * 100L + n)
+                .createdAt(END.minusDays(index).minusMinutes(n))
+                .build();
+    }
+
+    private static void emit(Consumer<TraceLog> consumer, TraceLog... logs) {
+        for (TraceLog log : logs) {
+            consumer.accept(log);
+        }
+    }
+
+    private static List<Long> ids(List<TraceLog> logs) {
+        return logs.stream().map(TraceLog::getId).toList();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private interface SliceStream {
+        void stream(QueryCancellation cancellation, Consumer<TraceLog> consumer);
+    }
+
+    private record Slice(int index, SliceStream stream) {
+
+        boolean covers(TraceLogFilter filter) {
+            OffsetDateTime time = END.minusDays(index).minusMinutes(1);
+            return !time.isBefore(filter.getStartDate()) && !time.isAfter(filter.getEndDate());
+        }
+    }
+
+    /**
+     * 구간 조건에 맞는 등록된 동작으로 스트리밍하는 저장소
+     */
+    private class StubRepository extends TraceLogQueryRepository {
+
+        @Override
+        public void stream(TraceLogFilter filter, QueryCancellation cancellation, Consumer<TraceLog> consumer) {
+            Slice slice = slices.stream()
+                    .filter(s -> s.covers(filter))
+                    .findFirst()
+                    .orElseThrow();
+            slice.stream().stream(cancellation, consumer);
+        }
+    }
+
+    private static class StubTransactionManager implements PlatformTransactionManager {
+
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            return new SimpleTransactionStatus();
+        }
+
+        @Override
+        public void commit(TransactionStatus status) {
+        }
+
+        @Override
+        public void rollback(TransactionStatus status) {
+        }
+    }
+}
@@ -2,7 +2,7 @@
 
 import { useState } from "react";
 import { useQuery } from "@tanstack/react-query";
-import { errorLogsApi, type RefinedErrorLog } from "@/lib/api/error-logs";
+import { errorLogsApi, type ErrorLogSummary } from "@/lib/api/error-logs";
 import { getErrCdDescription } from "@/lib/errCdMapping";
 import { summarizeErrorLogs } from "@/lib/openai";
 
@@ -16,7 +16,7 @@ export default function ErrorLogsPage() {
   const [limit, setLimit] = useState<100 | 200 | 300 | 500 | 1000 | null>(100);
   const [startDate, setStartDate] = useState("");
   const [endDate, setEndDate] = useState("");
-  const [selectedLog, setSelectedLog] = useState<RefinedErrorLog | null>(null);
+  const [selectedSummary, setSelectedSummary] = useState<ErrorLogSummary | null>(null);
   const [enableSummary, setEnableSummary] = useState(false);
   const [summary, setSummary] = useState<string>("");
   const [isSummarizing, setIsSummarizing] = useState(false);
@@ -27,7 +27,7 @@ export default function ErrorLogsPage() {
   const recentQuery = useQuery({
     queryKey: ["error-logs", "recent", minutes, profile, appName, limit],
     queryFn: () =>
-      errorLogsApi.getRecentErrorLogs({
+      errorLogsApi.getRecentErrorLogSummaries({
         minutes,
         profile,
         appName,
@@ -40,7 +40,7 @@ export default function ErrorLogsPage() {
   const rangeQuery = useQuery({
     queryKey: ["error-logs", "range", startDate, endDate, profile, appName, limit],
     queryFn: () =>
-      errorLogsApi.getErrorLogsByDateRange({
+      errorLogsApi.getErrorLogSummariesByDateRange({
         startDate: new Date(startDate).toISOString(),
         endDate: new Date(endDate).toISOString(),
         profile,
@@ -50,6 +50,14 @@ export default function ErrorLogsPage() {
     enabled: queryType === "range" && !!startDate && !!endDate,
   });
 
+  // 목록은 요약만 조회하고, 선택한 에러 로그의 전체 내용은 상세 조회
+  const detailQuery = useQuery({
+    queryKey: ["error-log", selectedSummary?.id],
+    queryFn: () => errorLogsApi.getErrorLog(selectedSummary!.id),
+    enabled: selectedSummary !== null,
+  });
+  const selectedLog = selectedSummary ? detailQuery.data ?? null : null;
+
   const currentQuery = queryType === "recent" ? recentQuery : rangeQuery;
   const logs = currentQuery.data?.logs || [];
   const total = currentQuery.data?.total || 0;
@@ -316,9 +324,9 @@ export default function ErrorLogsPage() {
               {logs.map((log) => (
                 <div
                   key={log.id}
-                  onClick={() => setSelectedLog(log)}
+                  onClick={() => setSelectedSummary(log)}
                   className={`cursor-pointer rounded-lg border bg-white p-4 transition hover:shadow-md ${
-                    selectedLog?.id === log.id
+                    selectedSummary?.id === log.id
                       ? "border-red-500 ring-2 ring-red-200"
                       : "border-gray-200"
                   }`}
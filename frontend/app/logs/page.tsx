@@ -1,9 +1,9 @@
 "use client";
 
 import { useState, useEffect } from "react";
-import { useQuery } from "@tanstack/react-query";
+import { useQuery, useQueryClient } from "@tanstack/react-query";
 import { useRouter } from "next/navigation";
-import { traceLogsApi, type TraceLog } from "@/lib/api/trace-logs";
+import { traceLogsApi, toLogCursor, type LogPayload, type TraceLog } from "@/lib/api/trace-logs";
 import { getEvtCdDescription } from "@/lib/evtCdMapping";
 import { summarizeLogs } from "@/lib/openai";
 
@@ -11,6 +11,7 @@ type QueryType = "recent" | "range";
 
 export default function LogsPage() {
   const router = useRouter();
+  const queryClient = useQueryClient();
   const [queryType, setQueryType] = useState<QueryType>("recent");
   const [limit, setLimit] = useState<100 | 200 | 300 | 1000>(100);
   const [startDate, setStartDate] = useState("");
@@ -26,9 +27,10 @@ export default function LogsPage() {
   const [summaryError, setSummaryError] = useState<string>("");
   const [tokenCount, setTokenCount] = useState<number>(0);
 
-  // 최근 로그 조회 - 자동 조회 및 1분마다 자동 갱신
+  // 최근 로그 조회 - 자동 조회 후 새 로그는 실시간 수신(tail)으로 추가
+  const recentQueryKey = ["trace-logs-launcher", "recent", limit, logType, profile];
   const recentQuery = useQuery({
-    queryKey: ["trace-logs-launcher", "recent", limit, logType, profile],
+    queryKey: recentQueryKey,
     queryFn: async () => {
       const data = await traceLogsApi.getRecentLogs({
         limit,
@@ -39,8 +41,6 @@ export default function LogsPage() {
       return data;
     },
     enabled: queryType === "recent", // recent 모드일 때 자동 조회
-    refetchInterval: enableAutoRefresh && queryType === "recent" ? 60000 : false, // 1분마다
-    refetchIntervalInBackground: false, // 백그라운드 탭에서는 폴링 중지
     gcTime: 0,
     staleTime: 0,
   });
@@ -67,6 +67,29 @@ export default function LogsPage() {
   const currentQuery = queryType === "recent" ? recentQuery : rangeQuery;
   const currentLogs = currentQuery.data || [];
 
+  // 실시간 수신 - 목록의 가장 최근 로그 이후에 추가된 로그만 받아 목록 앞에 추가 (limit 개수 유지)
+  useEffect(() => {
+    if (!enableAutoRefresh || queryType !== "recent" || !recentQuery.isSuccess) return;
+
+    const newest = recentQuery.data[0];
+    const source = traceLogsApi.tailLogs(
+      {
+        logType: logType === "all" ? undefined : logType,
+        profile: profile === "all" ? undefined : profile,
+        cursor: newest ? toLogCursor(newest) : undefined,
+      },
+      (log) => {
+        queryClient.setQueryData<TraceLog[]>(recentQueryKey, (logs = []) =>
+          [log, ...logs].slice(0, limit)
+        );
+        setLastUpdated(new Date());
+      }
+    );
+    return () => source.close();
+    // 목록을 처음 받은 시점에 한 번 연결 (tail로 추가된 로그로 다시 연결하지 않음)
+    // eslint-disable-next-line react-hooks/exhaustive-deps
+  }, [enableAutoRefresh, queryType, limit, logType, profile, recentQuery.isSuccess]);
+
   // queryType이 변경되면 자동 갱신도 초기화
   useEffect(() => {
     if (queryType === "range") {
@@ -168,12 +191,8 @@ export default function LogsPage() {
     });
   };
 
-  const formatPayload = (payload: string) => {
-    try {
-      return JSON.stringify(JSON.parse(payload), null, 2);
-    } catch {
-      return payload;
-    }
+  const formatPayload = (payload: LogPayload) => {
+    return JSON.stringify(payload, null, 2);
   };
 
   const formatLastUpdated = (date: Date | null) => {
@@ -188,12 +207,8 @@ export default function LogsPage() {
     });
   };
 
-  const parseLogPayload = (payload: string) => {
-    try {
-      return JSON.parse(payload);
-    } catch {
-      return {};
-    }
+  const parseLogPayload = (payload: LogPayload | null) => {
+    return payload ?? {};
   };
 
   const formatLogItem = (log: TraceLog) => {
@@ -260,7 +275,7 @@ export default function LogsPage() {
                     className="h-4 w-4 accent-blue-600"
                   />
                   <span className="text-sm font-medium text-gray-700">
-                    1분마다 자동 갱신
+                    실시간 갱신
                   </span>
                 </label>
               )}
@@ -650,7 +665,7 @@ export default function LogsPage() {
               </div>
               {(() => {
                 try {
-                  const payload = JSON.parse(selectedLog.logPayload);
+                  const payload = parseLogPayload(selectedLog.logPayload);
                   const uuid = payload.uuid;
                   if (uuid) {
                     return (
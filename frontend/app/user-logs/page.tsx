@@ -4,6 +4,7 @@ import { useState, useEffect } from "react";
 import { useQuery } from "@tanstack/react-query";
 import { useSearchParams } from "next/navigation";
 import { userLogsApi, type TraceLog } from "@/lib/api/user-logs";
+import type { LogPayload } from "@/lib/api/trace-logs";
 
 type QueryType = "recent" | "range";
 
@@ -164,12 +165,8 @@ export default function UserLogsPage() {
     });
   };
 
-  const formatPayload = (payload: string) => {
-    try {
-      return JSON.stringify(JSON.parse(payload), null, 2);
-    } catch {
-      return payload;
-    }
+  const formatPayload = (payload: LogPayload) => {
+    return JSON.stringify(payload, null, 2);
   };
 
   return (
@@ -341,12 +338,7 @@ export default function UserLogsPage() {
               </div>
               <div className="space-y-2">
                 {currentLogs.map((log) => {
-                  let payload;
-                  try {
-                    payload = JSON.parse(log.logPayload);
-                  } catch {
-                    payload = {};
-                  }
+                  const payload = log.logPayload ?? {};
 
                   const isSelected = selectedLog?.id === log.id;
 
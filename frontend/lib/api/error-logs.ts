@@ -1,4 +1,5 @@
 import axios from "axios";
+import type { LogSearchResponse, TraceLog } from "./trace-logs";
 
 const API_BASE_URL = process.env.NEXT_PUBLIC_API_URL || "http://localhost:8080";
 
@@ -20,9 +21,47 @@ export interface RefinedErrorLog {
   userSeCd: string;
 }
 
-export interface ErrorLogResponse {
-  logs: RefinedErrorLog[];
+/** 목록용 요약 (view=summary, errMsg는 앞 200자) */
+export interface ErrorLogSummary {
+  id: number;
+  createdAt: string;
+  profile: string;
+  appName: string;
+  errCd: string;
+  exception: string;
+  userId: string;
+  schlCd: string;
+  errMsg: string;
+}
+
+export interface ErrorLogResponse<T = RefinedErrorLog> {
+  logs: T[];
   total: number;
+  totalApproximate: boolean;
+  nextCursor: string | null;
+  /** 원본 Trace 로그 (traceLogsId → TraceLog, includeTrace=true인 경우만 포함) */
+  traceLogs?: Record<number, TraceLog>;
+}
+
+/** 시그니처별 묶음 (view=groups, 대표 값은 가장 최근 에러 기준) */
+export interface ErrorLogGroup {
+  signature: string;
+  count: number;
+  firstSeen: string;
+  lastSeen: string;
+  sampleIds: number[];
+  hash: string | null;
+  exception: string | null;
+  errCd: string | null;
+  appName: string | null;
+  errMsg: string | null;
+  urlTemplate: string;
+}
+
+export interface ErrorLogGroupResponse {
+  total: number;
+  groupCount: number;
+  groups: ErrorLogGroup[];
 }
 
 export interface ErrorLogsParams {
@@ -30,6 +69,10 @@ export interface ErrorLogsParams {
   profile?: string;
   appName?: string;
   limit?: number;
+  /** 이미 받은 가장 최근 로그의 커서 - 이 위치 이후에 추가된 로그만 조회 */
+  since?: string;
+  /** 원본 Trace 로그 포함 여부 (전체 조회만 해당) */
+  includeTrace?: boolean;
 }
 
 export interface ErrorLogsRangeParams {
@@ -38,6 +81,68 @@ export interface ErrorLogsRangeParams {
   profile?: string;
   appName?: string;
   limit?: number;
+  /** 원본 Trace 로그 포함 여부 (전체 조회만 해당) */
+  includeTrace?: boolean;
+}
+
+/**
+ * 에러 로그 전문 검색 파라미터 (errMsg + message)
+ * - q: websearch 문법 (공백으로 나눈 단어는 모두 포함, "..."는 구문, OR는 둘 중 하나, -단어는 제외)
+ * - startDate/endDate가 없으면 최근 minutes분 (10, 30, 60(기본값), 360, 720, 1440)
+ */
+export interface ErrorLogSearchParams {
+  q: string;
+  minutes?: number;
+  startDate?: string;
+  endDate?: string;
+  profile?: string;
+  appName?: string;
+  limit?: number;
+  offset?: number;
+}
+
+export type ErrorLogDimension = "errCd" | "appName" | "profile" | "exception" | "schlCd";
+
+export interface ErrorLogStatsResponse {
+  dimension: ErrorLogDimension;
+  total: number;
+  buckets: { key: string | null; count: number }[];
+}
+
+export interface ErrorLogTimeSeriesResponse {
+  interval: "minute" | "hour" | "day";
+  dimension: ErrorLogDimension | null;
+  points: { time: string; key: string | null; count: number }[];
+}
+
+export interface ErrorAnomaly {
+  appName: string | null;
+  profile: string | null;
+  errCd: string | null;
+  since: string;
+  minute: string;
+  count: number;
+  expected: number;
+  stddev: number;
+  zScore: number;
+  peakCount: number;
+}
+
+/** 에러 급증(이상) 탐지 결과 - ready가 false이면 기준선을 채우는 중 */
+export interface ErrorAnomalyResponse {
+  evaluatedAt: string | null;
+  ready: boolean;
+  series: number;
+  anomalies: ErrorAnomaly[];
+}
+
+export interface ErrorLogStatsParams {
+  minutes?: number;
+  startDate?: string;
+  endDate?: string;
+  profile?: string;
+  appName?: string;
+  top?: number;
 }
 
 export const errorLogsApi = {
@@ -45,11 +150,75 @@ export const errorLogsApi = {
    * 최근 시간 기준 에러 로그 조회
    */
   getRecentErrorLogs: async (params: ErrorLogsParams = {}): Promise<ErrorLogResponse> => {
-    const { minutes = 10, profile = "all", appName = "all", limit = 100 } = params;
+    const { minutes = 10, profile = "all", appName = "all", limit = 100, since, includeTrace } = params;
     const response = await axios.get<ErrorLogResponse>(
       `${API_BASE_URL}/api/error-logs/recent`,
       {
-        params: { minutes, profile, appName, limit },
+        params: { minutes, profile, appName, limit, since, includeTrace },
+      }
+    );
+    return response.data;
+  },
+
+  /**
+   * 최근 시간 기준 에러 로그 요약 목록 조회
+   */
+  getRecentErrorLogSummaries: async (
+    params: ErrorLogsParams = {}
+  ): Promise<ErrorLogResponse<ErrorLogSummary>> => {
+    const { minutes = 10, profile = "all", appName = "all", limit = 100 } = params;
+    const response = await axios.get<ErrorLogResponse<ErrorLogSummary>>(
+      `${API_BASE_URL}/api/error-logs/recent`,
+      {
+        params: { view: "summary", minutes, profile, appName, limit },
+      }
+    );
+    return response.data;
+  },
+
+  /**
+   * 최근 시간 기준 에러 로그 시그니처별 묶음 조회
+   */
+  getRecentErrorLogGroups: async (
+    params: ErrorLogsParams & { top?: number } = {}
+  ): Promise<ErrorLogGroupResponse> => {
+    const { minutes = 10, profile = "all", appName = "all", top = 30 } = params;
+    const response = await axios.get<ErrorLogGroupResponse>(
+      `${API_BASE_URL}/api/error-logs/recent`,
+      {
+        params: { view: "groups", minutes, profile, appName, top },
+      }
+    );
+    return response.data;
+  },
+
+  /**
+   * 날짜 구간별 에러 로그 시그니처별 묶음 조회
+   */
+  getErrorLogGroupsByDateRange: async (
+    params: ErrorLogsRangeParams & { top?: number }
+  ): Promise<ErrorLogGroupResponse> => {
+    const { startDate, endDate, profile = "all", appName = "all", top = 30 } = params;
+    const response = await axios.get<ErrorLogGroupResponse>(
+      `${API_BASE_URL}/api/error-logs/range`,
+      {
+        params: { view: "groups", startDate, endDate, profile, appName, top },
+      }
+    );
+    return response.data;
+  },
+
+  /**
+   * 진행 중인 에러 급증(이상) 조회
+   */
+  getErrorAnomalies: async (
+    params: { profile?: string; appName?: string } = {}
+  ): Promise<ErrorAnomalyResponse> => {
+    const { profile = "all", appName = "all" } = params;
+    const response = await axios.get<ErrorAnomalyResponse>(
+      `${API_BASE_URL}/api/error-logs/anomalies`,
+      {
+        params: { profile, appName },
       }
     );
     return response.data;
@@ -61,11 +230,83 @@ export const errorLogsApi = {
   getErrorLogsByDateRange: async (
     params: ErrorLogsRangeParams
   ): Promise<ErrorLogResponse> => {
-    const { startDate, endDate, profile = "all", appName = "all", limit = 100 } = params;
+    const { startDate, endDate, profile = "all", appName = "all", limit = 100, includeTrace } = params;
     const response = await axios.get<ErrorLogResponse>(
       `${API_BASE_URL}/api/error-logs/range`,
       {
-        params: { startDate, endDate, profile, appName, limit },
+        params: { startDate, endDate, profile, appName, limit, includeTrace },
+      }
+    );
+    return response.data;
+  },
+
+  /**
+   * 날짜 구간별 에러 로그 요약 목록 조회
+   */
+  getErrorLogSummariesByDateRange: async (
+    params: ErrorLogsRangeParams
+  ): Promise<ErrorLogResponse<ErrorLogSummary>> => {
+    const { startDate, endDate, profile = "all", appName = "all", limit = 100 } = params;
+    const response = await axios.get<ErrorLogResponse<ErrorLogSummary>>(
+      `${API_BASE_URL}/api/error-logs/range`,
+      {
+        params: { view: "summary", startDate, endDate, profile, appName, limit },
+      }
+    );
+    return response.data;
+  },
+
+  /**
+   * 에러 로그 상세 조회
+   */
+  getErrorLog: async (id: number): Promise<RefinedErrorLog> => {
+    const response = await axios.get<RefinedErrorLog>(`${API_BASE_URL}/api/error-logs/${id}`);
+    return response.data;
+  },
+
+  /**
+   * 기준별 에러 개수 집계
+   */
+  getErrorLogStats: async (
+    dimension: ErrorLogDimension,
+    params: ErrorLogStatsParams = {}
+  ): Promise<ErrorLogStatsResponse> => {
+    const { profile = "all", appName = "all", ...rest } = params;
+    const response = await axios.get<ErrorLogStatsResponse>(
+      `${API_BASE_URL}/api/error-logs/stats`,
+      {
+        params: { dimension, profile, appName, ...rest },
+      }
+    );
+    return response.data;
+  },
+
+  /**
+   * 시간대별 에러 개수 집계
+   */
+  getErrorLogTimeSeries: async (
+    interval: "minute" | "hour" | "day",
+    params: ErrorLogStatsParams & { dimension?: ErrorLogDimension } = {}
+  ): Promise<ErrorLogTimeSeriesResponse> => {
+    const { profile = "all", appName = "all", ...rest } = params;
+    const response = await axios.get<ErrorLogTimeSeriesResponse>(
+      `${API_BASE_URL}/api/error-logs/stats/timeseries`,
+      {
+        params: { interval, profile, appName, ...rest },
+      }
+    );
+    return response.data;
+  },
+
+  /**
+   * 에러 로그 전문 검색 (관련도 순서, errMsg는 앞 200자)
+   */
+  searchErrorLogs: async (params: ErrorLogSearchParams): Promise<LogSearchResponse<ErrorLogSummary>> => {
+    const { profile = "all", appName = "all", ...rest } = params;
+    const response = await axios.get<LogSearchResponse<ErrorLogSummary>>(
+      `${API_BASE_URL}/api/error-logs/search`,
+      {
+        params: { ...rest, q: rest.q.trim(), profile, appName },
       }
     );
     return response.data;
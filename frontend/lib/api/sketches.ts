@@ -0,0 +1,61 @@
+import axios from "axios";
+
+const API_BASE_URL = process.env.NEXT_PUBLIC_API_URL || "http://localhost:8080";
+
+/** schlCd, userId, url: 에러 로그 / uuid: trace_logs */
+export type SketchDimension = "schlCd" | "userId" | "url" | "uuid";
+
+/** 상위 K개 (count는 추정값, count - error가 보장된 최소 개수) */
+export interface HeavyHitterResponse {
+  dimension: SketchDimension;
+  windowStart: string | null;
+  total: number;
+  items: { key: string; count: number; error: number }[];
+}
+
+export interface SketchCountResponse {
+  dimension: SketchDimension;
+  key: string;
+  windowStart: string | null;
+  count: number;
+}
+
+export interface DistinctUsersResponse {
+  windowStart: string | null;
+  schools: { schlCd: string; errors: number; distinctUsers: number }[];
+}
+
+export const sketchesApi = {
+  /**
+   * 현재 구간의 기준별 상위 K개
+   */
+  getTop: async (dimension: SketchDimension, k = 20): Promise<HeavyHitterResponse> => {
+    const response = await axios.get<HeavyHitterResponse>(`${API_BASE_URL}/api/sketches/top`, {
+      params: { dimension, k },
+    });
+    return response.data;
+  },
+
+  /**
+   * 현재 구간의 값 하나의 개수 추정
+   */
+  getCount: async (dimension: SketchDimension, key: string): Promise<SketchCountResponse> => {
+    const response = await axios.get<SketchCountResponse>(`${API_BASE_URL}/api/sketches/count`, {
+      params: { dimension, key },
+    });
+    return response.data;
+  },
+
+  /**
+   * 현재 구간의 학교별 에러 발생 사용자 수 추정
+   */
+  getDistinctUsers: async (
+    params: { schlCd?: string; k?: number } = {}
+  ): Promise<DistinctUsersResponse> => {
+    const { schlCd, k = 20 } = params;
+    const response = await axios.get<DistinctUsersResponse>(`${API_BASE_URL}/api/sketches/distinct-users`, {
+      params: { schlCd, k },
+    });
+    return response.data;
+  },
+};
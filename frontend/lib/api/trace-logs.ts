@@ -2,10 +2,29 @@ import axios from "axios";
 
 const API_BASE_URL = process.env.NEXT_PUBLIC_API_URL || "http://localhost:8080";
 
+/** log_payload (백엔드가 문자열이 아닌 JSON 객체 그대로 전달) */
+export type LogPayload = Record<string, any>;
+
 export interface TraceLog {
   id: number;
-  logPayload: string;
+  logPayload: LogPayload;
+  createdAt: string;
+}
+
+/** 목록용 요약 (view=summary) */
+export interface TraceLogSummary {
+  id: number;
+  /** 상세 조회 시 source 파라미터로 전달 */
+  source: "launcher" | "trace";
   createdAt: string;
+  appName: string | null;
+  profile: string | null;
+  logType: string | null;
+  evtCd: string | null;
+  uuid: string | null;
+  schlNum: string | null;
+  uName: string | null;
+  uType: string | null;
 }
 
 export interface TraceLogsParams {
@@ -13,6 +32,26 @@ export interface TraceLogsParams {
   appName?: string;
   logType?: string;
   profile?: string;
+  /** 이미 받은 가장 최근 로그의 커서 (toLogCursor) - 이 위치 이후에 추가된 로그만 조회 (recent 전용) */
+  since?: string;
+}
+
+export interface TraceLogsTailParams {
+  appName?: string;
+  logType?: string;
+  profile?: string;
+  /** 이미 받은 가장 최근 로그의 커서 (이 위치까지의 로그는 전달되지 않음) */
+  cursor?: string;
+}
+
+/**
+ * 로그의 커서 토큰 (백엔드 LogCursor.encode()와 같은 base64url("createdAt|id") 형식)
+ */
+export function toLogCursor(log: { createdAt: string; id: number }): string {
+  return btoa(`${log.createdAt}|${log.id}`)
+    .replace(/\+/g, "-")
+    .replace(/\//g, "_")
+    .replace(/=+$/, "");
 }
 
 export interface TraceLogsRangeParams extends TraceLogsParams {
@@ -20,16 +59,47 @@ export interface TraceLogsRangeParams extends TraceLogsParams {
   endDate: string; // ISO 8601 format with timezone
 }
 
+/** 전문 검색 결과 한 건 (rank: 관련도, 클수록 검색어와 가까움) */
+export interface LogSearchHit<T> {
+  rank: number;
+  log: T;
+}
+
+/** 전문 검색 응답 (관련도 순서, 다음 페이지는 offset + hits.length부터) */
+export interface LogSearchResponse<T> {
+  query: string;
+  offset: number;
+  hasMore: boolean;
+  hits: LogSearchHit<T>[];
+}
+
+/**
+ * 전문 검색 파라미터
+ * - q: websearch 문법 (공백으로 나눈 단어는 모두 포함, "..."는 구문, OR는 둘 중 하나, -단어는 제외)
+ * - startDate/endDate가 없으면 최근 minutes분 (기본값: 60)
+ */
+export interface TraceLogSearchParams {
+  q: string;
+  minutes?: number;
+  startDate?: string;
+  endDate?: string;
+  appName?: string;
+  logType?: string;
+  profile?: string;
+  limit?: number;
+  offset?: number;
+}
+
 export const traceLogsApi = {
   /**
    * 최근 로그 조회
    */
   getRecentLogs: async (params: TraceLogsParams = {}): Promise<TraceLog[]> => {
-    const { limit = 100, appName, logType, profile } = params;
+    const { limit = 100, appName, logType, profile, since } = params;
     const response = await axios.get<TraceLog[]>(
       `${API_BASE_URL}/api/trace-logs-launcher/recent`,
       {
-        params: { limit, appName, logType, profile },
+        params: { limit, appName, logType, profile, since },
       }
     );
     return response.data;
@@ -50,4 +120,65 @@ export const traceLogsApi = {
     );
     return response.data;
   },
+
+  /**
+   * 조건에 맞는 새 로그 실시간 수신 (SSE)
+   * - 연결이 끊기면 EventSource가 마지막 이벤트 id로 자동 재연결 (그 사이의 로그는 서버가 먼저 전달)
+   * - 밀린 로그가 너무 많아 최근 로그만 받은 경우 onGap이 호출되므로 목록을 다시 조회
+   * @returns 수신을 멈출 때 close()를 호출할 EventSource
+   */
+  tailLogs: (
+    params: TraceLogsTailParams,
+    onLog: (log: TraceLog) => void,
+    onGap?: () => void
+  ): EventSource => {
+    const query = new URLSearchParams();
+    Object.entries(params).forEach(([key, value]) => {
+      if (value) query.set(key, value);
+    });
+    const source = new EventSource(`${API_BASE_URL}/api/trace-logs-launcher/tail?${query}`);
+    source.addEventListener("log", (event) => {
+      onLog(JSON.parse((event as MessageEvent<string>).data));
+    });
+    if (onGap) {
+      source.addEventListener("gap", () => onGap());
+    }
+    return source;
+  },
+
+  /**
+   * 최근 로그 요약 목록 조회
+   */
+  getRecentLogSummaries: async (params: TraceLogsParams = {}): Promise<TraceLogSummary[]> => {
+    const { limit = 100, appName, logType, profile } = params;
+    const response = await axios.get<TraceLogSummary[]>(
+      `${API_BASE_URL}/api/trace-logs-launcher/recent`,
+      {
+        params: { view: "summary", limit, appName, logType, profile },
+      }
+    );
+    return response.data;
+  },
+
+  /**
+   * 로그 상세 조회
+   */
+  getLog: async (id: number, source: TraceLogSummary["source"] = "launcher"): Promise<TraceLog> => {
+    const response = await axios.get<TraceLog>(
+      `${API_BASE_URL}/api/trace-logs-launcher/${id}`,
+      { params: { source } }
+    );
+    return response.data;
+  },
+
+  /**
+   * log_payload 전문 검색 (결과 요약의 source는 trace)
+   */
+  searchLogs: async (params: TraceLogSearchParams): Promise<LogSearchResponse<TraceLogSummary>> => {
+    const response = await axios.get<LogSearchResponse<TraceLogSummary>>(
+      `${API_BASE_URL}/api/trace-logs-launcher/search`,
+      { params: { ...params, q: params.q.trim() } }
+    );
+    return response.data;
+  },
 };
@@ -1,11 +1,12 @@
 import axios from "axios";
+import type { LogPayload } from "./trace-logs";
 
 const API_BASE_URL = process.env.NEXT_PUBLIC_API_URL || "http://localhost:8080";
 
 export interface TraceLog {
   id: number;
   createdAt: string;
-  logPayload: string;
+  logPayload: LogPayload;
 }
 
 export interface UserLogsParams {
@@ -15,6 +16,72 @@ export interface UserLogsParams {
   uuid?: string;
   logType?: string;
   limit?: number;
+  /** 이미 받은 가장 최근 로그의 커서 (toLogCursor) - 이 위치 이후에 추가된 로그만 조회 */
+  since?: string;
+}
+
+export interface UserSessionStep {
+  id: number;
+  time: string;
+  evtCd: string;
+  appName: string | null;
+  offsetSeconds: number;
+  /** 연속으로 같은 event가 나온 횟수 */
+  repeat: number;
+}
+
+export interface UserSession {
+  start: string;
+  end: string;
+  durationSeconds: number;
+  logCount: number;
+  steps: UserSessionStep[];
+  /** 단계가 많아 앞부분만 포함했는지 여부 */
+  stepsTruncated: boolean;
+}
+
+export interface UserSessionResponse {
+  uuid: string;
+  gapMinutes: number;
+  logCount: number;
+  sessions: UserSession[];
+}
+
+export interface UserSessionsParams {
+  uuid: string;
+  minutes?: number;
+  startDate?: string;
+  endDate?: string;
+  /** 세션을 나누는 비활동 시간(분, 기본값: 30) */
+  gapMinutes?: number;
+}
+
+export interface ActiveUsersPoint {
+  time: string;
+  users: number;
+}
+
+/** 활성 사용자 수 (HyperLogLog 추정, 표준오차 약 2.3%) */
+export interface ActiveUsersResponse {
+  interval: "minute" | "hour" | "day";
+  start: string;
+  end: string;
+  /** 이 시각 이전에 생성된 로그까지 반영됨 (아직 따라잡는 중이면 null) */
+  coveredUntil: string | null;
+  distinctUsers: number;
+  peakUsers: number;
+  points: ActiveUsersPoint[];
+}
+
+export interface ActiveUsersParams {
+  minutes?: number;
+  startDate?: string;
+  endDate?: string;
+  /** 집계 단위 (기본값: minute, 구간 수는 최대 1440개) */
+  interval?: "minute" | "hour" | "day";
+  appName?: string;
+  profile?: string;
+  schlNum?: string;
 }
 
 export const userLogsApi = {
@@ -24,10 +91,14 @@ export const userLogsApi = {
    * @returns TraceLog 배열
    */
   getUserLogs: async (params: UserLogsParams = {}): Promise<TraceLog[]> => {
-    const { minutes, startDate, endDate, uuid, logType, limit = 100 } = params;
+    const { minutes, startDate, endDate, uuid, logType, limit = 100, since } = params;
 
     const queryParams: Record<string, any> = { limit };
 
+    if (since) {
+      queryParams.since = since;
+    }
+
     if (startDate && endDate) {
       queryParams.startDate = startDate;
       queryParams.endDate = endDate;
@@ -50,4 +121,62 @@ export const userLogsApi = {
 
     return response.data;
   },
+
+  /**
+   * 사용자 로그 상세 조회
+   */
+  getUserLog: async (id: number): Promise<TraceLog> => {
+    const response = await axios.get<TraceLog>(`${API_BASE_URL}/api/user-logs/${id}`);
+    return response.data;
+  },
+
+  /**
+   * 사용자 세션(이용 흐름) 조회
+   */
+  getUserSessions: async (params: UserSessionsParams): Promise<UserSessionResponse> => {
+    const { uuid, minutes, startDate, endDate, gapMinutes } = params;
+
+    const queryParams: Record<string, any> = { uuid: uuid.trim() };
+
+    if (startDate && endDate) {
+      queryParams.startDate = startDate;
+      queryParams.endDate = endDate;
+    } else if (minutes !== undefined) {
+      queryParams.minutes = minutes;
+    }
+
+    if (gapMinutes !== undefined) {
+      queryParams.gapMinutes = gapMinutes;
+    }
+
+    const response = await axios.get<UserSessionResponse>(
+      `${API_BASE_URL}/api/user-logs/sessions`,
+      { params: queryParams }
+    );
+
+    return response.data;
+  },
+
+  /**
+   * 활성 사용자 수 조회 (구간별 서로 다른 uuid 수)
+   */
+  getActiveUsers: async (params: ActiveUsersParams = {}): Promise<ActiveUsersResponse> => {
+    const { minutes, startDate, endDate, interval, appName, profile, schlNum } = params;
+
+    const queryParams: Record<string, any> = { interval, appName, profile, schlNum };
+
+    if (startDate && endDate) {
+      queryParams.startDate = startDate;
+      queryParams.endDate = endDate;
+    } else if (minutes !== undefined) {
+      queryParams.minutes = minutes;
+    }
+
+    const response = await axios.get<ActiveUsersResponse>(
+      `${API_BASE_URL}/api/user-logs/active-users`,
+      { params: queryParams }
+    );
+
+    return response.data;
+  },
 };
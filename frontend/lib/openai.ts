@@ -1,5 +1,6 @@
 import OpenAI from "openai";
 import { getEvtCdDescription } from "./evtCdMapping";
+import type { LogPayload } from "./api/trace-logs";
 
 // OpenAI API 클라이언트 초기화
 // API 키는 환경 변수에서 가져옵니다
@@ -12,7 +13,7 @@ export interface LogSummaryRequest {
   logs: Array<{
     id: number;
     createdAt: string;
-    logPayload: string;
+    logPayload: LogPayload;
   }>;
   queryType: string;
   dateRange?: {
@@ -71,7 +72,7 @@ export async function summarizeLogs(
     const logsText = request.logs
       .map((log) => {
         try {
-          const payload = JSON.parse(log.logPayload);
+          const payload = log.logPayload;
           const time = formatTimeWithoutSeconds(log.createdAt);
           const name = payload.uName || "";
           const userType = payload.uType === "S" ? "학생" : payload.uType === "T" ? "선생님" : "";